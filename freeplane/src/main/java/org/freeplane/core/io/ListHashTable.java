@@ -25,6 +25,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 public class ListHashTable<K, V> {
 	/**
@@ -75,6 +76,10 @@ public class ListHashTable<K, V> {
 		return table.get(tag);
 	}
 
+	public Set<K> keySet() {
+		return table.keySet();
+	}
+
 	public boolean remove(final K tag, final V element) {
 		final List<V> elementsForTag = list(tag);
 		if (elementsForTag == null) {
@@ -0,0 +1,145 @@
+package org.freeplane.core.io;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.freeplane.n3.nanoxml.XMLElement;
+import org.freeplane.n3.nanoxml.XMLWriter;
+
+/**
+ * Can be returned by {@link IElementHandler#createElement(Object, String, XMLElement)}
+ * to keep an element as XML text. Attributes and content of such element are not passed to any handler,
+ * but the names of all contained elements and attributes are recorded.
+ */
+public class UnparsedElement {
+	private static class RawContentXmlWriter extends XMLWriter {
+		RawContentXmlWriter(final Writer writer) {
+			super(writer);
+		}
+
+		@Override
+		protected void writeEncodedContent(final String str) {
+			getWriter().print(str);
+		}
+	}
+
+	private String xml;
+	private final Set<String> elementNames = new HashSet<>();
+	private final Set<String> attributeNames = new HashSet<>();
+
+	public void setElement(final XMLElement element, final String content) {
+		elementNames.add(element.getName());
+		for (final Enumeration<String> names = element.enumerateAttributeNames(); names.hasMoreElements();) {
+			attributeNames.add(names.nextElement());
+		}
+		if (content != null) {
+			element.setContent(content);
+			recordNames(content);
+		}
+		final StringWriter writer = new StringWriter();
+		try {
+			new RawContentXmlWriter(writer).write(element);
+		}
+		catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+		xml = writer.toString();
+	}
+
+	public String getXml() {
+		return xml;
+	}
+
+	/** @return true if the element itself or any element contained in it has the given name */
+	public boolean containsElement(final String name) {
+		return elementNames.contains(name);
+	}
+
+	/** @return true if the element itself or any element contained in it has an attribute with the given name */
+	public boolean containsAttribute(final String name) {
+		return attributeNames.contains(name);
+	}
+
+	private void recordNames(final String content) {
+		final int length = content.length();
+		int i = content.indexOf('<');
+		while (i >= 0 && i < length) {
+			if (content.startsWith("<!--", i)) {
+				i = indexAfter(content, "-->", i + 4);
+			}
+			else if (content.startsWith("<![CDATA[", i)) {
+				i = indexAfter(content, "]]>", i + 9);
+			}
+			else if (content.startsWith("<?", i)) {
+				i = indexAfter(content, "?>", i + 2);
+			}
+			else if (content.startsWith("<!", i) || content.startsWith("</", i)) {
+				i = indexAfter(content, ">", i + 2);
+			}
+			else {
+				i = recordStartTagNames(content, i + 1);
+			}
+			if (i >= 0)
+				i = content.indexOf('<', i);
+		}
+	}
+
+	private int recordStartTagNames(final String content, int i) {
+		final int length = content.length();
+		final int elementNameEnd = nameEnd(content, i);
+		elementNames.add(content.substring(i, elementNameEnd));
+		i = elementNameEnd;
+		for (;;) {
+			i = skipWhitespace(content, i);
+			if (i >= length)
+				return i;
+			final char c = content.charAt(i);
+			if (c == '>' || c == '/' || c == '<')
+				return i;
+			final int attributeNameEnd = nameEnd(content, i);
+			if (attributeNameEnd == i)
+				return i + 1;
+			attributeNames.add(content.substring(i, attributeNameEnd));
+			i = skipWhitespace(content, attributeNameEnd);
+			if (i < length && content.charAt(i) == '=') {
+				i = skipWhitespace(content, i + 1);
+				if (i < length) {
+					final char quote = content.charAt(i);
+					if (quote == '"' || quote == '\'') {
+						final int valueEnd = content.indexOf(quote, i + 1);
+						if (valueEnd < 0)
+							return length;
+						i = valueEnd + 1;
+					}
+				}
+			}
+		}
+	}
+
+	private static int indexAfter(final String content, final String end, final int from) {
+		final int index = content.indexOf(end, from);
+		return index < 0 ? -1 : index + end.length();
+	}
+
+	private static int nameEnd(final String content, int i) {
+		final int length = content.length();
+		while (i < length) {
+			final char c = content.charAt(i);
+			if (Character.isWhitespace(c) || c == '=' || c == '>' || c == '/' || c == '<' || c == '"' || c == '\'')
+				break;
+			i++;
+		}
+		return i;
+	}
+
+	private static int skipWhitespace(final String content, int i) {
+		final int length = content.length();
+		while (i < length && Character.isWhitespace(content.charAt(i)))
+			i++;
+		return i;
+	}
+}
@@ -20,7 +20,9 @@
 package org.freeplane.core.io.xml;
 
 import java.awt.Point;
+import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.Hashtable;
@@ -37,11 +39,12 @@ import org.freeplane.core.io.IElementDOMHandler;
 import org.freeplane.core.io.IElementHandler;
 import org.freeplane.core.io.ListHashTable;
 import org.freeplane.core.io.ReadManager;
+import org.freeplane.core.io.UnparsedElement;
 import org.freeplane.core.util.LogUtils;
+import org.freeplane.n3.nanoxml.BufferedXMLReader;
 import org.freeplane.n3.nanoxml.IXMLBuilder;
 import org.freeplane.n3.nanoxml.IXMLReader;
 import org.freeplane.n3.nanoxml.NonValidator;
-import org.freeplane.n3.nanoxml.StdXMLReader;
 import org.freeplane.n3.nanoxml.XMLElement;
 import org.freeplane.n3.nanoxml.XMLException;
 
@@ -96,6 +99,7 @@ public class TreeXmlReader implements IXMLBuilder {
 	private XMLElement saveAsXmlUntil;
 	private String tag;
 	private StdXMLBuilder xmlBuilder;
+	private XmlEventRecorder eventRecorder;
 
 	public TreeXmlReader(final ReadManager parseManager) {
 		super();
@@ -126,6 +130,9 @@ public class TreeXmlReader implements IXMLBuilder {
 	 */
 	public void addAttribute(final String key, final String nsPrefix, final String nsURI, final String value,
 	                         final String type) throws Exception {
+		if (eventRecorder != null) {
+			eventRecorder.addAttribute(key, nsPrefix, nsURI, value, type);
+		}
 		if (!addAttribute(key, value)) {
 			xmlBuilder.addAttribute(key, nsPrefix, nsURI, value, type);
 		}
@@ -138,7 +145,23 @@ public class TreeXmlReader implements IXMLBuilder {
 	 * , java.lang.String, int)
 	 */
 	public void addPCData(final Reader reader, final String systemID, final int lineNr) throws Exception {
-		xmlBuilder.addPCData(reader, systemID, lineNr);
+		if (eventRecorder != null) {
+			final String data = readAll(reader);
+			eventRecorder.addPCData(data, systemID, lineNr);
+			xmlBuilder.addPCData(new StringReader(data), systemID, lineNr);
+		}
+		else {
+			xmlBuilder.addPCData(reader, systemID, lineNr);
+		}
+	}
+
+	private String readAll(final Reader reader) throws IOException {
+		final StringBuilder data = new StringBuilder();
+		final char[] buffer = new char[1024];
+		for (int charsRead; (charsRead = reader.read(buffer)) >= 0;) {
+			data.append(buffer, 0, charsRead);
+		}
+		return data.toString();
 	}
 
 	/*
@@ -149,6 +172,9 @@ public class TreeXmlReader implements IXMLBuilder {
 	 */
 	public void elementAttributesProcessed(final String name, final String nsPrefix, final String nsURI)
 	        throws Exception {
+		if (eventRecorder != null) {
+			eventRecorder.elementAttributesProcessed(name, nsPrefix, nsURI);
+		}
 		xmlBuilder.elementAttributesProcessed(name, nsPrefix, nsURI);
 		if (saveAsXmlUntil != null || nodeCreator != null) {
 			return;
@@ -163,7 +189,10 @@ public class TreeXmlReader implements IXMLBuilder {
 				LogUtils.severe("Can not process element" + name, e);
 			}
 		}
-		if (currentElement != null) {
+		if (currentElement instanceof UnparsedElement) {
+			parser.collectContentUntilMatchingTag(false);
+		}
+		else if (currentElement != null) {
 			if (nodeCreator instanceof IElementContentHandler) {
 				parser.collectContentUntilMatchingTag(((IElementContentHandler)nodeCreator).findsClosingTagByName());
 			}
@@ -193,6 +222,9 @@ public class TreeXmlReader implements IXMLBuilder {
 	 * .String, java.lang.String, java.lang.String)
 	 */
 	public void endElement(final String name, final String nsPrefix, final String nsURI) throws Exception {
+		if (eventRecorder != null) {
+			eventRecorder.endElement(name, nsPrefix, nsURI);
+		}
 		final XMLElement lastBuiltElement = xmlBuilder.getParentElement();
 		xmlBuilder.endElement(name, nsPrefix, nsURI);
 		if (saveAsXmlUntil == lastBuiltElement) {
@@ -208,6 +240,9 @@ public class TreeXmlReader implements IXMLBuilder {
 		final Object element = currentElement;
 		currentElement = elementStack.removeLast();
 		try {
+			if (element instanceof UnparsedElement) {
+				((UnparsedElement) element).setElement(lastBuiltElement, elementContentAsString);
+			}
 			if (nodeCreator instanceof IElementContentHandler) {
 				IElementContentHandler contentHandler = (IElementContentHandler) nodeCreator;
                 contentHandler.endElement(currentElement, name, element, lastBuiltElement,
@@ -250,7 +285,7 @@ public class TreeXmlReader implements IXMLBuilder {
 	 */
 	public void load(final Reader reader) throws XMLException {
 		parser = new XMLParser();
-		final IXMLReader nanoxmlReader = new StdXMLReader(reader);
+		final IXMLReader nanoxmlReader = new BufferedXMLReader(reader);
 		parser.setReader(nanoxmlReader);
 		parser.setBuilder(this);
 		parser.setValidator(new NonValidator());
@@ -264,7 +299,14 @@ public class TreeXmlReader implements IXMLBuilder {
 	 * (java.lang.String, java.io.Reader)
 	 */
 	public void newProcessingInstruction(final String target, final Reader reader) throws Exception {
-		xmlBuilder.newProcessingInstruction(target, reader);
+		if (eventRecorder != null) {
+			final String data = readAll(reader);
+			eventRecorder.newProcessingInstruction(target, data);
+			xmlBuilder.newProcessingInstruction(target, new StringReader(data));
+		}
+		else {
+			xmlBuilder.newProcessingInstruction(target, reader);
+		}
 	}
 
 	private void pushParentObjects() {
@@ -275,6 +317,9 @@ public class TreeXmlReader implements IXMLBuilder {
 	/**
 	 */
 	public void setElementContent(final String content) {
+		if (eventRecorder != null) {
+			eventRecorder.setElementContent(content);
+		}
 		elementContentAsString = content;
 	}
 
@@ -285,6 +330,9 @@ public class TreeXmlReader implements IXMLBuilder {
 	 * .String, int)
 	 */
 	public void startBuilding(final String systemID, final int lineNr) throws Exception {
+		if (eventRecorder != null) {
+			eventRecorder.startBuilding(systemID, lineNr);
+		}
 		xmlBuilder = new StdXMLBuilder();
 		xmlBuilder.startBuilding(systemID, lineNr);
 		saveAsXmlUntil = null;
@@ -298,6 +346,9 @@ public class TreeXmlReader implements IXMLBuilder {
 	 */
 	public void startElement(final String name, final String nsPrefix, final String nsURI, final String systemID,
 	                         final int lineNr) throws Exception {
+		if (eventRecorder != null) {
+			eventRecorder.startElement(name, nsPrefix, nsURI, systemID, lineNr);
+		}
 		if (saveAsXmlUntil != null) {
 			xmlBuilder.startElement(name, nsPrefix, nsURI, systemID, lineNr);
 			return;
@@ -316,7 +367,11 @@ public class TreeXmlReader implements IXMLBuilder {
 				LogUtils.severe("Can not process element" + tag, e);
 			}
 		}
-		if (currentElement != null) {
+		if (currentElement instanceof UnparsedElement) {
+			attributeHandlersForTag = null;
+			parser.collectContentUntilMatchingTag(false);
+		}
+		else if (currentElement != null) {
 			attributeHandlersForTag = getAttributeLoaders().get(tag);
 			if (nodeCreator instanceof IElementContentHandler) {
 				parser.collectContentUntilMatchingTag(((IElementContentHandler)nodeCreator).findsClosingTagByName());
@@ -333,4 +388,33 @@ public class TreeXmlReader implements IXMLBuilder {
 	    this.currentElement = currentElement;
 	    load(pReader);
     }
+
+	/**
+	 * Records the parser events of the following loads, so that they can be replayed without parsing the xml again.
+	 */
+	public void recordEvents() {
+		eventRecorder = new XmlEventRecorder();
+	}
+
+	public byte[] getRecordedEvents() {
+		return eventRecorder.toByteArray();
+	}
+
+	/**
+	 * Processes parser events recorded while loading xml.
+	 * The events must have been recorded with the same element handlers.
+	 */
+	public void replay(Object currentElement, byte[] events) throws XMLException {
+		this.currentElement = currentElement;
+		parser = new XMLParser();
+		try {
+			new XmlEventReplayer(events, parser).replayTo(this);
+		}
+		catch (final XMLException e) {
+			throw e;
+		}
+		catch (final Exception e) {
+			throw new XMLException(e);
+		}
+	}
 }
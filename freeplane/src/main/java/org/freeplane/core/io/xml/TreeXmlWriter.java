@@ -170,6 +170,17 @@ public class TreeXmlWriter implements ITreeWriter {
 		xmlwriter.write(content);
 	}
 
+	/**
+	 * Completes the start tag of the current element,
+	 * so that text written to the underlying writer afterwards becomes its content.
+	 */
+	public void startElementContent() throws IOException {
+		if (elementStarted == false && xmlElement != null) {
+			xmlwriter.write(xmlElement, true, 0, true, false);
+			elementStarted = true;
+		}
+	}
+
 	public void addExtensionAttributes(final Object map, final Collection<IExtension> extensions) {
 		final Iterator<IExtension> extensionIterator = extensions.iterator();
 		while (extensionIterator.hasNext()) {
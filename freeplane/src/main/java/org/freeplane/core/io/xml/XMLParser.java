@@ -101,6 +101,11 @@ class XMLParser extends StdXMLParser implements IXMLParser {
 					else if (contentCollect == ContentCollect.BY_CLOSING_TAG_LEVEL) {
 					    if (ch == '!') {
 					        final char read1 = reader.read();
+					        if (read1 == '[') {
+					            contentBuffer.append("<![");
+					            copyUntil(reader, contentBuffer, "]]>");
+					            continue;
+					        }
 					        final char read2 = reader.read();
 					        if (read1 != '-' || read2 != '-') {
 					            throw new XMLParseException(reader.getSystemID(), reader.getLineNr(), "Invalid input: <!"
@@ -110,6 +115,11 @@ class XMLParser extends StdXMLParser implements IXMLParser {
 					        contentBuffer.append("<!--");
 					        continue;
 					    }
+					    else if (ch == '?') {
+					        contentBuffer.append("<?");
+					        copyUntil(reader, contentBuffer, "?>");
+					        continue;
+					    }
 					    else {
 					        level++;
 					    }
@@ -152,4 +162,23 @@ class XMLParser extends StdXMLParser implements IXMLParser {
 		}
 		super.processElementContent(defaultNamespace, namespaces, fullName, name, prefix);
 	}
+
+	private void copyUntil(final IXMLReader reader, final StringBuilder contentBuffer, final String end)
+	        throws IOException, XMLParseException {
+		final int start = contentBuffer.length();
+		do {
+			contentBuffer.append(reader.read());
+		} while (! endsWith(contentBuffer, start, end));
+	}
+
+	private boolean endsWith(final StringBuilder contentBuffer, final int start, final String end) {
+		final int endStart = contentBuffer.length() - end.length();
+		if (endStart < start)
+			return false;
+		for (int i = 0; i < end.length(); i++) {
+			if (contentBuffer.charAt(endStart + i) != end.charAt(i))
+				return false;
+		}
+		return true;
+	}
 }
@@ -0,0 +1,121 @@
+package org.freeplane.core.io.xml;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records the parser events received by TreeXmlReader in a compact length-prefixed binary form.
+ * Names are written once and referred to by their index afterwards.
+ *
+ * @see XmlEventReplayer
+ */
+class XmlEventRecorder {
+	static final int START_BUILDING = 1;
+	static final int START_ELEMENT = 2;
+	static final int ATTRIBUTE = 3;
+	static final int ATTRIBUTES_PROCESSED = 4;
+	static final int PCDATA = 5;
+	static final int PROCESSING_INSTRUCTION = 6;
+	static final int ELEMENT_CONTENT = 7;
+	static final int END_ELEMENT = 8;
+
+	static final int NULL_NAME = 0;
+	static final int NEW_NAME = 1;
+	static final int FIRST_NAME_INDEX = 2;
+
+	private final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 16);
+	private final Map<String, Integer> nameIndices = new HashMap<>();
+
+	void startBuilding(final String systemID, final int lineNr) {
+		out.write(START_BUILDING);
+		writeName(systemID);
+		writeNumber(lineNr);
+	}
+
+	void startElement(final String name, final String nsPrefix, final String nsURI, final String systemID,
+	                  final int lineNr) {
+		out.write(START_ELEMENT);
+		writeName(name);
+		writeName(nsPrefix);
+		writeName(nsURI);
+		writeName(systemID);
+		writeNumber(lineNr);
+	}
+
+	void addAttribute(final String key, final String nsPrefix, final String nsURI, final String value,
+	                  final String type) {
+		out.write(ATTRIBUTE);
+		writeName(key);
+		writeName(nsPrefix);
+		writeName(nsURI);
+		writeString(value);
+		writeName(type);
+	}
+
+	void elementAttributesProcessed(final String name, final String nsPrefix, final String nsURI) {
+		out.write(ATTRIBUTES_PROCESSED);
+		writeName(name);
+		writeName(nsPrefix);
+		writeName(nsURI);
+	}
+
+	void addPCData(final String data, final String systemID, final int lineNr) {
+		out.write(PCDATA);
+		writeString(data);
+		writeName(systemID);
+		writeNumber(lineNr);
+	}
+
+	void newProcessingInstruction(final String target, final String data) {
+		out.write(PROCESSING_INSTRUCTION);
+		writeName(target);
+		writeString(data);
+	}
+
+	void setElementContent(final String content) {
+		out.write(ELEMENT_CONTENT);
+		writeString(content);
+	}
+
+	void endElement(final String name, final String nsPrefix, final String nsURI) {
+		out.write(END_ELEMENT);
+		writeName(name);
+		writeName(nsPrefix);
+		writeName(nsURI);
+	}
+
+	byte[] toByteArray() {
+		return out.toByteArray();
+	}
+
+	private void writeName(final String name) {
+		if (name == null) {
+			writeNumber(NULL_NAME);
+			return;
+		}
+		final Integer index = nameIndices.get(name);
+		if (index != null) {
+			writeNumber(index + FIRST_NAME_INDEX);
+			return;
+		}
+		nameIndices.put(name, nameIndices.size());
+		writeNumber(NEW_NAME);
+		writeString(name);
+	}
+
+	private void writeString(final String string) {
+		final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		writeNumber(bytes.length);
+		out.write(bytes, 0, bytes.length);
+	}
+
+	private void writeNumber(int number) {
+		while ((number & ~0x7F) != 0) {
+			out.write((number & 0x7F) | 0x80);
+			number >>>= 7;
+		}
+		out.write(number);
+	}
+}
@@ -0,0 +1,121 @@
+package org.freeplane.core.io.xml;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.freeplane.core.io.xml.XMLParser.ContentCollect;
+import org.freeplane.n3.nanoxml.XMLParseException;
+
+/**
+ * Replays parser events recorded by XmlEventRecorder.
+ * Fails if the reader collects element content differently than it did while the events were recorded.
+ *
+ * @see XmlEventRecorder
+ */
+class XmlEventReplayer {
+	private final byte[] events;
+	private final XMLParser parser;
+	private final List<String> names = new ArrayList<>();
+	private int position;
+	private String systemID;
+
+	XmlEventReplayer(final byte[] events, final XMLParser parser) {
+		this.events = events;
+		this.parser = parser;
+	}
+
+	void replayTo(final TreeXmlReader reader) throws Exception {
+		while (position < events.length) {
+			final int event = events[position++];
+			switch (event) {
+				case XmlEventRecorder.START_BUILDING:
+					systemID = readName();
+					reader.startBuilding(systemID, readNumber());
+					break;
+				case XmlEventRecorder.START_ELEMENT: {
+					checkNoContentCollected();
+					final String name = readName();
+					final String nsPrefix = readName();
+					final String nsURI = readName();
+					systemID = readName();
+					reader.startElement(name, nsPrefix, nsURI, systemID, readNumber());
+					break;
+				}
+				case XmlEventRecorder.ATTRIBUTE: {
+					final String key = readName();
+					final String nsPrefix = readName();
+					final String nsURI = readName();
+					final String value = readString();
+					reader.addAttribute(key, nsPrefix, nsURI, value, readName());
+					break;
+				}
+				case XmlEventRecorder.ATTRIBUTES_PROCESSED:
+					reader.elementAttributesProcessed(readName(), readName(), readName());
+					break;
+				case XmlEventRecorder.PCDATA: {
+					checkNoContentCollected();
+					final String data = readString();
+					systemID = readName();
+					reader.addPCData(new StringReader(data), systemID, readNumber());
+					break;
+				}
+				case XmlEventRecorder.PROCESSING_INSTRUCTION:
+					checkNoContentCollected();
+					reader.newProcessingInstruction(readName(), new StringReader(readString()));
+					break;
+				case XmlEventRecorder.ELEMENT_CONTENT:
+					if (parser.contentCollect == ContentCollect.NONE) {
+						throw new XMLParseException(systemID, 0, "Recorded element content is not expected");
+					}
+					parser.contentCollect = ContentCollect.NONE;
+					reader.setElementContent(readString());
+					break;
+				case XmlEventRecorder.END_ELEMENT:
+					parser.contentCollect = ContentCollect.NONE;
+					reader.endElement(readName(), readName(), readName());
+					break;
+				default:
+					throw new XMLParseException(systemID, 0, "Unknown recorded event " + event);
+			}
+		}
+	}
+
+	private void checkNoContentCollected() throws XMLParseException {
+		if (parser.contentCollect != ContentCollect.NONE) {
+			throw new XMLParseException(systemID, 0, "Recorded element content is missing");
+		}
+	}
+
+	private String readName() {
+		final int index = readNumber();
+		if (index == XmlEventRecorder.NULL_NAME) {
+			return null;
+		}
+		if (index == XmlEventRecorder.NEW_NAME) {
+			final String name = readString();
+			names.add(name);
+			return name;
+		}
+		return names.get(index - XmlEventRecorder.FIRST_NAME_INDEX);
+	}
+
+	private String readString() {
+		final int length = readNumber();
+		final String string = new String(events, position, length, StandardCharsets.UTF_8);
+		position += length;
+		return string;
+	}
+
+	private int readNumber() {
+		int number = 0;
+		for (int shift = 0;; shift += 7) {
+			final int b = events[position++];
+			number |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return number;
+			}
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package org.freeplane.core.ui.components.html;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import javax.swing.JLabel;
+import javax.swing.plaf.basic.BasicHTML;
+import javax.swing.text.Document;
+import javax.swing.text.html.StyleSheet;
+
+import org.freeplane.core.util.LogUtils;
+
+/**
+ * Shares documents parsed from the same html between labels.
+ * A document depends on the html, the label font, foreground and alignment, its custom style sheet and document base.
+ * Zoom and width only change the views which every label creates for itself,
+ * and the labels never modify their documents, so that the views of several labels can read the same document.
+ */
+class HTMLDocumentCache {
+	private static final int MAXIMAL_SIZE = 1000;
+
+	private static class Key {
+		private final String html;
+		private final Font font;
+		private final Color foreground;
+		private final int horizontalAlignment;
+		private final StyleSheet styleSheet;
+		private final String base;
+
+		Key(JLabel label, String html) {
+			this.html = html;
+			this.font = label.getFont();
+			this.foreground = label.getForeground();
+			this.horizontalAlignment = label.getHorizontalAlignment();
+			this.styleSheet = (StyleSheet) label.getClientProperty(StyleSheet.class);
+			final Object base = label.getClientProperty(BasicHTML.documentBaseKey);
+			this.base = base != null ? base.toString() : null;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(html, font, foreground, horizontalAlignment, System.identityHashCode(styleSheet), base);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null || getClass() != obj.getClass())
+				return false;
+			final Key other = (Key) obj;
+			return horizontalAlignment == other.horizontalAlignment
+			        && styleSheet == other.styleSheet
+			        && html.equals(other.html)
+			        && Objects.equals(font, other.font)
+			        && Objects.equals(foreground, other.foreground)
+			        && Objects.equals(base, other.base);
+		}
+	}
+
+	private static final Map<Key, Document> documents = new LinkedHashMap<Key, Document>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Document> eldest) {
+			return size() > MAXIMAL_SIZE;
+		}
+	};
+	private static int hitCount = 0;
+	private static int missCount = 0;
+
+	static synchronized Document getDocument(JLabel label, String html, Supplier<Document> parser) {
+		final Key key = new Key(label, html);
+		final Document cachedDocument = documents.get(key);
+		if (cachedDocument != null) {
+			hitCount++;
+			return cachedDocument;
+		}
+		missCount++;
+		final Document document = parser.get();
+		documents.put(key, document);
+		return document;
+	}
+
+	static synchronized int getHitCount() {
+		return hitCount;
+	}
+
+	static synchronized int getMissCount() {
+		return missCount;
+	}
+
+	static synchronized void logStatistics() {
+		final int requestCount = hitCount + missCount;
+		if (requestCount > 0)
+			LogUtils.info("html document cache: " + hitCount + " of " + requestCount + " documents reused, "
+			        + documents.size() + " cached");
+	}
+}
@@ -50,6 +50,14 @@ public class ScaledHTML extends BasicHTML{
      */
     static Renderer createHTMLView(JLabel c, String html) {
         ScaledEditorKit kit = SynchronousScaledEditorKit.create();
+        Document doc = HTMLDocumentCache.getDocument(c, html, () -> parse(kit, c, html));
+        ViewFactory f = kit.getViewFactory();
+        View hview = f.create(doc.getDefaultRootElement());
+        Renderer v = new Renderer(c, f, hview);
+        return v;
+    }
+
+    private static Document parse(ScaledEditorKit kit, JLabel c, String html) {
         Document doc = kit.createDefaultDocument(c);
         Object base = c.getClientProperty(documentBaseKey);
         if (base instanceof URL) {
@@ -60,10 +68,11 @@ public class ScaledHTML extends BasicHTML{
             kit.read(r, doc, 0);
         } catch (Throwable e) {
         }
-        ViewFactory f = kit.getViewFactory();
-        View hview = f.create(doc.getDefaultRootElement());
-        Renderer v = new Renderer(c, f, hview);
-        return v;
+        return doc;
+    }
+
+    public static void logDocumentCacheStatistics() {
+        HTMLDocumentCache.logStatistics();
     }
 
     public static void resetPainter() {
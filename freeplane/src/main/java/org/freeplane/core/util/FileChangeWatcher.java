@@ -0,0 +1,268 @@
+package org.freeplane.core.util;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Watches the directories of registered files with a single background thread.
+ * Events arriving in quick succession are collected, and listeners are notified on the event dispatch thread
+ * only for files whose modification time or length has changed.
+ *
+ * All registered files are also polled in a second background thread,
+ * because watch services miss changes on network file systems, can not be created on some systems
+ * and poll themselves only every ten seconds on macOS, where they are not used.
+ */
+public class FileChangeWatcher {
+	public interface FileChangeListener {
+		void fileChanged(File file);
+	}
+
+	private static class WatchedFile {
+		final File file;
+		final boolean isDirectoryWatched;
+		final List<FileChangeListener> listeners = new ArrayList<>(1);
+		private long lastModified;
+		private long length;
+
+		WatchedFile(File file, boolean isDirectoryWatched) {
+			this.file = file;
+			this.isDirectoryWatched = isDirectoryWatched;
+			this.lastModified = file.lastModified();
+			this.length = file.length();
+		}
+
+		boolean updateStamp() {
+			final long lastModified = file.lastModified();
+			final long length = file.length();
+			if(lastModified == this.lastModified && length == this.length)
+				return false;
+			this.lastModified = lastModified;
+			this.length = length;
+			return true;
+		}
+	}
+
+	private static class WatchedDirectory {
+		final WatchKey key;
+		int fileCount;
+
+		WatchedDirectory(WatchKey key) {
+			this.key = key;
+		}
+	}
+
+	private static final long DEBOUNCE_MILLIS = 300;
+	private static final long MAXIMAL_DEBOUNCE_MILLIS = 2000;
+	private static final long POLLING_INTERVAL_MILLIS = 5000;
+	public static final FileChangeWatcher INSTANCE = new FileChangeWatcher(! Compat.isMacOsX(), POLLING_INTERVAL_MILLIS,
+	    SwingUtilities::invokeLater);
+
+	private final Map<Path, WatchedFile> watchedFiles = new HashMap<>();
+	private final Map<Path, WatchedDirectory> watchedDirectories = new HashMap<>();
+	private final long pollingIntervalMillis;
+	private final Executor notificationExecutor;
+	private WatchService watchService;
+	private boolean isWatchServiceUnavailable;
+	private Timer pollingTimer;
+
+	FileChangeWatcher(boolean usesWatchService, long pollingIntervalMillis, Executor notificationExecutor) {
+		this.isWatchServiceUnavailable = ! usesWatchService;
+		this.pollingIntervalMillis = pollingIntervalMillis;
+		this.notificationExecutor = notificationExecutor;
+	}
+
+	public synchronized void watch(File file, FileChangeListener listener) {
+		final Path path = pathOf(file);
+		WatchedFile watchedFile = watchedFiles.get(path);
+		if(watchedFile == null) {
+			final Path directory = path.getParent();
+			watchedFile = new WatchedFile(file, directory != null && registerDirectory(directory));
+			watchedFiles.put(path, watchedFile);
+			startPolling();
+		}
+		watchedFile.listeners.add(listener);
+	}
+
+	public synchronized void unwatch(File file, FileChangeListener listener) {
+		final Path path = pathOf(file);
+		final WatchedFile watchedFile = watchedFiles.get(path);
+		if(watchedFile == null || ! watchedFile.listeners.remove(listener) || ! watchedFile.listeners.isEmpty())
+			return;
+		watchedFiles.remove(path);
+		if(watchedFile.isDirectoryWatched)
+			unregisterDirectory(path.getParent());
+		if(watchedFiles.isEmpty())
+			stopPolling();
+	}
+
+	/** Stops watching all files and ends the background threads. */
+	public synchronized void close() {
+		watchedFiles.clear();
+		watchedDirectories.clear();
+		stopPolling();
+		if(watchService != null) {
+			try {
+				watchService.close();
+			}
+			catch (IOException e) {
+				LogUtils.warn(e);
+			}
+			watchService = null;
+		}
+		isWatchServiceUnavailable = true;
+	}
+
+	private void startPolling() {
+		if(pollingTimer != null)
+			return;
+		pollingTimer = new Timer("File change poller", true);
+		pollingTimer.schedule(new TimerTask() {
+			@Override
+			public void run() {
+				pollFiles();
+			}
+		}, pollingIntervalMillis, pollingIntervalMillis);
+	}
+
+	private void stopPolling() {
+		if(pollingTimer != null) {
+			pollingTimer.cancel();
+			pollingTimer = null;
+		}
+	}
+
+	void pollFiles() {
+		final Set<Path> polledPaths;
+		synchronized (this) {
+			polledPaths = new HashSet<>(watchedFiles.keySet());
+		}
+		notifyListeners(polledPaths, Collections.emptySet());
+	}
+
+	private Path pathOf(File file) {
+		return file.toPath().toAbsolutePath().normalize();
+	}
+
+	private boolean registerDirectory(Path directory) {
+		WatchedDirectory watchedDirectory = watchedDirectories.get(directory);
+		if(watchedDirectory == null) {
+			final WatchService watchService = watchService();
+			if(watchService == null)
+				return false;
+			try {
+				watchedDirectory = new WatchedDirectory(directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE));
+			}
+			catch (IOException e) {
+				LogUtils.warn("Changes in " + directory + " are polled", e);
+				return false;
+			}
+			watchedDirectories.put(directory, watchedDirectory);
+		}
+		watchedDirectory.fileCount++;
+		return true;
+	}
+
+	private void unregisterDirectory(Path directory) {
+		final WatchedDirectory watchedDirectory = watchedDirectories.get(directory);
+		if(--watchedDirectory.fileCount == 0) {
+			watchedDirectories.remove(directory);
+			watchedDirectory.key.cancel();
+		}
+	}
+
+	private WatchService watchService() {
+		if(watchService == null && ! isWatchServiceUnavailable) {
+			try {
+				final WatchService watchService = FileSystems.getDefault().newWatchService();
+				final Thread thread = new Thread(() -> processEvents(watchService), "File change watcher");
+				thread.setDaemon(true);
+				thread.start();
+				this.watchService = watchService;
+			}
+			catch (IOException | UnsupportedOperationException e) {
+				LogUtils.warn("File changes are polled", e);
+				isWatchServiceUnavailable = true;
+			}
+		}
+		return watchService;
+	}
+
+	private void processEvents(WatchService watchService) {
+		try {
+			for(;;)
+				processEventBurst(watchService, watchService.take());
+		}
+		catch (InterruptedException | ClosedWatchServiceException e) {
+		}
+	}
+
+	/** Collects the events signalled by the given key and the keys following it in quick succession, then notifies the listeners once. */
+	void processEventBurst(WatchService watchService, WatchKey key) throws InterruptedException {
+		final Set<Path> changedPaths = new HashSet<>();
+		final Set<Path> overflowedDirectories = new HashSet<>();
+		final long lastCollectionTime = System.currentTimeMillis() + MAXIMAL_DEBOUNCE_MILLIS;
+		while(key != null) {
+			collectChangedPaths(key, changedPaths, overflowedDirectories);
+			final long remainingTime = lastCollectionTime - System.currentTimeMillis();
+			if(remainingTime <= 0)
+				break;
+			key = watchService.poll(Math.min(DEBOUNCE_MILLIS, remainingTime), TimeUnit.MILLISECONDS);
+		}
+		notifyListeners(changedPaths, overflowedDirectories);
+	}
+
+	private void collectChangedPaths(WatchKey key, Set<Path> changedPaths, Set<Path> overflowedDirectories) {
+		final Path directory = (Path) key.watchable();
+		for(WatchEvent<?> event : key.pollEvents()) {
+			if(event.kind() == OVERFLOW)
+				overflowedDirectories.add(directory);
+			else
+				changedPaths.add(directory.resolve((Path) event.context()));
+		}
+		key.reset();
+	}
+
+	private void notifyListeners(Set<Path> changedPaths, Set<Path> overflowedDirectories) {
+		final List<Runnable> notifications = new ArrayList<>();
+		synchronized (this) {
+			if(! overflowedDirectories.isEmpty()) {
+				for(Path path : watchedFiles.keySet())
+					if(overflowedDirectories.contains(path.getParent()))
+						changedPaths.add(path);
+			}
+			for(Path path : changedPaths) {
+				final WatchedFile watchedFile = watchedFiles.get(path);
+				if(watchedFile != null && watchedFile.updateStamp()) {
+					for(FileChangeListener listener : watchedFile.listeners)
+						notifications.add(() -> listener.fileChanged(watchedFile.file));
+				}
+			}
+		}
+		if(! notifications.isEmpty())
+			notificationExecutor.execute(() -> notifications.forEach(Runnable::run));
+	}
+}
@@ -84,6 +84,9 @@ public class ExportToImage implements IExportEngine {
 		catch (final OutOfMemoryError ex) {
 			UITools.errorMessage(TextUtils.getText("out_of_memory"));
 		}
+		finally {
+			ImageCreator.dispose(image);
+		}
 	}
 
 	public boolean exportToImage(final RenderedImage image, File chosenFile) {
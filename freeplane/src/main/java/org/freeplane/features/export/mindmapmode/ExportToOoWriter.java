@@ -17,13 +17,9 @@
  */
 package org.freeplane.features.export.mindmapmode;
 
-import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.StringReader;
-import java.io.StringWriter;
 import java.net.URL;
 import java.util.List;
 import java.util.zip.ZipEntry;
@@ -31,11 +27,8 @@ import java.util.zip.ZipOutputStream;
 
 import javax.swing.filechooser.FileFilter;
 import javax.xml.transform.Result;
-import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
 
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.ui.CaseSensitiveFileNameExtensionFilter;
@@ -75,18 +68,15 @@ public class ExportToOoWriter implements IExportEngine {
 	/**
 	 * @return true, if successful.
 	 */
-	private void applyXsltFile(final String xsltFileName, final StringWriter writer, final Result result) {
+	private void applyXsltFile(final String xsltFileName, final List<NodeModel> branches, final Result result) {
 		final URL xsltUrl = ResourceController.getResourceController().getResource(xsltFileName);
 		if (xsltUrl == null) {
 			LogUtils.severe("Can't find " + xsltFileName + " as resource.");
 			throw new IllegalArgumentException("Can't find " + xsltFileName + " as resource.");
 		}
-		try (InputStream xsltStream = new BufferedInputStream(xsltUrl.openStream())){
-			final StringReader reader = new StringReader(writer.getBuffer().toString());
-			final TransformerFactory transFact = TransformerFactory.newInstance();
-			final Source xsltSource = new StreamSource(xsltStream);
-			final Transformer trans = transFact.newTransformer(xsltSource);
-			trans.transform(new StreamSource(reader), result);
+		try {
+			final Transformer trans = XsltTransformation.getTemplates(xsltUrl).newTransformer();
+			XsltTransformation.transform(trans, writer -> new BranchXmlWriter(branches).writeXml(writer, Mode.EXPORT), result);
 			return;
 		}
 		catch (final Exception e) {
@@ -99,23 +89,21 @@ public class ExportToOoWriter implements IExportEngine {
 
 	public void exportToOoWriter(List<NodeModel> branches, final File file) throws IOException {
 		try (final ZipOutputStream zipout = new ZipOutputStream(new FileOutputStream(file));){
-			final StringWriter writer = new StringWriter();
-			new BranchXmlWriter(branches).writeXml(writer, Mode.EXPORT);
 			final Result result = new StreamResult(zipout);
 
 			ZipEntry entry = new ZipEntry("content.xml");
 			zipout.putNextEntry(entry);
-			applyXsltFile("/xslt/export2oowriter.xsl", writer, result);
+			applyXsltFile("/xslt/export2oowriter.xsl", branches, result);
 			zipout.closeEntry();
 
 			entry = new ZipEntry("META-INF/manifest.xml");
 			zipout.putNextEntry(entry);
-			applyXsltFile("/xslt/export2oowriter.manifest.xsl", writer, result);
+			applyXsltFile("/xslt/export2oowriter.manifest.xsl", branches, result);
 			zipout.closeEntry();
 
 			entry = new ZipEntry("styles.xml");
 			zipout.putNextEntry(entry);
-			applyXsltFile("/xslt/export2oowriter.styles.xsl", writer, result);
+			applyXsltFile("/xslt/export2oowriter.styles.xsl", branches, result);
 			zipout.closeEntry();
 		}
 	}
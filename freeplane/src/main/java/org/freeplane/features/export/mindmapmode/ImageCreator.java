@@ -22,6 +22,7 @@ package org.freeplane.features.export.mindmapmode;
 import java.awt.Dimension;
 import java.awt.image.RenderedImage;
 
+import org.freeplane.core.util.LogUtils;
 import org.freeplane.features.map.IMapSelection.NodePosition;
 import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
@@ -54,6 +55,18 @@ class ImageCreator{
         return controller.getMapViewManager().createImage(slideSize, placedNode, placedNodePosition, imageResolutionInDpi);
 	}
 
+	/** Ends printing of the map view if the image has not been read completely. */
+	static void dispose(RenderedImage image) {
+		if (image instanceof AutoCloseable) {
+			try {
+				((AutoCloseable) image).close();
+			}
+			catch (Exception e) {
+				LogUtils.severe(e);
+			}
+		}
+	}
+
 	public int getImageResolutionDPI() {
 	    return imageResolutionInDpi;
     }
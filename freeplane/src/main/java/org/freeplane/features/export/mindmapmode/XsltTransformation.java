@@ -0,0 +1,166 @@
+package org.freeplane.features.export.mindmapmode;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.xml.transform.Result;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
+
+/**
+ * Transforms xml written by the calling thread with stylesheets compiled once per file and modification time.
+ * The xml is passed to the transformer through a pipe while it is written,
+ * the transformation runs in its own thread.
+ */
+class XsltTransformation {
+	interface XmlWriter {
+		void writeXml(Writer writer) throws IOException;
+	}
+
+	private interface StylesheetSource {
+		StreamSource open() throws IOException;
+	}
+
+	private static class CompiledStylesheet {
+		final long lastModified;
+		final Templates templates;
+
+		CompiledStylesheet(long lastModified, Templates templates) {
+			this.lastModified = lastModified;
+			this.templates = templates;
+		}
+	}
+
+	private static final int PIPE_SIZE = 1 << 16;
+	private static final Map<String, CompiledStylesheet> compiledStylesheets = new HashMap<>();
+
+	static Templates getTemplates(File xsltFile) throws IOException, TransformerConfigurationException {
+		return getTemplates(xsltFile.getAbsolutePath(), xsltFile.lastModified(),
+		    () -> new StreamSource(xsltFile));
+	}
+
+	static Templates getTemplates(URL xsltResource) throws IOException, TransformerConfigurationException {
+		return getTemplates(xsltResource.toExternalForm(), lastModified(xsltResource),
+		    () -> new StreamSource(new BufferedInputStream(xsltResource.openStream())));
+	}
+
+	private static long lastModified(URL resource) {
+		if (! "file".equals(resource.getProtocol()))
+			return 0;
+		try {
+			return new File(resource.toURI()).lastModified();
+		}
+		catch (URISyntaxException | IllegalArgumentException e) {
+			return 0;
+		}
+	}
+
+	private static synchronized Templates getTemplates(String location, long lastModified, StylesheetSource stylesheet)
+	        throws IOException, TransformerConfigurationException {
+		final CompiledStylesheet compiledStylesheet = compiledStylesheets.get(location);
+		if (compiledStylesheet != null && compiledStylesheet.lastModified == lastModified)
+			return compiledStylesheet.templates;
+		final StreamSource source = stylesheet.open();
+		try {
+			final Templates templates = TransformerFactory.newInstance().newTemplates(source);
+			compiledStylesheets.put(location, new CompiledStylesheet(lastModified, templates));
+			return templates;
+		}
+		finally {
+			close(source);
+		}
+	}
+
+	private static void close(StreamSource source) throws IOException {
+		if (source.getInputStream() != null)
+			source.getInputStream().close();
+	}
+
+	static void transform(Transformer transformer, XmlWriter xmlWriter, Result result)
+	        throws IOException, TransformerException {
+		final PipedReader reader = new PipedReader(PIPE_SIZE);
+		final PipedWriter writer = new PipedWriter(reader);
+		final AtomicReference<Throwable> transformationException = new AtomicReference<>();
+		final Thread transformationThread = new Thread(() -> {
+			try {
+				transformer.transform(new StreamSource(reader), result);
+			}
+			catch (Throwable e) {
+				transformationException.set(e);
+			}
+			finally {
+				close(reader);
+			}
+		}, "XSLT Transformation");
+		transformationThread.start();
+		Exception writeException = null;
+		boolean writingFailedFirst = false;
+		try {
+			xmlWriter.writeXml(writer);
+		}
+		catch (IOException | RuntimeException e) {
+			writeException = e;
+			// A failing transformation closes the pipe, so that writing fails too.
+			writingFailedFirst = transformationException.get() == null;
+		}
+		finally {
+			writer.close();
+			join(transformationThread);
+		}
+		if (writingFailedFirst)
+			rethrow(writeException);
+		rethrow(transformationException.get());
+		rethrow(writeException);
+	}
+
+	private static void close(Reader reader) {
+		try {
+			reader.close();
+		}
+		catch (IOException e) {
+		}
+	}
+
+	private static void join(Thread thread) {
+		boolean interrupted = false;
+		for (;;) {
+			try {
+				thread.join();
+				break;
+			}
+			catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
+	private static void rethrow(Throwable exception) throws IOException, TransformerException {
+		if (exception == null)
+			return;
+		if (exception instanceof IOException)
+			throw (IOException) exception;
+		if (exception instanceof TransformerException)
+			throw (TransformerException) exception;
+		if (exception instanceof RuntimeException)
+			throw (RuntimeException) exception;
+		if (exception instanceof Error)
+			throw (Error) exception;
+		throw new TransformerException(exception);
+	}
+}
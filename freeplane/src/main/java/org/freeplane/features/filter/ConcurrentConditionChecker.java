@@ -0,0 +1,163 @@
+package org.freeplane.features.filter;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.EventQueue;
+import java.awt.GraphicsEnvironment;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.Timer;
+import javax.swing.WindowConstants;
+
+import org.freeplane.core.ui.LabelAndMnemonicSetter;
+import org.freeplane.core.ui.components.UITools;
+import org.freeplane.core.util.LogUtils;
+import org.freeplane.core.util.TextUtils;
+import org.freeplane.features.filter.condition.ICondition;
+import org.freeplane.features.map.NodeModel;
+
+/**
+ * Checks a condition for many nodes using all processors.
+ * Node data are taken on the calling thread, only the matching runs on the fork join pool
+ * in ranges of the node list. Long checks show a progress dialog where they can be canceled.
+ */
+class ConcurrentConditionChecker {
+	static final int MINIMAL_NODE_COUNT = 1000;
+	private static final int NODES_PER_TASK = 256;
+	private static final int PROGRESS_DIALOG_DELAY_MILLIS = 500;
+
+	static boolean canCheck(final ICondition condition) {
+		return condition.canBeCheckedConcurrently() && ForkJoinPool.getCommonPoolParallelism() > 1;
+	}
+
+	private class CheckTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final int from;
+		private final int to;
+
+		CheckTask(final int from, final int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (canceled.get())
+				return;
+			if (to - from <= NODES_PER_TASK) {
+				for (int i = from; i < to; i++)
+					results[indices[i]] = condition.checkData(data[i]);
+				checkedNodeCount.addAndGet(to - from);
+			}
+			else {
+				final int middle = (from + to) >>> 1;
+				invokeAll(new CheckTask(from, middle), new CheckTask(middle, to));
+			}
+		}
+	}
+
+	private final ICondition condition;
+	private final Object[] data;
+	private final int[] indices;
+	private final boolean[] results;
+	private final AtomicBoolean canceled;
+	private final AtomicInteger checkedNodeCount;
+
+	ConcurrentConditionChecker(final ICondition condition, final List<NodeModel> nodes) {
+		this.condition = condition;
+		this.data = new Object[nodes.size()];
+		this.indices = new int[nodes.size()];
+		int maximalIndex = -1;
+		for (int i = 0; i < data.length; i++) {
+			final NodeModel node = nodes.get(i);
+			data[i] = condition.getCheckedData(node);
+			indices[i] = node.getIndexInMap();
+			maximalIndex = Math.max(maximalIndex, indices[i]);
+		}
+		this.results = new boolean[maximalIndex + 1];
+		this.canceled = new AtomicBoolean();
+		this.checkedNodeCount = new AtomicInteger();
+	}
+
+	/**
+	 * @return condition results indexed by {@link NodeModel#getIndexInMap()} or null if the check was canceled
+	 */
+	boolean[] check() {
+		final ForkJoinTask<Void> task = ForkJoinPool.commonPool().submit(new CheckTask(0, data.length));
+		try {
+			try {
+				task.get(PROGRESS_DIALOG_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+			}
+			catch (TimeoutException e) {
+				if (EventQueue.isDispatchThread() && !GraphicsEnvironment.isHeadless())
+					showProgressUntilDone(task);
+				task.get();
+			}
+		}
+		catch (InterruptedException e) {
+			canceled.set(true);
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new RuntimeException(cause);
+		}
+		if (canceled.get()) {
+			LogUtils.info("Filtering canceled after checking " + checkedNodeCount.get() + " of " + data.length + " nodes");
+			return null;
+		}
+		return results;
+	}
+
+	private void showProgressUntilDone(final ForkJoinTask<Void> task) {
+		final JDialog dialog = new JDialog(UITools.getCurrentFrame(), TextUtils.getText("filter_progress"), true);
+		dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+		final JProgressBar progressBar = new JProgressBar(0, data.length);
+		progressBar.setStringPainted(true);
+		progressBar.setPreferredSize(new Dimension(300, progressBar.getPreferredSize().height));
+		final JButton cancelButton = new JButton();
+		LabelAndMnemonicSetter.setLabelAndMnemonic(cancelButton, TextUtils.getRawText("cancel"));
+		cancelButton.addActionListener(e -> {
+			canceled.set(true);
+			cancelButton.setEnabled(false);
+		});
+		final JPanel panel = new JPanel(new BorderLayout(10, 10));
+		panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+		panel.add(progressBar, BorderLayout.CENTER);
+		panel.add(cancelButton, BorderLayout.EAST);
+		dialog.getContentPane().add(panel);
+		dialog.pack();
+		UITools.setDialogLocationRelativeTo(dialog, UITools.getCurrentFrame());
+		final Timer timer = new Timer(100, e -> {
+			progressBar.setValue(checkedNodeCount.get());
+			if (task.isDone())
+				dialog.dispose();
+		});
+		timer.setInitialDelay(0);
+		timer.start();
+		try {
+			dialog.setVisible(true);
+		}
+		finally {
+			timer.stop();
+			dialog.dispose();
+		}
+	}
+}
@@ -19,8 +19,13 @@
  */
 package org.freeplane.features.filter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.WeakHashMap;
 
 import javax.swing.Icon;
@@ -48,13 +53,55 @@ public class Filter implements IExtension {
 		return new Filter(null, false, resourceController.getBooleanProperty("filter.showAncestors"), resourceController.getBooleanProperty("filter.showDescendants"), false, filteredElement, null);
 	}
 
+	/**
+	 * Keeps filter results of the nodes of one map as flags in an array indexed by {@link NodeModel#getIndexInMap()}.
+	 * Value 0 stands for a node which was not checked yet.
+	 */
 	static class FilterInfoAccessor {
-	    private final WeakHashMap<NodeModel, FilterInfo> filterInfos = new WeakHashMap<>();
+	    private MapModel map;
+	    private int[] filterInfos;
+	    private WeakHashMap<NodeModel, Integer> otherMapFilterInfos;
+
+	    FilterInfoAccessor(MapModel map) {
+	        this.map = map;
+	        this.filterInfos = new int[map != null ? map.getNodeIndexCount() : 0];
+	    }
+
+	    int get(NodeModel node) {
+	        final int info;
+	        if (belongsToMap(node)) {
+	            final int index = node.getIndexInMap();
+	            info = index < filterInfos.length ? filterInfos[index] : 0;
+	        }
+	        else
+	            info = otherMapFilterInfos != null ? otherMapFilterInfos.getOrDefault(node, 0) : 0;
+	        return info != 0 ? info : FilterInfo.SHOW_AS_INITIAL_VALUE;
+	    }
+
+	    void set(NodeModel node, int info) {
+	        if (belongsToMap(node)) {
+	            final int index = node.getIndexInMap();
+	            if (index >= filterInfos.length)
+	                filterInfos = Arrays.copyOf(filterInfos, Math.max(map.getNodeIndexCount(), filterInfos.length * 3 / 2 + 1));
+	            filterInfos[index] = info;
+	        }
+	        else {
+	            if (otherMapFilterInfos == null)
+	                otherMapFilterInfos = new WeakHashMap<>();
+	            otherMapFilterInfos.put(node, info);
+	        }
+	    }
 
-	    FilterInfo getFilterInfo(NodeModel node) {
-	        return filterInfos.computeIfAbsent(node, x -> new FilterInfo());
+	    void add(NodeModel node, int flag) {
+	        set(node, FilterInfo.add(get(node), flag));
 	    }
 
+	    private boolean belongsToMap(NodeModel node) {
+	        final MapModel nodeMap = node.getMap();
+	        if (map == null && nodeMap != null)
+	            map = nodeMap;
+	        return nodeMap == map && map != null;
+	    }
 	}
 
 	static public Filter createFilter(final ICondition condition, final boolean areAncestorsShown,
@@ -66,6 +113,7 @@ public class Filter implements IExtension {
 	final int options;
 
 	private FilterInfoAccessor accessor;
+	private boolean[] concurrentlyCheckedNodes;
 	private final boolean hidesMatchingElements;
 	private final boolean appliesToVisibleElementsOnly;
 	private final Filter baseFilter;
@@ -85,7 +133,7 @@ public class Filter implements IExtension {
 	    this.hidesMatchingElements = hidesMatchingElements;
 	    this.appliesToVisibleElementsOnly = appliesToVisibleElementsOnly;
         this.filteredElement = filteredElement;
-		this.accessor = new FilterInfoAccessor();
+		this.accessor = new FilterInfoAccessor(null);
 
 		int options;
 		if(hidesMatchingElements) {
@@ -111,11 +159,11 @@ public class Filter implements IExtension {
 	}
 
     void addFilterResult(final NodeModel node, final int flags) {
-        getFilterInfo(node).add(flags);
+        accessor.add(node, flags);
     }
 
     void setFilterResult(final NodeModel node, final int flags) {
-        getFilterInfo(node).set(flags);
+        accessor.set(node, flags);
     }
 
 	protected boolean appliesToVisibleElementsOnly() {
@@ -137,16 +185,57 @@ public class Filter implements IExtension {
 	}
 
 	public void calculateFilterResults(final MapModel map) {
-	    this.accessor = new FilterInfoAccessor();
+	    this.accessor = new FilterInfoAccessor(map);
+	    FilterUpdater.register(map, this);
 		final NodeModel root = map.getRootNode();
 		resetFilter(root);
-		int ownStateAsAncestor = checkNode(root) ? FilterInfo.HAS_MATCHED_ANCESTOR : FilterInfo.HAS_HIDDEN_ANCESTOR;
-        addFilterResult(root, filterChildrenGetDescendantState(root, ownStateAsAncestor));
+		if (! checkConcurrently(root))
+		    return;
+		try {
+		    int ownStateAsAncestor = checkNode(root) ? FilterInfo.HAS_MATCHED_ANCESTOR : FilterInfo.HAS_HIDDEN_ANCESTOR;
+		    addFilterResult(root, filterChildrenGetDescendantState(root, ownStateAsAncestor));
+		}
+		finally {
+		    concurrentlyCheckedNodes = null;
+		}
 	}
 
     public void calculateFilterResults(final NodeModel root) {
-        this.accessor = new FilterInfoAccessor();
-        applyFilterGetDescendantState(root, 0);
+        this.accessor = new FilterInfoAccessor(root.getMap());
+        if (! checkConcurrently(root))
+            return;
+        try {
+            applyFilterGetDescendantState(root, 0);
+        }
+        finally {
+            concurrentlyCheckedNodes = null;
+        }
+    }
+
+    /**
+     * Checks the condition for all nodes of big branches in advance if the condition allows it.
+     * The results are merged into ancestor and descendant states by the usual tree walk.
+     * @return false if the user has canceled the check, all nodes remain unchecked then.
+     */
+    private boolean checkConcurrently(final NodeModel root) {
+        if (condition == null || ! ConcurrentConditionChecker.canCheck(condition))
+            return true;
+        final List<NodeModel> nodes = new ArrayList<>();
+        collectNodes(root, nodes);
+        if (nodes.size() < ConcurrentConditionChecker.MINIMAL_NODE_COUNT)
+            return true;
+        concurrentlyCheckedNodes = new ConcurrentConditionChecker(condition, nodes).check();
+        return concurrentlyCheckedNodes != null;
+    }
+
+    private void collectNodes(final NodeModel node, final List<NodeModel> nodes) {
+        nodes.add(node);
+        for (final NodeModel child : children(node))
+            collectNodes(child, nodes);
+    }
+
+    private boolean checkCondition(final NodeModel node) {
+        return concurrentlyCheckedNodes != null ? concurrentlyCheckedNodes[node.getIndexInMap()] : condition.checkNode(node);
     }
 
     private int filterChildrenGetDescendantState(final NodeModel node, int state) {
@@ -158,7 +247,7 @@ public class Filter implements IExtension {
     }
 
 	private int applyFilterGetDescendantState(final NodeModel node, int ancestorState) {
-		final boolean conditionSatisfied =  (condition == null || condition.checkNode(node));
+		final boolean conditionSatisfied =  (condition == null || checkCondition(node));
 		final boolean matchesCombinedFilter;
 		if(appliesToVisibleElementsOnly()) {
 		    matchesCombinedFilter = conditionSatisfied  && baseFilter.accepts(node);
@@ -178,6 +267,164 @@ public class Filter implements IExtension {
         return descendantState | ownStateAsDescendant;
 	}
 
+	/**
+	 * Updates the results calculated for the map after some of its nodes have changed without checking all nodes again.
+	 * Only the changed nodes and the nodes whose result depends on them are checked,
+	 * states of their ancestors and descendants are updated from the stored results.
+	 * Nodes which were not checked before remain unchecked unless they have changed themselves.
+	 * @param changedNodes nodes with changed content
+	 * @param movedNodes nodes with a new parent
+	 * @param changedParents nodes with inserted, deleted or moved children
+	 * @return true if any result has changed
+	 */
+	boolean updateFilterResults(final MapModel map, final Collection<NodeModel> changedNodes,
+	        final Collection<NodeModel> movedNodes, final Collection<NodeModel> changedParents) {
+	    if (condition == null || accessor.map != map)
+	        return false;
+	    final Set<NodeModel> checkedNodes = new LinkedHashSet<>();
+	    final Set<NodeModel> parents = new LinkedHashSet<>(changedParents);
+	    for (final NodeModel node : changedNodes)
+	        addNodesDependingOn(node, checkedNodes);
+	    for (final NodeModel node : movedNodes) {
+	        if (condition.checksAncestors())
+	            addNodeWithDescendants(node, checkedNodes);
+	        else if (condition.checksParent())
+	            checkedNodes.add(node);
+	    }
+	    for (final NodeModel parent : changedParents)
+	        addNodesDependingOnChildrenOf(parent, checkedNodes);
+	    boolean changed = false;
+	    for (final NodeModel node : movedNodes) {
+	        if (belongsTo(node, map) && isChecked(node) && passesAncestorState(node.getParentNode()))
+	            changed |= updateAncestorState(node, stateAsAncestor(node.getParentNode()));
+	    }
+	    for (final NodeModel node : checkedNodes) {
+	        if (belongsTo(node, map))
+	            changed |= updateCheckedNode(node, parents);
+	    }
+	    for (final NodeModel parent : parents) {
+	        if (belongsTo(parent, map))
+	            changed |= updateDescendantState(parent);
+	    }
+	    return changed;
+	}
+
+	private void addNodesDependingOn(final NodeModel node, final Set<NodeModel> nodes) {
+	    if (condition.checksAncestors())
+	        addNodeWithDescendants(node, nodes);
+	    else {
+	        nodes.add(node);
+	        if (condition.checksParent())
+	            nodes.addAll(children(node));
+	    }
+	    final NodeModel parent = node.getParentNode();
+	    if (parent != null)
+	        addNodesDependingOnChildrenOf(parent, nodes);
+	}
+
+	private void addNodesDependingOnChildrenOf(final NodeModel parent, final Set<NodeModel> nodes) {
+	    if (condition.checksDescendants()) {
+	        for (NodeModel ancestor = parent; ancestor != null; ancestor = ancestor.getParentNode())
+	            nodes.add(ancestor);
+	    }
+	    else if (condition.checksChildren())
+	        nodes.add(parent);
+	}
+
+	private void addNodeWithDescendants(final NodeModel node, final Set<NodeModel> nodes) {
+	    nodes.add(node);
+	    for (final NodeModel child : children(node))
+	        addNodeWithDescendants(child, nodes);
+	}
+
+	private boolean belongsTo(final NodeModel node, final MapModel map) {
+	    final NodeModel root = map.getRootNode();
+	    return node.getMap() == map && (node == root || node.isDescendantOf(root));
+	}
+
+	private boolean isChecked(final NodeModel node) {
+	    return FilterInfo.matches(accessor.get(node), FilterInfo.MATCHES | FilterInfo.NO_MATCH);
+	}
+
+	private boolean updateCheckedNode(final NodeModel node, final Set<NodeModel> changedParents) {
+	    if (node.isRoot())
+	        return updateDescendantsAncestorState(node);
+	    final NodeModel parent = node.getParentNode();
+	    if (! isChecked(node)) {
+	        if (! passesAncestorState(parent))
+	            return false;
+	        applyFilterGetDescendantState(node, stateAsAncestor(parent));
+	        changedParents.add(parent);
+	        return true;
+	    }
+	    final int info = accessor.get(node);
+	    final int ownState = matchesCombinedFilter(node) ? FilterInfo.MATCHES : FilterInfo.NO_MATCH;
+	    if (FilterInfo.matches(info, ownState))
+	        return false;
+	    setFilterResult(node, info & ~(FilterInfo.MATCHES | FilterInfo.NO_MATCH) | ownState);
+	    updateDescendantsAncestorState(node);
+	    changedParents.add(parent);
+	    return true;
+	}
+
+	private boolean matchesCombinedFilter(final NodeModel node) {
+	    return condition.checkNode(node) && (! appliesToVisibleElementsOnly() || baseFilter.accepts(node));
+	}
+
+	private boolean passesAncestorState(final NodeModel node) {
+	    return node.isRoot() || isChecked(node);
+	}
+
+	/** State passed by the node to its children as their ancestor state. */
+	private int stateAsAncestor(final NodeModel node) {
+	    if (node.isRoot())
+	        return checkNode(node) ? FilterInfo.HAS_MATCHED_ANCESTOR : FilterInfo.HAS_HIDDEN_ANCESTOR;
+	    final int info = accessor.get(node);
+	    final int ancestorState = info & (FilterInfo.HAS_MATCHED_ANCESTOR | FilterInfo.HAS_HIDDEN_ANCESTOR);
+	    return ancestorState | (FilterInfo.matches(info, FilterInfo.MATCHES) ? FilterInfo.HAS_MATCHED_ANCESTOR : FilterInfo.HAS_HIDDEN_ANCESTOR);
+	}
+
+	private boolean updateDescendantsAncestorState(final NodeModel node) {
+	    final int childrenAncestorState = stateAsAncestor(node);
+	    boolean changed = false;
+	    for (final NodeModel child : children(node)) {
+	        if (isChecked(child))
+	            changed |= updateAncestorState(child, childrenAncestorState);
+	    }
+	    return changed;
+	}
+
+	private boolean updateAncestorState(final NodeModel node, final int ancestorState) {
+	    final int info = accessor.get(node);
+	    final int ancestorStateMask = FilterInfo.HAS_MATCHED_ANCESTOR | FilterInfo.HAS_HIDDEN_ANCESTOR;
+	    if ((info & ancestorStateMask) == ancestorState)
+	        return false;
+	    setFilterResult(node, info & ~ancestorStateMask | ancestorState);
+	    updateDescendantsAncestorState(node);
+	    return true;
+	}
+
+	private boolean updateDescendantState(final NodeModel node) {
+	    final int descendantStateMask = FilterInfo.HAS_MATCHED_DESCENDANT | FilterInfo.HAS_HIDDEN_DESCENDANT;
+	    boolean changed = false;
+	    for (NodeModel ancestor = node; ancestor != null && (ancestor.isRoot() || isChecked(ancestor)); ancestor = ancestor.getParentNode()) {
+	        int descendantState = 0;
+	        for (final NodeModel child : children(ancestor)) {
+	            final int childInfo = accessor.get(child);
+	            if (FilterInfo.matches(childInfo, FilterInfo.MATCHES))
+	                descendantState |= (childInfo & descendantStateMask) | FilterInfo.HAS_MATCHED_DESCENDANT;
+	            else if (FilterInfo.matches(childInfo, FilterInfo.NO_MATCH))
+	                descendantState |= (childInfo & descendantStateMask) | FilterInfo.HAS_HIDDEN_DESCENDANT;
+	        }
+	        final int info = accessor.get(ancestor);
+	        if ((info & descendantStateMask) == descendantState)
+	            break;
+	        setFilterResult(ancestor, info & ~descendantStateMask | descendantState);
+	        changed = true;
+	    }
+	    return changed;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see freeplane.controller.filter.Filter#areAncestorsShown()
@@ -204,7 +451,7 @@ public class Filter implements IExtension {
     }
 
     private boolean checkNode(final NodeModel node) {
-		return condition == null || ! shouldRemainInvisible(node) && condition.checkNode(node);
+		return condition == null || ! shouldRemainInvisible(node) && checkCondition(node);
 	}
 
 	private boolean shouldRemainInvisible(final NodeModel node) {
@@ -227,6 +474,8 @@ public class Filter implements IExtension {
 
     public void useFilterResultsFrom(Filter oldFilter) {
         accessor = oldFilter.accessor;
+        if (accessor.map != null)
+            FilterUpdater.register(accessor.map, this);
     }
 
 	/*
@@ -261,26 +510,26 @@ public class Filter implements IExtension {
 		if (condition == null || node.isRoot()) {
 			return true;
 		}
-		FilterInfo filterInfo = getFilterInfo(node);
-        return filterInfo.isNotChecked() || filterInfo.matches(options);
+		final int filterInfo = accessor.get(node);
+        return FilterInfo.isNotChecked(filterInfo) || FilterInfo.matches(filterInfo, options);
     }
 
 
 	void resetFilter(final NodeModel node) {
-		getFilterInfo(node).reset();
+		accessor.set(node, FilterInfo.SHOW_AS_INITIAL_VALUE);
 	}
 
 	public FilterInfo getFilterInfo(final NodeModel node) {
-		return accessor.getFilterInfo(node);
+		return new FilterInfo(accessor, node);
 	}
 
     public void showAsMatched(NodeModel node) {
-        FilterInfo filterInfo = getFilterInfo(node);
-        if(! filterInfo.matches(FilterInfo.SHOW_AS_MATCHED)) {
-            filterInfo.add(FilterInfo.SHOW_AS_MATCHED);
-            if(! filterInfo.matches(FilterInfo.SHOW_AS_MATCHED_ANCESTOR))
+        final int filterInfo = accessor.get(node);
+        if(! FilterInfo.matches(filterInfo, FilterInfo.SHOW_AS_MATCHED)) {
+            accessor.add(node, FilterInfo.SHOW_AS_MATCHED);
+            if(! FilterInfo.matches(filterInfo, FilterInfo.SHOW_AS_MATCHED_ANCESTOR))
                 showAncestors(node);
-            if(! filterInfo.matches(FilterInfo.SHOW_AS_MATCHED_DESCENDANT))
+            if(! FilterInfo.matches(filterInfo, FilterInfo.SHOW_AS_MATCHED_DESCENDANT))
                 showDescendants(node);
         }
     }
@@ -289,17 +538,15 @@ public class Filter implements IExtension {
         NodeModel parent = node.getParentNode();
         if(parent == null)
             return;
-        FilterInfo filterInfo = getFilterInfo(parent);
-        if(! filterInfo.matches(FilterInfo.SHOW_AS_MATCHED_ANCESTOR)) {
-            filterInfo.add(FilterInfo.SHOW_AS_MATCHED_ANCESTOR);
+        if(! FilterInfo.matches(accessor.get(parent), FilterInfo.SHOW_AS_MATCHED_ANCESTOR)) {
+            accessor.add(parent, FilterInfo.SHOW_AS_MATCHED_ANCESTOR);
             showAncestors(parent);
         }
     }
 
     private void showDescendants(NodeModel node) {
         for (NodeModel child : children(node)) {
-            FilterInfo filterInfo = getFilterInfo(child);
-            filterInfo.add(FilterInfo.SHOW_AS_MATCHED_DESCENDANT);
+            accessor.add(child, FilterInfo.SHOW_AS_MATCHED_DESCENDANT);
             showDescendants(child);
         }
     }
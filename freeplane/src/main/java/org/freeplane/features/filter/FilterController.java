@@ -89,11 +89,13 @@ import org.freeplane.features.highlight.NodeHighlighter;
 import org.freeplane.features.map.CloneOfSelectedViewCondition;
 import org.freeplane.features.map.IMapSelection;
 import org.freeplane.features.map.MapChangeEvent;
+import org.freeplane.features.map.MapController;
 import org.freeplane.features.map.MapController.Direction;
 import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.MapNavigationUtils;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.ModeController;
 import org.freeplane.features.styles.ConditionalStyleModel;
 import org.freeplane.features.ui.IMapViewChangeListener;
 import org.freeplane.features.ui.ToggleToolbarAction;
@@ -515,6 +517,21 @@ public class FilterController implements IExtension, IMapViewChangeListener {
             }
         }
     }
+    /** Keeps filter results current while nodes are edited if the user has enabled it. */
+    public void installFilterUpdater(final ModeController modeController) {
+        final FilterUpdater filterUpdater = new FilterUpdater(this);
+        final MapController mapController = modeController.getMapController();
+        mapController.addUINodeChangeListener(filterUpdater);
+        mapController.addUIMapChangeListener(filterUpdater);
+    }
+
+    void refreshFilteredMap(MapModel map) {
+        refreshMap(this, map);
+        final IMapSelection selection = Controller.getCurrentController().getSelection();
+        if (selection != null && selection.getMap() == map)
+            selectVisibleNodes(selection);
+    }
+
     private void refreshMap(Object source, MapModel map) {
         Controller.getCurrentModeController().getMapController().fireMapChanged(new MapChangeEvent(source, map, Filter.class, null, this, false));
     }
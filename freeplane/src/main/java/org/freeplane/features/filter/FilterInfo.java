@@ -19,7 +19,11 @@
  */
 package org.freeplane.features.filter;
 
+import org.freeplane.features.map.NodeModel;
+
 /**
+ * Filter result of a single node, stored by the filter as flags.
+ *
  * @author Dimitry Polivaev
  */
 public class FilterInfo {
@@ -39,50 +43,65 @@ public class FilterInfo {
     static final int SHOW_AS_HIDDEN_DESCENDANT =  HAS_HIDDEN_ANCESTOR;
 
 
-    static public final FilterInfo TRANSPARENT = new FilterInfo(SHOW_AS_MATCHED);
+	/** @deprecated filter results are stored by the filter, see {@link Filter#getFilterInfo(NodeModel)} */
+	@Deprecated
+	static public final FilterInfo TRANSPARENT = new FilterInfo(SHOW_AS_MATCHED);
 
+	private final Filter.FilterInfoAccessor accessor;
+	private final NodeModel node;
 	private int info;
 
-    public FilterInfo() {
-        this(SHOW_AS_INITIAL_VALUE);
-    }
+	FilterInfo(Filter.FilterInfoAccessor accessor, NodeModel node) {
+		this.accessor = accessor;
+		this.node = node;
+	}
 
-    private FilterInfo(int info) {
-        this.info = info;
-    }
+	/** @deprecated filter results are stored by the filter, see {@link Filter#getFilterInfo(NodeModel)} */
+	@Deprecated
+	public FilterInfo() {
+		this(SHOW_AS_INITIAL_VALUE);
+	}
 
-    void set(final int newInfo) {
-        info = newInfo;
-    }
+	private FilterInfo(int info) {
+		this(null, null);
+		this.info = info;
+	}
 
-    void add(final int flag) {
-        if ((flag & (SHOW_AS_MATCHED | SHOW_AS_HIDDEN)) != 0) {
-            info &= ~SHOW_AS_INITIAL_VALUE;
-        }
-        info |= flag;
-    }
+	private int get() {
+		return accessor != null ? accessor.get(node) : info;
+	}
+
+	static int add(final int info, final int flag) {
+		if ((flag & (SHOW_AS_MATCHED | SHOW_AS_HIDDEN)) != 0) {
+			return (info & ~SHOW_AS_INITIAL_VALUE) | flag;
+		}
+		return info | flag;
+	}
+
+	static boolean matches(final int info, final int filterOptions) {
+		return (filterOptions & info) != 0;
+	}
+
+	static boolean isNotChecked(final int info) {
+		return matches(info, SHOW_AS_INITIAL_VALUE);
+	}
 
 	/**
 	 */
 	public boolean canBeAncestor() {
-		return (info & (SHOW_AS_MATCHED_ANCESTOR|SHOW_AS_INITIAL_VALUE)) != 0;
+		return matches(get(), SHOW_AS_MATCHED_ANCESTOR|SHOW_AS_INITIAL_VALUE);
 	}
 
 	/**
 	 */
 	public boolean isMatched() {
-		return (info & SHOW_AS_MATCHED) != 0;
+		return matches(get(), SHOW_AS_MATCHED);
 	}
 
 	public void reset() {
-		info = SHOW_AS_INITIAL_VALUE;
+		if (accessor != null)
+			accessor.set(node, SHOW_AS_INITIAL_VALUE);
+		else
+			info = SHOW_AS_INITIAL_VALUE;
 	}
-
-	boolean matches(final int filterOptions) {
-		return (filterOptions & info) != 0;
-	}
-
-    boolean isNotChecked() {
-        return matches(SHOW_AS_INITIAL_VALUE);
-    }
 }
@@ -0,0 +1,124 @@
+package org.freeplane.features.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.freeplane.core.extension.IExtension;
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.map.IMapChangeListener;
+import org.freeplane.features.map.IMapSelection;
+import org.freeplane.features.map.INodeChangeListener;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeChangeEvent;
+import org.freeplane.features.map.NodeDeletionEvent;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.map.NodeMoveEvent;
+import org.freeplane.features.mode.Controller;
+
+/**
+ * Keeps results of the filters calculated for a map current while its nodes are edited.
+ * Changes are collected and applied to all such filters together after the current event has been processed.
+ */
+class FilterUpdater implements INodeChangeListener, IMapChangeListener {
+	static final String FILTERS_CHANGED_NODES_PROPERTY = "filtersChangedNodes";
+
+	/** Filters whose results were calculated for the map. */
+	private static class CalculatedFilters implements IExtension {
+		private final Set<Filter> filters = Collections.newSetFromMap(new WeakHashMap<>());
+	}
+
+	private static class PendingChanges {
+		private final Set<NodeModel> changedNodes = new LinkedHashSet<>();
+		private final Set<NodeModel> movedNodes = new LinkedHashSet<>();
+		private final Set<NodeModel> changedParents = new LinkedHashSet<>();
+	}
+
+	static void register(final MapModel map, final Filter filter) {
+		if (filter.getCondition() == null)
+			return;
+		CalculatedFilters calculatedFilters = map.getExtension(CalculatedFilters.class);
+		if (calculatedFilters == null) {
+			calculatedFilters = new CalculatedFilters();
+			map.addExtension(calculatedFilters);
+		}
+		calculatedFilters.filters.add(filter);
+	}
+
+	private final FilterController filterController;
+	private final Map<MapModel, PendingChanges> pendingChanges;
+
+	FilterUpdater(final FilterController filterController) {
+		this.filterController = filterController;
+		this.pendingChanges = new LinkedHashMap<>();
+	}
+
+	@Override
+	public void nodeChanged(final NodeChangeEvent event) {
+		final NodeModel node = event.getNode();
+		final PendingChanges changes = pendingChanges(node.getMap());
+		if (changes != null)
+			changes.changedNodes.add(node);
+	}
+
+	@Override
+	public void onNodeInserted(final NodeModel parent, final NodeModel child, final int newIndex) {
+		final PendingChanges changes = pendingChanges(parent.getMap());
+		if (changes != null)
+			changes.changedParents.add(parent);
+	}
+
+	@Override
+	public void onNodeDeleted(final NodeDeletionEvent nodeDeletionEvent) {
+		final PendingChanges changes = pendingChanges(nodeDeletionEvent.parent.getMap());
+		if (changes != null)
+			changes.changedParents.add(nodeDeletionEvent.parent);
+	}
+
+	@Override
+	public void onNodeMoved(final NodeMoveEvent nodeMoveEvent) {
+		final PendingChanges changes = pendingChanges(nodeMoveEvent.child.getMap());
+		if (changes != null) {
+			changes.movedNodes.add(nodeMoveEvent.child);
+			changes.changedParents.add(nodeMoveEvent.oldParent);
+			changes.changedParents.add(nodeMoveEvent.newParent);
+		}
+	}
+
+	private PendingChanges pendingChanges(final MapModel map) {
+		if (map == null || map.getExtension(CalculatedFilters.class) == null
+		        || ! ResourceController.getResourceController().getBooleanProperty(FILTERS_CHANGED_NODES_PROPERTY))
+			return null;
+		if (pendingChanges.isEmpty())
+			Controller.getCurrentController().getViewController().invokeLater(this::updateFilters);
+		return pendingChanges.computeIfAbsent(map, m -> new PendingChanges());
+	}
+
+	private void updateFilters() {
+		final ArrayList<Map.Entry<MapModel, PendingChanges>> changedMaps = new ArrayList<>(pendingChanges.entrySet());
+		pendingChanges.clear();
+		final IMapSelection selection = Controller.getCurrentController().getSelection();
+		for (final Map.Entry<MapModel, PendingChanges> entry : changedMaps) {
+			final MapModel map = entry.getKey();
+			final PendingChanges changes = entry.getValue();
+			final CalculatedFilters calculatedFilters = map.getExtension(CalculatedFilters.class);
+			if (calculatedFilters == null)
+				continue;
+			boolean resultsChanged = false;
+			for (final Filter filter : new ArrayList<>(calculatedFilters.filters))
+				resultsChanged |= filter.updateFilterResults(map, changes.changedNodes, changes.movedNodes, changes.changedParents);
+			if (! resultsChanged)
+				continue;
+			if (selection != null && selection.getMap() == map) {
+				final NodeModel selectionRoot = selection.getSelectionRoot();
+				if (! selectionRoot.isRoot())
+					selection.getFilter().resetFilter(selectionRoot);
+			}
+			filterController.refreshFilteredMap(map);
+		}
+	}
+}
@@ -27,7 +27,9 @@ public interface StringMatchingStrategy {
 
 	double APPROXIMATE_MATCHING_MINPROB = ResourceController.getResourceController().getDoubleProperty("approximate_search_threshold");
 
-	static final StringMatchingStrategy DEFAULT_APPROXIMATE_STRING_MATCHING_STRATEGY = new PseudoDamerauLevenshtein();
+	/** Creates a new matcher for each call because matchers keep state and conditions may be checked concurrently. */
+	static final StringMatchingStrategy DEFAULT_APPROXIMATE_STRING_MATCHING_STRATEGY =
+	        (searchTerm, searchText, matchType) -> new PseudoDamerauLevenshtein().matches(searchTerm, searchText, matchType);
 	static final StringMatchingStrategy EXACT_STRING_MATCHING_STRATEGY = new ExactStringMatchingStrategy();
 
 	/**
@@ -19,6 +19,8 @@
  */
 package org.freeplane.features.filter.condition;
 
+import org.freeplane.features.map.NodeModel;
+
 /**
  * @author Dimitry Polivaev
  */
@@ -55,5 +57,23 @@ abstract class CombinedConditions extends ASelectableCondition implements ICombi
     }
 
     protected abstract ASelectableCondition[] getConditions();
+
+    @Override
+    public boolean canBeCheckedConcurrently() {
+        for (ASelectableCondition condition : getConditions()) {
+            if (! condition.canBeCheckedConcurrently())
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Object getCheckedData(NodeModel node) {
+        final ASelectableCondition[] conditions = getConditions();
+        final Object[] data = new Object[conditions.length];
+        for (int i = 0; i < conditions.length; i++)
+            data[i] = conditions[i].getCheckedData(node);
+        return data;
+    }
     
 }
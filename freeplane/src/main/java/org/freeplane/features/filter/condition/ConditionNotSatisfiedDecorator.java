@@ -41,6 +41,21 @@ public class ConditionNotSatisfiedDecorator extends DecoratedCondition implement
 	public boolean checkNode(final NodeModel node) {
 		return !originalCondition.checkNode(node);
 	}
+
+	@Override
+	public boolean canBeCheckedConcurrently() {
+		return originalCondition.canBeCheckedConcurrently();
+	}
+
+	@Override
+	public Object getCheckedData(final NodeModel node) {
+		return originalCondition.getCheckedData(node);
+	}
+
+	@Override
+	public boolean checkData(final Object data) {
+		return !originalCondition.checkData(data);
+	}
 	
 	
 
@@ -80,6 +80,17 @@ public class ConjunctConditions extends CombinedConditions implements ICombinedC
 		return true;
 	}
 
+	@Override
+	public boolean checkData(final Object data) {
+		final Object[] conditionData = (Object[]) data;
+		for (int i = 0; i < conditions.length; i++) {
+			if (!conditions[i].checkData(conditionData[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see
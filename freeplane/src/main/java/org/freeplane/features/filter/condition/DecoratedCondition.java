@@ -114,6 +114,10 @@ abstract public class DecoratedCondition extends ASelectableCondition implements
     public boolean checksDescendants() {
         return originalCondition.checksDescendants();
     }
+
+    public boolean checksExternalState() {
+        return originalCondition.checksExternalState();
+    }
 	
 	
 
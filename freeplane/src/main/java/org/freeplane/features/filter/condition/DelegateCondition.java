@@ -17,6 +17,11 @@ public class DelegateCondition extends ASelectableCondition {
         return delegate.checkNode(node);
     }
 
+    @Override
+    public boolean checksExternalState() {
+        return true;
+    }
+
     @Override
     protected String createDescription() {
         return "<" + name + ">";
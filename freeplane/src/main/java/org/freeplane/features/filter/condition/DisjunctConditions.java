@@ -83,6 +83,17 @@ public class DisjunctConditions extends CombinedConditions implements ICombinedC
 		return false;
 	}
 
+	@Override
+	public boolean checkData(final Object data) {
+		final Object[] conditionData = (Object[]) data;
+		for (int i = 0; i < conditions.length; i++) {
+			if (conditions[i].checkData(conditionData[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see
@@ -25,4 +25,9 @@ public interface ICombinedCondition extends ICondition{
         return split().stream().anyMatch(ICondition::checksDescendants);
     }
 
+	@Override
+	default boolean checksExternalState() {
+        return split().stream().anyMatch(ICondition::checksExternalState);
+    }
+
 }
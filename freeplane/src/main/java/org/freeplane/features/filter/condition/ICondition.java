@@ -39,4 +39,29 @@ public interface ICondition {
     default boolean checksDescendants() {
         return false;
     }
+
+    /**
+     * True if the result can change although neither the checked node nor the relatives declared above change,
+     * for instance because it depends on the current time, the selection, scripts or connected nodes.
+     */
+    default boolean checksExternalState() {
+        return false;
+    }
+
+    /**
+     * True if {@link #checkData(Object)} can run on any thread.
+     * Data are always taken from the nodes by {@link #getCheckedData(NodeModel)} on the calling thread
+     * because reading them may evaluate formulas and styles.
+     */
+    default boolean canBeCheckedConcurrently() {
+        return false;
+    }
+
+    default Object getCheckedData(NodeModel node) {
+        return node;
+    }
+
+    default boolean checkData(Object data) {
+        return checkNode((NodeModel) data);
+    }
 }
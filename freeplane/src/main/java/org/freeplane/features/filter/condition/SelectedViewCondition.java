@@ -44,6 +44,11 @@ public class SelectedViewCondition extends ASelectableCondition implements Condi
 		return selection != null && selection.isSelected(node);
 	}
 
+	@Override
+	public boolean checksExternalState() {
+		return true;
+	}
+
 	@Override
     protected String createDescription() {
 		if (SelectedViewCondition.description == null) {
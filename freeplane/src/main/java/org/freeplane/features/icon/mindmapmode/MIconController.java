@@ -178,7 +178,7 @@ public class MIconController extends IconController {
 		}
 
 		private void copyIconSize(NodeModel from, NodeModel to) {
-		    Quantity<LengthUnit> iconSize = from.getSharedData().getIcons().getIconSize();
+		    Quantity<LengthUnit> iconSize = from.getSharedData().getIconSize();
 		    if(iconSize != null)
 		    	to.getSharedData().getIcons().setIconSize(iconSize);
 
@@ -216,7 +216,7 @@ public class MIconController extends IconController {
 			    removeIcons(from, which);
 			}
             if (key.equals(LogicalStyleKeys.NODE_STYLE)
-                     &&  which.getSharedData().getIcons().getIconSize() != null) {
+                     &&  which.getSharedData().getIconSize() != null) {
                 removeIconSize(from);
             }
 		}
@@ -331,7 +331,7 @@ public class MIconController extends IconController {
 
 			@Override
 			public void act() {
-				oldIconSize = node.getSharedData().getIcons().getIconSize();
+				oldIconSize = node.getSharedData().getIconSize();
 				node.getSharedData().getIcons().setIconSize(iconSize);
 				Controller.getCurrentModeController().getMapController().nodeChanged(node, NodeModel.NODE_ICON_SIZE, null, iconSize);
 			}
@@ -54,6 +54,11 @@ public abstract class ConnectorLabelCondition extends StringConditionAdapter imp
         return NodeConnectorChecker.checkNodeConnectors(node, this);
     }
 
+    @Override
+    public boolean checksExternalState() {
+        return true;
+    }
+
 	protected void fillXML(final XMLElement child) {
 	    super.fillXML(child);
 		child.setAttribute(TEXT, text);
@@ -22,6 +22,11 @@ public class ConnectorStyleCondition extends ASelectableCondition implements Con
 	    return NodeConnectorChecker.checkNodeConnectors(node, this);
 	}
 
+	@Override
+	public boolean checksExternalState() {
+	    return true;
+	}
+
 	public boolean check(final ConnectorModel connector) {
 	    return value.equals(connector.getStyle());
 	}
@@ -51,12 +51,12 @@ public class LinkBuilder implements IElementDOMHandler, IReadCompletionListener{
 	private static final int FREEPLANE_VERSION_WITH_CURVED_LOOPED_CONNECTORS = 3;
 	private static final String FORMAT_AS_HYPERLINK = "FORMAT_AS_HYPERLINK";
 	private static final String LINK = "LINK";
-	final private HashSet<NodeLinkModel> processedLinks;
+	final private ThreadLocal<HashSet<NodeLinkModel>> processedLinks;
 	private final LinkController linkController;
 
 	public LinkBuilder(final LinkController linkController) {
 		this.linkController = linkController;
-		processedLinks = new HashSet<NodeLinkModel>();
+		processedLinks = ThreadLocal.withInitial(HashSet::new);
 	}
 
 	private NodeLinkModel createArrowLink(final NodeModel source, final String targetID) {
@@ -78,7 +78,7 @@ public class LinkBuilder implements IElementDOMHandler, IReadCompletionListener{
 	 */
 	@Override
 	public void readingCompleted(final NodeModel topNode, final Map<String, String> newIds) {
-		final Iterator<NodeLinkModel> iterator = processedLinks.iterator();
+		final Iterator<NodeLinkModel> iterator = processedLinks.get().iterator();
 		while (iterator.hasNext()) {
 			final NodeLinkModel arrowLink = iterator.next();
 			final String id = arrowLink.getTargetID();
@@ -92,7 +92,7 @@ public class LinkBuilder implements IElementDOMHandler, IReadCompletionListener{
 			final NodeModel source = arrowLink.getSource();
 			NodeLinks.createLinkExtension(source).addArrowlink(arrowLink);
 		}
-		processedLinks.clear();
+		processedLinks.get().clear();
 	}
 
 	private void registerAttributeHandlers(final ReadManager reader) {
@@ -102,7 +102,7 @@ public class LinkBuilder implements IElementDOMHandler, IReadCompletionListener{
 				final NodeModel node = (NodeModel) userObject;
 				linkController.loadLink(node, value);
 				final Collection<NodeLinkModel> links = NodeLinks.getLinks(node);
-				processedLinks.addAll(links);
+				processedLinks.get().addAll(links);
 			}
 		});
 
@@ -148,7 +148,7 @@ public class LinkBuilder implements IElementDOMHandler, IReadCompletionListener{
 			public void setAttribute(final Object userObject, final String value) {
 				final ConnectorModel arrowLink = (ConnectorModel) userObject;
 				arrowLink.setTargetID(value);
-				processedLinks.add(arrowLink);
+				processedLinks.get().add(arrowLink);
 			}
 		});
 		reader.addAttributeHandler("arrowlink", "SOURCE_LABEL", new IAttributeHandler() {
@@ -377,12 +377,12 @@ public class LinkBuilder implements IElementDOMHandler, IReadCompletionListener{
 			while (iterator.hasNext()) {
 				final NodeLinkModel linkModel = iterator.next();
 				if (linkModel instanceof ConnectorModel) {
-					final boolean linkNotWrittenBefore = ! processedLinks.contains(linkModel);
+					final boolean linkNotWrittenBefore = ! processedLinks.get().contains(linkModel);
 					if(linkNotWrittenBefore) {
 						final ConnectorModel arrowLinkModel = (ConnectorModel) linkModel.cloneForSource(node);
 						if(arrowLinkModel != null) {
 							save(writer, arrowLinkModel);
-							processedLinks.add(linkModel);
+							processedLinks.get().add(linkModel);
 						}
 					}
 				}
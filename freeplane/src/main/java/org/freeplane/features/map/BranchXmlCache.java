@@ -0,0 +1,115 @@
+package org.freeplane.features.map;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.freeplane.core.extension.IExtension;
+
+/**
+ * Keeps XML written for branches of a map by the last save,
+ * so that unchanged branches are copied instead of being serialized again.
+ *
+ * A branch is invalidated together with all its ancestors
+ * whenever one of its nodes is changed, inserted, moved or deleted.
+ */
+class BranchXmlCache implements IExtension {
+
+	static class Fragment {
+		private final Object[] pieces;
+
+		Fragment(Object[] pieces) {
+			this.pieces = pieces;
+		}
+
+		void writeTo(Writer writer) throws IOException {
+			for (Object piece : pieces) {
+				if (piece instanceof Fragment)
+					((Fragment) piece).writeTo(writer);
+				else
+					writer.write((String) piece);
+			}
+		}
+	}
+
+	static class Invalidator implements INodeChangeListener, IMapChangeListener {
+		@Override
+		public void nodeChanged(NodeChangeEvent event) {
+			invalidate(event.getNode());
+		}
+
+		@Override
+		public void onNodeInserted(NodeModel parent, NodeModel child, int newIndex) {
+			invalidate(parent);
+		}
+
+		@Override
+		public void onNodeDeleted(NodeDeletionEvent nodeDeletionEvent) {
+			invalidate(nodeDeletionEvent.parent);
+		}
+
+		@Override
+		public void onNodeMoved(NodeMoveEvent nodeMoveEvent) {
+			invalidate(nodeMoveEvent.oldParent);
+			invalidate(nodeMoveEvent.newParent);
+		}
+
+		@Override
+		public void mapChanged(MapChangeEvent event) {
+			final MapModel map = event.getMap();
+			if (map != null && event.setsDirtyFlag()) {
+				final BranchXmlCache cache = map.getExtension(BranchXmlCache.class);
+				if (cache != null)
+					cache.clear();
+			}
+		}
+	}
+
+	static BranchXmlCache getCache(MapModel map, String format) {
+		BranchXmlCache cache = map.getExtension(BranchXmlCache.class);
+		if (cache == null) {
+			cache = new BranchXmlCache(format);
+			map.addExtension(cache);
+		}
+		else if (! cache.format.equals(format)) {
+			cache.clear();
+			cache.format = format;
+		}
+		return cache;
+	}
+
+	static void invalidate(NodeModel node) {
+		final MapModel map = node.getMap();
+		if (map == null)
+			return;
+		final BranchXmlCache cache = map.getExtension(BranchXmlCache.class);
+		if (cache != null)
+			cache.invalidateBranch(node);
+	}
+
+	private final Map<NodeModel, Fragment> fragments;
+	private String format;
+
+	private BranchXmlCache(String format) {
+		this.format = format;
+		this.fragments = new WeakHashMap<>();
+	}
+
+	Fragment get(NodeModel node) {
+		return fragments.get(node);
+	}
+
+	void put(NodeModel node, Fragment fragment) {
+		fragments.put(node, fragment);
+	}
+
+	private void invalidateBranch(NodeModel node) {
+		for (NodeModel branch = node; branch != null; branch = branch.getParentNode())
+			fragments.remove(branch);
+	}
+
+	void clear() {
+		fragments.clear();
+	}
+}
@@ -0,0 +1,118 @@
+package org.freeplane.features.map;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.freeplane.features.map.BranchXmlCache.Fragment;
+
+/**
+ * Passes written map XML through to the target writer
+ * and cuts the output into fragments for the branches written in between
+ * {@link #beginBranch()} and {@link #endBranch(NodeModel)}.
+ */
+class BranchXmlRecorder extends Writer {
+	private static class Recording {
+		final List<Object> pieces = new ArrayList<>();
+		final StringBuilder text = new StringBuilder();
+		boolean cacheable = true;
+
+		void addPiece(Object piece) {
+			addText();
+			pieces.add(piece);
+		}
+
+		Fragment toFragment() {
+			addText();
+			return new Fragment(pieces.toArray());
+		}
+
+		private void addText() {
+			if (text.length() > 0) {
+				pieces.add(text.toString());
+				text.setLength(0);
+			}
+		}
+	}
+
+	private final Writer out;
+	private final BranchXmlCache cache;
+	private final Deque<Recording> recordings;
+
+	BranchXmlRecorder(Writer out, BranchXmlCache cache) {
+		this.out = out;
+		this.cache = cache;
+		this.recordings = new ArrayDeque<>();
+	}
+
+	boolean copyCachedBranch(NodeModel node) throws IOException {
+		final Fragment fragment = cache.get(node);
+		if (fragment == null)
+			return false;
+		fragment.writeTo(out);
+		final Recording recording = recordings.peek();
+		if (recording != null)
+			recording.addPiece(fragment);
+		return true;
+	}
+
+	void beginBranch() {
+		recordings.push(new Recording());
+	}
+
+	void endBranch(NodeModel node) {
+		final Recording recording = recordings.pop();
+		final Fragment fragment = recording.toFragment();
+		if (recording.cacheable)
+			cache.put(node, fragment);
+		final Recording parentRecording = recordings.peek();
+		if (parentRecording != null) {
+			parentRecording.addPiece(fragment);
+			parentRecording.cacheable &= recording.cacheable;
+		}
+	}
+
+	/** Current branch contains content which depends on the other parts of the map, like clones. */
+	void excludeCurrentBranch() {
+		final Recording recording = recordings.peek();
+		if (recording != null)
+			recording.cacheable = false;
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+		out.write(cbuf, off, len);
+		final Recording recording = recordings.peek();
+		if (recording != null)
+			recording.text.append(cbuf, off, len);
+	}
+
+	@Override
+	public void write(String str, int off, int len) throws IOException {
+		out.write(str, off, len);
+		final Recording recording = recordings.peek();
+		if (recording != null)
+			recording.text.append(str, off, off + len);
+	}
+
+	@Override
+	public void write(int c) throws IOException {
+		out.write(c);
+		final Recording recording = recordings.peek();
+		if (recording != null)
+			recording.text.append((char) c);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
@@ -46,6 +46,11 @@ public class CloneOfSelectedViewCondition extends ASelectableCondition implement
 		return false;
 	}
 
+	@Override
+	public boolean checksExternalState() {
+		return true;
+	}
+
 	@Override
     protected String createDescription() {
 		if (CloneOfSelectedViewCondition.description == null) {
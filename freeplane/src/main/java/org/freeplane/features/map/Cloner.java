@@ -44,8 +44,11 @@ class Cloner {
 		if(node.containsExtension(EncryptionModel.class))
 			throw new CloneEncryptedNodeException();
 		final NodeModel clone = node.cloneNode(CloneType.TREE);
-		final List<NodeModel> cloneChildren = clone.getChildrenInternal();
-		for (NodeModel childNode : node.getChildrenInternal()){
+		final List<NodeModel> children = node.getChildrenInternal();
+		if (children.isEmpty())
+			return clone;
+		final List<NodeModel> cloneChildren = clone.getModifiableChildrenInternal();
+		for (NodeModel childNode : children){
 			final NodeModel childClone = cloneStructure(childNode);
 			childClone.setParent(clone);
 			childClone.setSide(childNode.getSide());
@@ -0,0 +1,122 @@
+package org.freeplane.features.map;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.freeplane.core.extension.IExtension;
+import org.freeplane.core.io.ITreeWriter;
+import org.freeplane.core.io.UnparsedElement;
+import org.freeplane.core.util.LogUtils;
+import org.freeplane.features.map.MapWriter.Hint;
+import org.freeplane.features.map.MapWriter.Mode;
+
+/**
+ * Keeps the XML of the child branches of a folded node which were not converted into nodes
+ * while the map was loaded. The branches are read when the node children are accessed for the first time.
+ */
+class DeferredChildren {
+
+	/** Nodes of a map which still have deferred children. */
+	static class Registry implements IExtension {
+		private final Set<NodeModel> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+	}
+
+	/** XML of the deferred branches which could not be read. It is saved unchanged together with the node. */
+	static class UnreadBranches implements IExtension {
+		private final List<String> branchXml = new ArrayList<>();
+	}
+
+	static void writeUnreadBranches(ITreeWriter writer, NodeModel node) throws IOException {
+		final UnreadBranches unreadBranches = node.getExtension(UnreadBranches.class);
+		if (unreadBranches != null) {
+			for (String xml : unreadBranches.branchXml)
+				writer.addElementContent(xml);
+		}
+	}
+
+	static void register(NodeModel node) {
+		final MapModel map = node.getMap();
+		Registry registry = map.getExtension(Registry.class);
+		if (registry == null) {
+			registry = new Registry();
+			map.addExtension(registry);
+		}
+		registry.nodes.add(node);
+	}
+
+	/**
+	 * Reads all deferred branches of the map including the ones found in the branches being read.
+	 * @return true if any branch has been read
+	 */
+	static boolean loadAll(MapModel map) {
+		boolean loaded = false;
+		for (Registry registry = map.getExtension(Registry.class); registry != null; registry = map.getExtension(Registry.class)) {
+			map.removeExtension(registry);
+			for (NodeModel node : new ArrayList<>(registry.nodes))
+				node.getChildren();
+			loaded = true;
+		}
+		return loaded;
+	}
+
+	private final MapReader mapReader;
+	private final List<String> branchXml;
+	private boolean selfContained;
+
+	DeferredChildren(MapReader mapReader) {
+		this.mapReader = mapReader;
+		this.branchXml = new ArrayList<>();
+		this.selfContained = true;
+	}
+
+	void add(UnparsedElement branch) {
+		branchXml.add(branch.getXml());
+		if (branch.containsElement("arrowlink")
+				|| branch.containsAttribute("TREE_ID")
+				|| branch.containsAttribute("CONTENT_ID")
+				|| branch.containsAttribute("REFERENCE_ID"))
+			selfContained = false;
+	}
+
+	int size() {
+		return branchXml.size();
+	}
+
+	/** Branches containing connectors or clones are connected with other nodes and can not be read separately. */
+	boolean areSelfContained() {
+		return selfContained;
+	}
+
+	List<NodeModel> load(NodeModel parent) {
+		final MapModel map = parent.getMap();
+		final Registry registry = map.getExtension(Registry.class);
+		if (registry != null)
+			registry.nodes.remove(parent);
+		final Map<Object, Object> hints = new HashMap<>();
+		hints.put(Hint.MODE, Mode.FILE);
+		hints.put(NodeBuilder.FOLDING_LOADED, Boolean.TRUE);
+		final List<NodeModel> children = new ArrayList<>(branchXml.size());
+		for (String xml : branchXml) {
+			try {
+				children.add(mapReader.createNodeTreeFromXml(map, new StringReader(xml), hints));
+			}
+			catch (Exception e) {
+				LogUtils.severe("Can not read folded branch of node " + parent.getID() + ", it is kept unchanged", e);
+				UnreadBranches unreadBranches = parent.getExtension(UnreadBranches.class);
+				if (unreadBranches == null) {
+					unreadBranches = new UnreadBranches();
+					parent.addExtension(unreadBranches);
+				}
+				unreadBranches.branchXml.add(xml);
+			}
+		}
+		return children;
+	}
+}
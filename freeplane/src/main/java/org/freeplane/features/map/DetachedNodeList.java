@@ -94,6 +94,10 @@ public class DetachedNodeList implements Clones {
 		throw new IllegalStateException();
     }
 
+	boolean isOnlyClone(NodeModel node) {
+		return clone == node && clonedNode == node;
+	}
+
 	public CloneType getCloneType() {
 		return cloneType;
 	}
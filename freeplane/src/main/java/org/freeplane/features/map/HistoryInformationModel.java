@@ -41,6 +41,11 @@ public class HistoryInformationModel {
 		lastModifiedAt = now;
 	}
 
+	HistoryInformationModel(final long createdAt, final long lastModifiedAt) {
+		this.createdAt = createdAt;
+		this.lastModifiedAt = lastModifiedAt;
+	}
+
 	public HistoryInformationModel(final Date createdAt, final Date lastModifiedAt) {
 		this.createdAt = createdAt.getTime();
 		this.lastModifiedAt = lastModifiedAt.getTime();
@@ -373,6 +373,9 @@ implements IExtension, NodeChangeAnnouncer{
 		addNodeSelectionListener(actionSelectorOnChange);
 		addUINodeChangeListener(actionSelectorOnChange);
 		addUIMapChangeListener(actionSelectorOnChange);
+		final BranchXmlCache.Invalidator branchXmlCacheInvalidator = new BranchXmlCache.Invalidator();
+		addNodeChangeListener(branchXmlCacheInvalidator);
+		addMapChangeListener(branchXmlCacheInvalidator);
 		final MapClipboardController mapClipboardController = createMapClipboardController();
 		modeController.addExtension(MapClipboardController.class, mapClipboardController);
 		createActions(modeController);
@@ -48,6 +48,7 @@ public class MapModel {
 	private IconRegistry iconRegistry;
 	final private List<IMapChangeListener> listeners;
 	final private Map<String, NodeModel> nodes;
+	private int nodeIndexCount;
 	private boolean readOnly = false;
 	private NodeModel root;
 	private URL url;
@@ -76,6 +77,16 @@ public class MapModel {
 		this.nodeChangeAnnouncer = mapController;
 	}
 
+	/** Used by {@link NodeModel#getIndexInMap()}. */
+	synchronized int nextNodeIndex() {
+		return nodeIndexCount++;
+	}
+
+	/** @return upper bound of all node indices assigned so far */
+	public int getNodeIndexCount() {
+		return nodeIndexCount;
+	}
+
 	public void createNewRoot() {
 		root = new NodeModel(TextUtils.getText("new_mindmap"), this);
 		root.attach();
@@ -116,7 +127,7 @@ public class MapModel {
 	}
 
 	public String generateNodeID(final String proposedID) {
-		if (proposedID != null && !"".equals(proposedID) && getNodeForID(proposedID) == null) {
+		if (proposedID != null && !"".equals(proposedID) && nodes.get(proposedID) == null) {
 			return proposedID;
 		}
 		String returnValue;
@@ -156,6 +167,9 @@ public class MapModel {
 	 */
 	public NodeModel getNodeForID(final String nodeID) {
 		final NodeModel node = nodes.get(nodeID);
+		if (node == null && DeferredChildren.loadAll(this)) {
+			return nodes.get(nodeID);
+		}
 		return node;
 	}
 
@@ -255,6 +269,18 @@ public class MapModel {
 		root.setMap(this);
 	}
 
+	/**
+	 * Removes the nodes and restores the extensions of a map whose content could not be loaded completely,
+	 * so that it can be loaded again.
+	 */
+	public void discardLoadedContent(final Map<Class<? extends IExtension>, IExtension> extensionsBeforeLoading) {
+		root = null;
+		nodes.clear();
+		final Map<Class<? extends IExtension>, IExtension> extensions = getExtensions();
+		extensions.clear();
+		extensions.putAll(extensionsBeforeLoading);
+	}
+
 	/**
 	 * Counts the amount of actions performed.
 	 *
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.freeplane.core.io.IElementDOMHandler;
 import org.freeplane.core.io.ReadManager;
@@ -38,6 +39,10 @@ import org.freeplane.n3.nanoxml.XMLException;
  * 20.12.2008
  */
 public class MapReader implements IElementDOMHandler {
+	private interface TreeLoader {
+		void load(TreeXmlReader reader, MapModel map) throws XMLException;
+	}
+
 	public class NodeTreeCreator {
 		private MapModel createdMap;
 		private final Map<Object, Object> hints;
@@ -55,25 +60,33 @@ public class MapReader implements IElementDOMHandler {
         }
 
 		public NodeModel create(final Reader pReader) throws XMLException {
-			final NodeTreeCreator oldNodeTreeCreator = nodeTreeCreator;
+			return create((reader, map) -> reader.load(map, pReader));
+		}
+
+		private NodeModel create(final TreeLoader loader) throws XMLException {
+			final NodeTreeCreator oldNodeTreeCreator = nodeTreeCreator.get();
 			final TreeXmlReader reader = new TreeXmlReader(readManager);
 			try {
-				nodeTreeCreator = this;
-				reader.load(createdMap, pReader);
+				nodeTreeCreator.set(this);
+				loader.load(reader, createdMap);
 				final NodeModel node = nodeBuilder.getMapChild();
 				return node;
 			}
 			finally {
 				nodeBuilder.reset();
-				nodeTreeCreator = oldNodeTreeCreator;
+				nodeTreeCreator.set(oldNodeTreeCreator);
 			}
 		}
 
 		public NodeModel createNodeTreeFromXml(final MapModel map, final Reader pReader) throws IOException,
 		XMLException {
+			return createNodeTree(map, (reader, createdMap) -> reader.load(createdMap, pReader));
+		}
+
+		private NodeModel createNodeTree(final MapModel map, final TreeLoader loader) throws XMLException {
 			synchronized(this) {
 				start(map);
-				final NodeModel node = create(pReader);
+				final NodeModel node = create(loader);
 				if (node == null)
 					throw new RuntimeException("corrupted map, no root node found");
 				finish(node);
@@ -82,15 +95,15 @@ public class MapReader implements IElementDOMHandler {
 		}
 
 		public void finish(final NodeModel node) {
-			final NodeTreeCreator oldNodeTreeCreator = nodeTreeCreator;
+			final NodeTreeCreator oldNodeTreeCreator = nodeTreeCreator.get();
 			try {
-				nodeTreeCreator = this;
+				nodeTreeCreator.set(this);
 				readManager.readingCompleted(node, newIds);
 				newIds.clear();
 				createdMap = null;
 			}
 			finally {
-				nodeTreeCreator = oldNodeTreeCreator;
+				nodeTreeCreator.set(oldNodeTreeCreator);
 			}
 		}
 
@@ -139,10 +152,11 @@ public class MapReader implements IElementDOMHandler {
 
 	private final NodeBuilder nodeBuilder;
 	final private ReadManager readManager;
-	private NodeTreeCreator nodeTreeCreator;
+	/** Each thread reads its own map, so that several maps can be loaded concurrently. */
+	private final ThreadLocal<NodeTreeCreator> nodeTreeCreator = new ThreadLocal<NodeTreeCreator>();
 
 	public NodeTreeCreator getCurrentNodeTreeCreator() {
-		return nodeTreeCreator;
+		return nodeTreeCreator.get();
 	}
 
 	public MapReader(final ReadManager readManager) {
@@ -153,25 +167,53 @@ public class MapReader implements IElementDOMHandler {
 
 	@Override
 	public Object createElement(final Object parent, final String tag, final XMLElement attributes) {
-		return nodeTreeCreator.getCreatedMap();
+		return nodeTreeCreator.get().getCreatedMap();
 	}
 
 	public NodeModel createNodeTreeFromXml(final MapModel map, final Reader pReader, final Mode mode)
 	        throws IOException, XMLException {
-		final Map<Object, Object> hints = new HashMap<Object, Object>(1);
-		hints.put(Hint.MODE, mode);
-		return createNodeTreeFromXml(map, pReader, hints);
+		return createNodeTreeFromXml(map, pReader, hints(mode));
 	}
 	public NodeModel createNodeTreeFromXml(final MapModel map, final Reader pReader, final Map<Object, Object> hints)
 	        throws IOException, XMLException {
-		final NodeTreeCreator oldNodeTreeCreator = nodeTreeCreator;
+		return createNodeTree(map, hints, (reader, createdMap) -> reader.load(createdMap, pReader));
+	}
+
+	/**
+	 * Loads the map like {@link #createNodeTreeFromXml(MapModel, Reader, Mode)}
+	 * and passes the recorded parser events to the given consumer.
+	 * They can be used to create the same tree again by {@link #createNodeTreeFromEvents(MapModel, byte[], Mode)}.
+	 */
+	public NodeModel createNodeTreeFromXml(final MapModel map, final Reader pReader, final Mode mode,
+	                                      final Consumer<byte[]> eventConsumer) throws XMLException {
+		return createNodeTree(map, hints(mode), (reader, createdMap) -> {
+			reader.recordEvents();
+			reader.load(createdMap, pReader);
+			eventConsumer.accept(reader.getRecordedEvents());
+		});
+	}
+
+	public NodeModel createNodeTreeFromEvents(final MapModel map, final byte[] events, final Mode mode)
+	        throws XMLException {
+		return createNodeTree(map, hints(mode), (reader, createdMap) -> reader.replay(createdMap, events));
+	}
+
+	private Map<Object, Object> hints(final Mode mode) {
+		final Map<Object, Object> hints = new HashMap<Object, Object>(1);
+		hints.put(Hint.MODE, mode);
+		return hints;
+	}
+
+	private NodeModel createNodeTree(final MapModel map, final Map<Object, Object> hints, final TreeLoader loader)
+	        throws XMLException {
+		final NodeTreeCreator oldNodeTreeCreator = nodeTreeCreator.get();
 		try {
-			nodeTreeCreator = new NodeTreeCreator(hints);
-			final NodeModel topNode = nodeTreeCreator.createNodeTreeFromXml(map, pReader);
-			return topNode;
+			final NodeTreeCreator newNodeTreeCreator = new NodeTreeCreator(hints);
+			nodeTreeCreator.set(newNodeTreeCreator);
+			return newNodeTreeCreator.createNodeTree(map, loader);
 		}
 		finally {
-			nodeTreeCreator = oldNodeTreeCreator;
+			nodeTreeCreator.set(oldNodeTreeCreator);
 		}
 	}
 
@@ -184,7 +226,7 @@ public class MapReader implements IElementDOMHandler {
 	}
 
 	public boolean isMapLoadingInProcess() {
-		return nodeTreeCreator != null;
+		return nodeTreeCreator.get() != null;
 	}
 
 	public NodeTreeCreator nodeTreeCreator(final MapModel map) {
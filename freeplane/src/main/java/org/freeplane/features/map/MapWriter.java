@@ -48,9 +48,10 @@ public class MapWriter implements IElementWriter, IAttributeWriter {
 	private static final String USAGE_COMMENT = "<!--To view this file,"
 	        + " download free mind mapping software Freeplane from https://www.freeplane.org -->"
 	        + System.getProperty("line.separator");
+	private static final String SAVE_BRANCHES_INCREMENTALLY_PROPERTY = "save_branches_incrementally";
 
 	public enum Hint {
-		MODE
+		MODE, BRANCH_RECORDER
 	};
 
 	public enum Mode {
@@ -83,7 +84,16 @@ public class MapWriter implements IElementWriter, IAttributeWriter {
 
 	public void writeMapAsXml(final MapModel map, final Writer fileout, final Mode mode, final CopiedNodeSet copiedNodeSet,
 	                          final boolean forceFormat) throws IOException {
-		final TreeXmlWriter xmlWriter = createTreeWriter(fileout);
+		final TreeXmlWriter xmlWriter;
+		if (Mode.FILE.equals(mode) && copiedNodeSet == CopiedNodeSet.ALL_NODES && ! forceFormat
+				&& ResourceController.getResourceController().getBooleanProperty(SAVE_BRANCHES_INCREMENTALLY_PROPERTY)) {
+			final BranchXmlRecorder branchRecorder = new BranchXmlRecorder(fileout,
+				BranchXmlCache.getCache(map, savedFormat()));
+			xmlWriter = createTreeWriter(branchRecorder);
+			xmlWriter.setHint(Hint.BRANCH_RECORDER, branchRecorder);
+		}
+		else
+			xmlWriter = createTreeWriter(fileout);
 		xmlWriter.setHint(Hint.MODE, mode);
 		if (forceFormat) {
 			xmlWriter.setHint(WriterHint.FORCE_FORMATTING);
@@ -134,6 +144,14 @@ public class MapWriter implements IElementWriter, IAttributeWriter {
 		xmlWriter.flush();
 	}
 
+	/** Properties which change the saved XML of unchanged nodes */
+	private String savedFormat() {
+		final ResourceController resourceController = ResourceController.getResourceController();
+		return resourceController.getProperty(NodeBuilder.RESOURCES_SAVE_FOLDING)
+				+ ',' + resourceController.getBooleanProperty(NodeBuilder.RESOURCES_SAVE_MODIFICATION_TIMES)
+				+ ',' + resourceController.getBooleanProperty("useAsciiCharset");
+	}
+
 	TreeXmlWriter createTreeWriter(final Writer writer) {
 		return new TreeXmlWriter(writeManager, writer, //
 			ResourceController.getResourceController().getBooleanProperty("useAsciiCharset"));
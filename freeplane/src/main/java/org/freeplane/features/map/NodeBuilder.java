@@ -28,6 +28,7 @@ import org.freeplane.core.io.IElementDOMHandler;
 import org.freeplane.core.io.IReadCompletionListener;
 import org.freeplane.core.io.ReadManager;
 import org.freeplane.core.io.UnknownElements;
+import org.freeplane.core.io.UnparsedElement;
 import org.freeplane.core.io.xml.TreeXmlReader;
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.features.map.MapWriter.Hint;
@@ -65,6 +66,7 @@ public class NodeBuilder implements IElementDOMHandler {
 	private static final String RESOURCES_LOAD_FOLDING = "load_folding";
 	private static final String RESOURCES_LOAD_FOLDING_FROM_MAP_DEFAULT_FOLD_ALL = "load_folding_from_map_default_fold_all";
 	private static final String MAX_DISPLAYED_NODE_COUNT = "max_displayed_node_count";
+	private static final String RESOURCES_LOAD_FOLDED_BRANCHES_LAZILY = "load_folded_branches_lazily";
 	private static final String RESOURCES_ALWAYS_SHOW_LESS_THAN_N_NODES_AFTER_LOAD = "always_show_less_than_N_nodes_after_load";
 	private static final String RESOURCES_SHOW_LESS_THAN_N_NODES_BY_DEFAULT_AFTER_LOAD = "show_less_than_N_nodes_by_default_after_load";
 	public static final String RESOURCES_ALWAYS_SAVE_FOLDING = "always_save_folding";
@@ -87,6 +89,9 @@ public class NodeBuilder implements IElementDOMHandler {
 
 	@Override
 	public Object createElement(final Object parent, final String tag, final XMLElement attributes) {
+		if (defersChildrenOf(parent, tag)) {
+			return new UnparsedElement();
+		}
 		final NodeModel userObject = createNode();
 		if (getMapChild() == null) {
 			setMapChild(userObject);
@@ -100,7 +105,20 @@ public class NodeBuilder implements IElementDOMHandler {
 
 	@Override
 	public void endElement(final Object parentObject, final String tag, final Object userObject, final XMLElement dom) {
+		if (userObject instanceof UnparsedElement) {
+			deferChild((NodeModel) parentObject, (UnparsedElement) userObject);
+			return;
+		}
 		final NodeModel node = (NodeModel) userObject;
+		final DeferredChildren deferredChildren = node.getDeferredChildren();
+		if (deferredChildren != null) {
+			if (deferredChildren.areSelfContained()) {
+				DeferredChildren.register(node);
+			}
+			else {
+				node.getChildren();
+			}
+		}
 		if (dom.getAttributeCount() != 0 || dom.hasChildren()) {
 			node.addExtension(new UnknownElements(dom));
 		}
@@ -117,6 +135,22 @@ public class NodeBuilder implements IElementDOMHandler {
 		}
 	}
 
+	private boolean defersChildrenOf(final Object parent, final String tag) {
+		return parent instanceof NodeModel && ((NodeModel) parent).isFolded()
+		        && tag.equals(XML_NODE)
+		        && Mode.FILE.equals(mapReader.getCurrentNodeTreeCreator().getHint(Hint.MODE))
+		        && ResourceController.getResourceController().getBooleanProperty(RESOURCES_LOAD_FOLDED_BRANCHES_LAZILY);
+	}
+
+	private void deferChild(final NodeModel parent, final UnparsedElement branch) {
+		DeferredChildren deferredChildren = parent.getDeferredChildren();
+		if (deferredChildren == null) {
+			deferredChildren = new DeferredChildren(mapReader);
+			parent.setDeferredChildren(deferredChildren);
+		}
+		deferredChildren.add(branch);
+	}
+
 	private MapModel getMap() {
 		return mapReader.getCurrentNodeTreeCreator().getCreatedMap();
 	}
@@ -145,10 +179,7 @@ public class NodeBuilder implements IElementDOMHandler {
 			    @Override
 				public void setAttribute(final Object userObject, final String value) {
 				    final NodeModel node = (NodeModel) userObject;
-				    if (node.getHistoryInformation() == null) {
-					    node.setHistoryInformation(new HistoryInformationModel());
-				    }
-				    node.getHistoryInformation().setCreatedAt(TreeXmlReader.xmlToDate(value));
+				    node.setCreationTime(TreeXmlReader.xmlToDate(value).getTime());
 			    }
 		    });
 		reader.addAttributeHandler(NodeBuilder.XML_NODE, NodeBuilder.XML_NODE_HISTORY_LAST_MODIFIED_AT,
@@ -156,10 +187,7 @@ public class NodeBuilder implements IElementDOMHandler {
 			    @Override
 				public void setAttribute(final Object userObject, final String value) {
 				    final NodeModel node = (NodeModel) userObject;
-				    if (node.getHistoryInformation() == null) {
-					    node.setHistoryInformation(new HistoryInformationModel());
-				    }
-				    node.getHistoryInformation().setLastModifiedAt(TreeXmlReader.xmlToDate(value));
+				    node.setModificationTime(TreeXmlReader.xmlToDate(value).getTime());
 			    }
 		    });
 		reader.addAttributeHandler(NodeBuilder.XML_STYLENODE, "FOLDED", new IAttributeHandler() {
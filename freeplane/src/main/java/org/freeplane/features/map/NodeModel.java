@@ -63,8 +63,6 @@ public class NodeModel{
 	public enum NodeProperty{UNKNOWN_PROPERTY}
 
 	public enum CloneType{TREE, CONTENT}
-	final static int TREE_CLONE_INDEX = CloneType.TREE.ordinal();
-	final static int CONTENT_CLONE_INDEX = CloneType.CONTENT.ordinal();
 
 	private static final boolean ALLOWSCHILDREN = true;
 	public static final String NODE_TEXT = "node_text";
@@ -73,23 +71,52 @@ public class NodeModel{
 	public static final String NODE_ICON = "icon";
 	public static final String NODE_ICON_SIZE = "icon_size";
 	static public final Object HYPERLINK_CHANGED = "hyperlink_changed";
+	private static final List<NodeModel> NO_CHILDREN = Collections.emptyList();
 
 	private List<NodeModel> children;
+	private DeferredChildren deferredChildren;
 	private NodeModel parent;
 	private String id;
 	private MapModel map = null;
+	private int indexInMap = -1;
 	private Side side;
 	private Collection<INodeView> views = null;
 
 	private SharedNodeData sharedData;
-	private Clones[] clones;
+	/** null if this node is the only member of its clone list, see {@link #clones(CloneType)} */
+	private Clones treeClones;
+	private Clones contentClones;
+	private byte attachedCloneTypes;
 
 	void setClones(Clones clones) {
-		this.clones[clones.getCloneType().ordinal()] = clones;
+		final CloneType cloneType = clones.getCloneType();
+		setClonesField(cloneType, isOnlyClone(clones) ? null : clones);
+		if(clones.size() != 0)
+			attachedCloneTypes |= cloneTypeBit(cloneType);
+		else
+			attachedCloneTypes &= ~cloneTypeBit(cloneType);
 		for(NodeModel clone : clones)
 			clone.fireNodeChanged(new NodeChangeEvent(this, NodeModel.UNKNOWN_PROPERTY, null, null, false, false));
 	}
 
+	private boolean isOnlyClone(Clones clones) {
+		if(clones instanceof SingleNodeList)
+			return clones.head() == this;
+		else
+			return clones instanceof DetachedNodeList && ((DetachedNodeList)clones).isOnlyClone(this);
+	}
+
+	private void setClonesField(CloneType cloneType, Clones clones) {
+		if(cloneType == TREE)
+			treeClones = clones;
+		else
+			contentClones = clones;
+	}
+
+	private static int cloneTypeBit(CloneType cloneType) {
+		return 1 << cloneType.ordinal();
+	}
+
 	public Object getUserObject() {
 		return sharedData.getUserObject();
 	}
@@ -100,24 +127,27 @@ public class NodeModel{
 
 	public NodeModel(final Object userObject, final MapModel map) {
 		this.map = map;
-		children = new ArrayList<NodeModel>();
+		children = NO_CHILDREN;
 		sharedData = new SharedNodeData();
 		side = Side.DEFAULT;
 		init(userObject);
-		clones = new Clones[]{new DetachedNodeList(this, TREE), new DetachedNodeList(this, CONTENT)};
 	}
 
 	private NodeModel(NodeModel toBeCloned, CloneType cloneType){
 		this.map = toBeCloned.map;
 		this.sharedData = toBeCloned.sharedData;
-		children = new ArrayList<NodeModel>();
-		clones = new Clones[]{new DetachedNodeList(this, cloneType == TREE ? toBeCloned : this, TREE), new DetachedNodeList(this, toBeCloned, CONTENT)};
+		children = NO_CHILDREN;
+		if(cloneType == TREE)
+			treeClones = new DetachedNodeList(this, toBeCloned, TREE);
+		contentClones = new DetachedNodeList(this, toBeCloned, CONTENT);
 		side = Side.DEFAULT;
 	}
 
 	protected void init(final Object userObject) {
 		setUserObject(userObject);
-		setHistoryInformation(new HistoryInformationModel());
+		final long now = System.currentTimeMillis();
+		setCreationTime(now);
+		setModificationTime(now);
 	}
 
 	public void acceptViewVisitor(final INodeViewVisitor visitor) {
@@ -162,9 +192,48 @@ public class NodeModel{
 	}
 
 	protected List<NodeModel> getChildrenInternal() {
+		loadDeferredChildren();
 		return children;
 	}
 
+	/**
+	 * Leaves share an immutable empty list,
+	 * so the children must be added to the list returned by this method.
+	 */
+	protected List<NodeModel> getModifiableChildrenInternal() {
+		loadDeferredChildren();
+		if (children == NO_CHILDREN) {
+			children = new ArrayList<NodeModel>();
+		}
+		return children;
+	}
+
+	DeferredChildren getDeferredChildren() {
+		return deferredChildren;
+	}
+
+	void setDeferredChildren(DeferredChildren deferredChildren) {
+		this.deferredChildren = deferredChildren;
+	}
+
+	private void loadDeferredChildren() {
+		if (deferredChildren != null) {
+			final DeferredChildren loadedChildren = deferredChildren;
+			deferredChildren = null;
+			final List<NodeModel> loaded = loadedChildren.load(this);
+			if (loaded.isEmpty()) {
+				return;
+			}
+			if (children == NO_CHILDREN) {
+				children = new ArrayList<NodeModel>(loaded.size());
+			}
+			for (final NodeModel child : loaded) {
+				children.add(child);
+				child.setParent(this);
+			}
+		}
+	}
+
 	protected void setChildrenInternal(List<NodeModel> chidren) {
 		this.children = chidren;
 	}
@@ -185,7 +254,8 @@ public class NodeModel{
 	}
 
 	public boolean containsExtension(final Class<? extends IExtension> clazz) {
-		return getExtensionContainer().containsExtension(clazz);
+		final ExtensionContainer extensionContainer = sharedData.getExistingExtensionContainer();
+		return extensionContainer != null && extensionContainer.containsExtension(clazz);
 	}
 
 	public String createID() {
@@ -216,7 +286,7 @@ public class NodeModel{
 
 	void fireNodeChanged(INodeChangeListener[] nodeChangeListeners, final NodeChangeEvent nodeChangeEvent) {
 	    AccessController.doPrivileged( (PrivilegedAction<Void>) () -> {
-	        for(NodeModel node : clones[CONTENT.ordinal()]){
+	        for(NodeModel node : clones(CONTENT)){
 	            final NodeChangeEvent cloneEvent = nodeChangeEvent.forNode(node);
 	            node.fireSingleNodeChanged(nodeChangeListeners, cloneEvent);
 	        }
@@ -286,6 +356,9 @@ public class NodeModel{
 	}
 
 	public int getChildCount() {
+		if (deferredChildren != null) {
+			return deferredChildren.size();
+		}
 		if (getChildrenInternal() == null) {
 			return 0;
 		}
@@ -304,23 +377,36 @@ public class NodeModel{
 	}
 
 	public <T extends IExtension> T getExtension(final Class<T> clazz) {
-		return getExtensionContainer().getExtension(clazz);
+		final ExtensionContainer extensionContainer = sharedData.getExistingExtensionContainer();
+		return extensionContainer != null ? extensionContainer.getExtension(clazz) : null;
 	}
 
 	public Map<Class<? extends IExtension>, IExtension> getSharedExtensions() {
-		return getExtensionContainer().getExtensions();
+		final ExtensionContainer extensionContainer = sharedData.getExistingExtensionContainer();
+		return extensionContainer != null ? extensionContainer.getExtensions() : Collections.emptyMap();
 	}
 
 	public HistoryInformationModel getHistoryInformation() {
 		return sharedData.getHistoryInformation();
 	}
 
+	/** @return creation time in milliseconds, read without creating history information */
+	public long getCreationTime() {
+		return sharedData.getCreatedAt();
+	}
+
+	/** @return last modification time in milliseconds, read without creating history information */
+	public long getModificationTime() {
+		return sharedData.getLastModifiedAt();
+	}
+
 	public NamedIcon getIcon(final int position) {
-		return getIconModel().getIcon(position);
+		return getIcons().get(position);
 	}
 
 	public List<NamedIcon> getIcons() {
-		return getIconModel().getIcons();
+		final NodeIconSetModel iconModel = sharedData.getExistingIcons();
+		return iconModel != null ? iconModel.getIcons() : Collections.emptyList();
 	}
 
 	public String getID() {
@@ -328,6 +414,7 @@ public class NodeModel{
 	}
 
 	public int getIndex(final NodeModel node) {
+		loadDeferredChildren();
 		return children.indexOf(node);
 	}
 
@@ -335,6 +422,16 @@ public class NodeModel{
 		return map;
 	}
 
+	/**
+	 * Small number unique within the map, assigned on first call.
+	 * Allows to keep data about all map nodes in arrays instead of hash maps.
+	 */
+	public int getIndexInMap() {
+		if (indexInMap < 0)
+			indexInMap = map.nextNodeIndex();
+		return indexInMap;
+	}
+
 	public int getNodeLevel() {
 		return getNodeLevel(true, null);
 	}
@@ -403,6 +500,7 @@ public class NodeModel{
 	}
 
 	public void insert(final NodeModel child, int index) {
+		final List<NodeModel> children = getModifiableChildrenInternal();
 		if (index < 0) {
 			index = getChildCount();
 			children.add(index, child);
@@ -498,6 +596,7 @@ public class NodeModel{
 	}
 
 	public void remove(final int index) {
+	    loadDeferredChildren();
 	    final NodeModel child = children.get(index);
 	    firePreNodeDeleted(child, index);
 	    child.setParent(null);
@@ -514,11 +613,13 @@ public class NodeModel{
     }
 
 	public <T extends IExtension> T removeExtension(final Class<T> clazz){
-		return getExtensionContainer().removeExtension(clazz);
+		final ExtensionContainer extensionContainer = sharedData.getExistingExtensionContainer();
+		return extensionContainer != null ? extensionContainer.removeExtension(clazz) : null;
 	}
 
 	public boolean removeExtension(final IExtension extension) {
-		return getExtensionContainer().removeExtension(extension);
+		final ExtensionContainer extensionContainer = sharedData.getExistingExtensionContainer();
+		return extensionContainer != null && extensionContainer.removeExtension(extension);
 	}
 
 	/**
@@ -550,6 +651,8 @@ public class NodeModel{
 			sharedData.setFolded(folded && ! AlwaysUnfoldedNode.isAlwaysUnfolded(this));
 		}
 		boolean isFoldedNow = isFolded();
+		if (wasFolded != isFoldedNow)
+			BranchXmlCache.invalidate(this);
 		fireNodeChanged(new NodeChangeEvent(this, NodeChangeType.FOLDING, Boolean.valueOf(wasFolded), Boolean.valueOf(isFoldedNow), false, false));
 	}
 
@@ -557,6 +660,14 @@ public class NodeModel{
 		this.sharedData.setHistoryInformation(historyInformation);
 	}
 
+	public void setCreationTime(final long creationTime) {
+		sharedData.setCreatedAt(creationTime);
+	}
+
+	public void setModificationTime(final long modificationTime) {
+		sharedData.setLastModifiedAt(modificationTime);
+	}
+
 	public void setID(final String value) {
 		id = value;
 		getMap().registryID(value, this);
@@ -564,7 +675,7 @@ public class NodeModel{
 
 	public void setSide(Side side) {
 		if(isCloneTreeNode()) {
-			for(NodeModel node : clones[TREE.ordinal()]){
+			for(NodeModel node : clones(TREE)){
 				node.side = side;
 			}
 		}
@@ -573,6 +684,7 @@ public class NodeModel{
 	}
 
 	public void setChildNodeSidesAsNow() {
+		loadDeferredChildren();
 		children.forEach(child -> {
 			if(child.getSide() == Side.DEFAULT)
 				child.setSide(child.isTopOrLeft(this) ? Side.TOP_OR_LEFT : Side.BOTTOM_OR_RIGHT);
@@ -581,7 +693,10 @@ public class NodeModel{
 	/**
 	 */
 	public void setMap(final MapModel map) {
+		if (this.map != map)
+			indexInMap = -1;
 		this.map = map;
+		loadDeferredChildren();
 		for (final NodeModel child : children) {
 			child.setMap(map);
 		}
@@ -603,8 +718,8 @@ public class NodeModel{
 	}
 
 	private void attachClones() {
-		for(Clones clonesGroup : clones)
-			clonesGroup.attach();
+		for(CloneType cloneType : CloneType.values())
+			clones(cloneType).attach();
 	}
 
 	private void detach() {
@@ -614,13 +729,13 @@ public class NodeModel{
 	}
 
 	private void detachClones() {
-		for(Clones clonesGroup : clones)
-			clonesGroup.detach(this);
+		for(CloneType cloneType : CloneType.values())
+			clones(cloneType).detach(this);
 	}
 
 
 	boolean isAttached() {
-		return clones[0].size() != 0;
+		return cloneCount(TREE) != 0;
 	}
 
 	public final void setText(final String text) {
@@ -695,8 +810,8 @@ public class NodeModel{
 	public void convertToClone(NodeModel node, CloneType cloneType) {
 		sharedData = node.sharedData;
 		if(cloneType == TREE)
-			this.clones[TREE.ordinal()] = new DetachedNodeList(this, node, TREE);
-		this.clones[CONTENT.ordinal()] = new DetachedNodeList(this, node, CONTENT);
+			setClones(new DetachedNodeList(this, node, TREE));
+		setClones(new DetachedNodeList(this, node, CONTENT));
 	}
 
 	public  Clones subtreeClones() {
@@ -708,7 +823,21 @@ public class NodeModel{
 	}
 
 	Clones clones(final CloneType cloneType) {
-		return clones[cloneType.ordinal()];
+		final Clones clones = cloneType == TREE ? treeClones : contentClones;
+		if(clones != null)
+			return clones;
+		else if((attachedCloneTypes & cloneTypeBit(cloneType)) != 0)
+			return new SingleNodeList(this, cloneType);
+		else
+			return new DetachedNodeList(this, cloneType);
+	}
+
+	private int cloneCount(final CloneType cloneType) {
+		final Clones clones = cloneType == TREE ? treeClones : contentClones;
+		if(clones != null)
+			return clones.size();
+		else
+			return (attachedCloneTypes & cloneTypeBit(cloneType)) != 0 ? 1 : 0;
 	}
 
 	public boolean subtreeContainsCloneOf(NodeModel node) {
@@ -738,16 +867,16 @@ public class NodeModel{
 	}
 
 	public boolean isCloneTreeRootOrContentClone(){
-		return parent != null && parent.clones[TREE_CLONE_INDEX].size() < clones[TREE_CLONE_INDEX].size()
-				||  clones[CONTENT_CLONE_INDEX].size() > clones[TREE_CLONE_INDEX].size();
+		return parent != null && parent.cloneCount(TREE) < cloneCount(TREE)
+				||  cloneCount(CONTENT) > cloneCount(TREE);
 	}
 
 	public boolean isCloneTreeNode(){
-		return parent != null && clones[TREE_CLONE_INDEX].size() > 1 && parent.clones[TREE_CLONE_INDEX].size() == clones[TREE_CLONE_INDEX].size();
+		return parent != null && cloneCount(TREE) > 1 && parent.cloneCount(TREE) == cloneCount(TREE);
 	}
 
 	public boolean isCloneNode() {
-		return clones[TREE_CLONE_INDEX].size() > 1 || clones[CONTENT_CLONE_INDEX].size() > 1;
+		return cloneCount(TREE) > 1 || cloneCount(CONTENT) > 1;
 	}
 
 	public int nextNodeIndex(NodeModel root, int index, final boolean leftSide) {
@@ -783,12 +912,15 @@ public class NodeModel{
 		SharedNodeData sharedDataSwap = sharedData;
 		this.sharedData = duplicate.sharedData;
 		duplicate.sharedData = sharedDataSwap;
-		Clones[] clonesSwap = clones;
-		this.clones = duplicate.clones;
-		duplicate.clones = clonesSwap;
+		final Clones treeClonesSwap = treeClones;
+		final Clones contentClonesSwap = contentClones;
+		this.treeClones = duplicate.treeClones;
+		this.contentClones = duplicate.contentClones;
+		duplicate.treeClones = treeClonesSwap;
+		duplicate.contentClones = contentClonesSwap;
 		for(CloneType cloneType : CloneType.values()) {
-			final DetachedNodeList detachedClone = (DetachedNodeList) clones[cloneType.ordinal()];
-			clones[cloneType.ordinal()] = detachedClone.forClone(this);
+			final DetachedNodeList detachedClone = (DetachedNodeList) clones(cloneType);
+			setClones(detachedClone.forClone(this));
 		}
 
 		this.attachClones();
@@ -799,6 +931,7 @@ public class NodeModel{
 	}
 
 	public boolean childSubtreesHaveVisibleContent(Filter filter) {
+		loadDeferredChildren();
 		return children.stream().anyMatch(child -> child.subtreeHasVisibleContent(filter));
 	}
 
@@ -80,7 +80,7 @@ public class NodeWriter implements IElementWriter, IAttributeWriter {
 		for (final NodeModel child: node.getChildren()) {
 		if (copiedNodeSet == CopiedNodeSet.ALL_NODES || child.hasVisibleContent(FilterController.getFilter(node.getMap()))) {
 				writer.setHint(WriterHint.ALREADY_WRITTEN, isAlreadyWritten(child));
-				writer.addElement(child, nodeTag);
+				saveChild(writer, child);
 			}
 			else {
 				saveChildren(writer, child);
@@ -88,6 +88,25 @@ public class NodeWriter implements IElementWriter, IAttributeWriter {
 		}
 	}
 
+	private void saveChild(final ITreeWriter writer, final NodeModel child) throws IOException {
+		final BranchXmlRecorder branchRecorder = branchRecorder(writer);
+		if (branchRecorder != null && writer instanceof TreeXmlWriter && child.hasChildren()) {
+			((TreeXmlWriter) writer).startElementContent();
+			if (! branchRecorder.copyCachedBranch(child)) {
+				branchRecorder.beginBranch();
+				writer.addElement(child, nodeTag);
+				branchRecorder.endBranch(child);
+			}
+		}
+		else
+			writer.addElement(child, nodeTag);
+	}
+
+	private BranchXmlRecorder branchRecorder(final ITreeWriter writer) {
+		final Object branchRecorder = writer.getHint(Hint.BRANCH_RECORDER);
+		return branchRecorder instanceof BranchXmlRecorder ? (BranchXmlRecorder) branchRecorder : null;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see
@@ -109,6 +128,11 @@ public class NodeWriter implements IElementWriter, IAttributeWriter {
 		mayWriteChildren = true;
 		final Object mode = mode(writer);
 		final boolean isNodeAlreadyWritten = isAlreadyWritten(node);
+		if (encryptionModel != null || node.isCloneNode()) {
+			final BranchXmlRecorder branchRecorder = branchRecorder(writer);
+			if (branchRecorder != null)
+				branchRecorder.excludeCurrentBranch();
+		}
 		if (encryptionModel != null && !(encryptionModel.isAccessible() && Mode.EXPORT.equals(mode)) && ! isNodeAlreadyWritten) {
         	final String enctyptedContent = encryptionModel.calculateEncryptedContent(mapController.getMapWriter());
         	if(enctyptedContent != null){
@@ -135,13 +159,10 @@ public class NodeWriter implements IElementWriter, IAttributeWriter {
 		}
 		if(! isNodeAlreadyWritten){
 			if (!mode.equals(Mode.STYLE)
-					&& node.getHistoryInformation() != null
 					&& ResourceController.getResourceController().getBooleanProperty(
 						NodeBuilder.RESOURCES_SAVE_MODIFICATION_TIMES)) {
-				writer.addAttribute(NodeBuilder.XML_NODE_HISTORY_CREATED_AT, TreeXmlWriter.dateToString(node
-					.getHistoryInformation().getCreatedAt()));
-				writer.addAttribute(NodeBuilder.XML_NODE_HISTORY_LAST_MODIFIED_AT, TreeXmlWriter.dateToString(node
-					.getHistoryInformation().getLastModifiedAt()));
+				writer.addAttribute(NodeBuilder.XML_NODE_HISTORY_CREATED_AT, Long.toString(node.getCreationTime()));
+				writer.addAttribute(NodeBuilder.XML_NODE_HISTORY_LAST_MODIFIED_AT, Long.toString(node.getModificationTime()));
 			}
 		}
 		if(! isNodeAlreadyWritten || Mode.EXPORT.equals(mode)) {
@@ -159,7 +180,7 @@ public class NodeWriter implements IElementWriter, IAttributeWriter {
 			final IconController iconController = IconController.getController();
 			iconSize = iconController.getIconSize(node, StyleOption.FOR_UNSELECTED_NODE);
 		} else
-			iconSize = node.getSharedData().getIcons().getIconSize();
+			iconSize = node.getSharedData().getIconSize();
 		if (iconSize != null) {
 			writer.addAttribute("ICON_SIZE", iconSize.toString());
 		}
@@ -204,6 +225,9 @@ public class NodeWriter implements IElementWriter, IAttributeWriter {
 		if (mayWriteChildren && shouldWriteChildren && node.getChildren().size()>0) {
 			saveChildren(writer, node);
 		}
+		if (mayWriteChildren && shouldWriteChildren && copiedNodeSet == CopiedNodeSet.ALL_NODES) {
+			DeferredChildren.writeUnreadBranches(writer, node);
+		}
 	}
 
 	private Object mode(final ITreeWriter writer) {
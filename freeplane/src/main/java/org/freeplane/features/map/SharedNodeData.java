@@ -19,6 +19,10 @@
  */
 package org.freeplane.features.map;
 
+import java.util.Date;
+
+import org.freeplane.api.LengthUnit;
+import org.freeplane.api.Quantity;
 import org.freeplane.core.extension.ExtensionContainer;
 import org.freeplane.core.extension.SmallExtensionMap;
 import org.freeplane.core.util.HtmlUtils;
@@ -28,35 +32,111 @@ import org.freeplane.features.text.RichTextModel;
  * @author  Dimitry Polivaev 05.02.2014
  */
 public class SharedNodeData {
-	final private ExtensionContainer extensionContainer;
-	private HistoryInformationModel historyInformation;
-	final private NodeIconSetModel icons;
+	private static class SharedHistoryInformation extends HistoryInformationModel {
+		private final SharedNodeData data;
+
+		SharedHistoryInformation(SharedNodeData data) {
+			super(0, 0);
+			this.data = data;
+		}
+
+		@Override
+		public Date getCreatedAt() {
+			return new Date(data.createdAt);
+		}
+
+		@Override
+		public Date getLastModifiedAt() {
+			return new Date(data.lastModifiedAt);
+		}
+
+		@Override
+		public void setCreatedAt(Date createdAt) {
+			data.createdAt = createdAt.getTime();
+		}
+
+		@Override
+		public void setLastModifiedAt(Date lastModifiedAt) {
+			data.lastModifiedAt = lastModifiedAt.getTime();
+		}
+
+		@Override
+		public boolean isSet() {
+			return data.createdAt != 0 || data.lastModifiedAt != 0;
+		}
+	}
+
+	/* Extension container and icons are allocated on first modification,
+	 * history information is kept as primitive timestamps,
+	 * because maps can contain hundreds of thousands of nodes without them. */
+	private ExtensionContainer extensionContainer;
+	private NodeIconSetModel icons;
+	private long createdAt;
+	private long lastModifiedAt;
 	private Object userObject;
 	private String xmlText;
 	private boolean folded;
 
 	public SharedNodeData() {
-		extensionContainer = new ExtensionContainer(new SmallExtensionMap());
-		icons = new NodeIconSetModel();
 		folded = false;
 	}
 
 	public ExtensionContainer getExtensionContainer() {
+		if (extensionContainer == null)
+			extensionContainer = new ExtensionContainer(new SmallExtensionMap());
 		return extensionContainer;
 	}
 
+	ExtensionContainer getExistingExtensionContainer() {
+		return extensionContainer;
+	}
+
+	/** Returns a new view writing through to the timestamps, use {@link #getCreatedAt()} for reading them. */
 	public HistoryInformationModel getHistoryInformation() {
-		return historyInformation;
+		return new SharedHistoryInformation(this);
+	}
+
+	long getCreatedAt() {
+		return createdAt;
+	}
+
+	void setCreatedAt(long createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	long getLastModifiedAt() {
+		return lastModifiedAt;
+	}
+
+	void setLastModifiedAt(long lastModifiedAt) {
+		this.lastModifiedAt = lastModifiedAt;
 	}
 
 	public void setHistoryInformation(HistoryInformationModel historyInformation) {
-		this.historyInformation = historyInformation;
+		if (historyInformation != null) {
+			createdAt = historyInformation.getCreatedAt().getTime();
+			lastModifiedAt = historyInformation.getLastModifiedAt().getTime();
+		}
+		else {
+			createdAt = 0;
+			lastModifiedAt = 0;
+		}
 	}
 
 	public NodeIconSetModel getIcons() {
+		if (icons == null)
+			icons = new NodeIconSetModel();
+		return icons;
+	}
+
+	NodeIconSetModel getExistingIcons() {
 		return icons;
 	}
 
+	public Quantity<LengthUnit> getIconSize() {
+		return icons != null ? icons.getIconSize() : null;
+	}
+
 	public Object getUserObject() {
 		return userObject;
 	}
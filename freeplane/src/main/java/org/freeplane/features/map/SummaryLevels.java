@@ -1,6 +1,7 @@
 package org.freeplane.features.map;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -21,6 +22,7 @@ public class SummaryLevels{
 	public  final boolean[] sides;
 	private final NodeModel parentNode;
 	private final NodeModel root;
+	private int[] summaryNodeIndexes;
 	
 	public SummaryLevels(NodeModel root, NodeModel parentNode) {
 		this(root, parentNode, TRANSPARENT_FILTER, false);
@@ -106,19 +108,35 @@ public class SummaryLevels{
 	}
 
 	public int findSummaryNodeIndex(int index) {
-		final int nodeLevel = summaryLevels[index];
-		final boolean leftSide = parentNode.getChildAt(index).isTopOrLeft(root);
-		for (int i = index + 1; i < parentNode.getChildCount(); i++){
+		if(summaryNodeIndexes == null)
+			summaryNodeIndexes = findSummaryNodeIndexes();
+		return summaryNodeIndexes[index];
+	}
+
+	private int[] findSummaryNodeIndexes() {
+		final int childCount = summaryLevels.length;
+		final int[] summaryNodeIndexes = new int[childCount];
+		final int[] nextFirstGroupNodeIndexes = new int[highestSummaryLevel + 1];
+		final int[][] nextHigherLevelNodeIndexes = new int[2][highestSummaryLevel + 1];
+		Arrays.fill(nextFirstGroupNodeIndexes, NODE_NOT_FOUND);
+		Arrays.fill(nextHigherLevelNodeIndexes[0], NODE_NOT_FOUND);
+		Arrays.fill(nextHigherLevelNodeIndexes[1], NODE_NOT_FOUND);
+		for (int i = childCount - 1; i >= 0; i--){
+			final NodeModel child = parentNode.getChildAt(i);
 			final int level = summaryLevels[i];
-			if(level == nodeLevel && SummaryNode.isFirstGroupNode(parentNode.getChildAt(i)))
-				return NODE_NOT_FOUND;
-			if(level > nodeLevel) {
-				final NodeModel summaryNode = parentNode.getChildAt(i);
-				if(summaryNode.isTopOrLeft(root) == leftSide)
-					return i;
-			}
+			final int[] nextHigherLevelNodeIndexesOnSide = nextHigherLevelNodeIndexes[child.isTopOrLeft(root) ? 1 : 0];
+			final int summaryNodeIndex = nextHigherLevelNodeIndexesOnSide[level];
+			final int firstGroupNodeIndex = nextFirstGroupNodeIndexes[level];
+			if(firstGroupNodeIndex != NODE_NOT_FOUND && firstGroupNodeIndex < summaryNodeIndex)
+				summaryNodeIndexes[i] = NODE_NOT_FOUND;
+			else
+				summaryNodeIndexes[i] = summaryNodeIndex;
+			if(SummaryNode.isFirstGroupNode(child))
+				nextFirstGroupNodeIndexes[level] = i;
+			for (int lowerLevel = 0; lowerLevel < level; lowerLevel++)
+				nextHigherLevelNodeIndexesOnSide[lowerLevel] = i;
 		}
-		return NODE_NOT_FOUND;
+		return summaryNodeIndexes;
 	}
 	
 	public NodeModel findGroupBeginNode(int index) {
@@ -20,7 +20,6 @@
 package org.freeplane.features.map.clipboard;
 
 import java.awt.datatransfer.Transferable;
-import java.awt.datatransfer.UnsupportedFlavorException;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -88,11 +87,7 @@ public class MapClipboardController implements IExtension, ClipboardController,
 		try {
 			final String forNodesFlavor = createForNodesFlavor(selectedNodes, copiedNodeSet);
 			final String plainText = MindMapPlainTextWriter.INSTANCE.getAsPlainText(selectedNodes, copiedTextNodeSet);
-			return new MindMapNodesSelection(forNodesFlavor, plainText,
-			    getAsHTML(selectedNodes));
-		}
-		catch (final UnsupportedFlavorException ex) {
-			LogUtils.severe(ex);
+			return new MindMapNodesSelection(forNodesFlavor, plainText, getAsHTML(selectedNodes));
 		}
 		catch (final IOException ex) {
 			LogUtils.severe(ex);
@@ -107,8 +102,7 @@ public class MapClipboardController implements IExtension, ClipboardController,
 	public Transferable copy(final NodeModel node, CopiedNodeSet copiedNodeSet) {
 		final StringWriter stringWriter = new StringWriter();
 		try {
-			Controller.getCurrentModeController().getMapController().getMapWriter().writeNodeAsXml(stringWriter, node, Mode.CLIPBOARD,
-			    copiedNodeSet, true, false);
+			writeNodeAsXml(stringWriter, node, copiedNodeSet);
 		}
 		catch (final IOException e) {
 			LogUtils.severe(e);
@@ -116,6 +110,11 @@ public class MapClipboardController implements IExtension, ClipboardController,
 		return new MindMapNodesSelection(stringWriter.toString());
 	}
 
+	private void writeNodeAsXml(final Writer writer, final NodeModel node, CopiedNodeSet copiedNodeSet) throws IOException {
+		Controller.getCurrentModeController().getMapController().getMapWriter().writeNodeAsXml(writer, node, Mode.CLIPBOARD,
+		    copiedNodeSet, true, false);
+	}
+
 	public Transferable copySingle(final Collection<NodeModel> source) {
 		final int size = source.size();
 		final Vector<NodeModel> target = new Vector<NodeModel>(size);
@@ -141,19 +140,19 @@ public class MapClipboardController implements IExtension, ClipboardController,
 	}
 
 	public String createForNodesFlavor(final Collection<NodeModel> selectedNodes , CopiedNodeSet copiedNodeSet)
-	        throws UnsupportedFlavorException, IOException {
-		String forNodesFlavor = "";
+	        throws IOException {
+		final StringWriter forNodesFlavor = new StringWriter();
 		boolean firstLoop = true;
 		for (final NodeModel tmpNode : selectedNodes) {
 			if (firstLoop) {
 				firstLoop = false;
 			}
 			else {
-				forNodesFlavor += "<nodeseparator>";
+				forNodesFlavor.write(NODESEPARATOR);
 			}
-			forNodesFlavor += copy(tmpNode, copiedNodeSet).getTransferData(MindMapNodesSelection.mindMapNodesFlavor);
+			writeNodeAsXml(forNodesFlavor, tmpNode, copiedNodeSet);
 		}
-		return forNodesFlavor;
+		return forNodesFlavor.toString();
 	}
 
 	public String getAsHTML(final Collection<NodeModel> selectedNodes) {
@@ -56,6 +56,10 @@ public class MindMapNodesSelection implements Transferable, ClipboardOwner {
 	private Collection<NodeModel> nodes;
 	private boolean selectionContainsSingleNodes;
 
+	/**
+	 * All contents are created when the nodes are copied,
+	 * so that they are not affected by later changes and can be read on any thread.
+	 */
 	public MindMapNodesSelection(final String nodesContent, final String stringContent,
 	                             final String htmlContent) {
 		this.nodesContent = nodesContent;
@@ -69,7 +73,7 @@ public class MindMapNodesSelection implements Transferable, ClipboardOwner {
     }
 
 	public Object getTransferData(final DataFlavor flavor) throws UnsupportedFlavorException {
-		if (flavor.equals(DataFlavor.stringFlavor)) {
+		if (flavor.equals(DataFlavor.stringFlavor) && stringContent != null) {
 			return stringContent;
 		}
 		if (flavor.equals(MindMapNodesSelection.mindMapNodesFlavor)) {
@@ -165,6 +165,16 @@ class SingleCopySource extends NodeModel {
 	    return delegate.getHistoryInformation();
     }
 
+	@Override
+    public long getCreationTime() {
+	    return delegate.getCreationTime();
+    }
+
+	@Override
+    public long getModificationTime() {
+	    return delegate.getModificationTime();
+    }
+
 	@Override
     public NamedIcon getIcon(int position) {
 	    return delegate.getIcon(position);
@@ -303,6 +313,16 @@ class SingleCopySource extends NodeModel {
 		throw new RuntimeException(METHOD_NOT_SUPPORTED);
     }
 
+	@Override
+    public void setCreationTime(long creationTime) {
+		throw new RuntimeException(METHOD_NOT_SUPPORTED);
+    }
+
+	@Override
+    public void setModificationTime(long modificationTime) {
+		throw new RuntimeException(METHOD_NOT_SUPPORTED);
+    }
+
 	@Override
     public void setID(String value) {
 		throw new RuntimeException(METHOD_NOT_SUPPORTED);
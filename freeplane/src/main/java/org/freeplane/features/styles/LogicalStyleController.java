@@ -20,7 +20,6 @@
 package org.freeplane.features.styles;
 
 import java.awt.Component;
-import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -41,6 +40,7 @@ import org.freeplane.core.util.HtmlUtils;
 import org.freeplane.core.util.TextUtils;
 import org.freeplane.features.filter.condition.ASelectableCondition;
 import org.freeplane.features.map.IMapChangeListener;
+import org.freeplane.features.map.IMapLifeCycleListener;
 import org.freeplane.features.map.INodeChangeListener;
 import org.freeplane.features.map.ITooltipProvider;
 import org.freeplane.features.map.MapChangeEvent;
@@ -68,9 +68,8 @@ public class LogicalStyleController implements IExtension {
 	public static enum StyleOption{FOR_SELECTED_NODE, FOR_UNSELECTED_NODE, STYLES_ONLY}
 
     private static final int STYLE_TOOLTIP = 0;
-	private WeakReference<NodeModel> cachedNode;
-    private Collection<IStyle>  cachedStyles;
-    private List<IStyle>  cachedStylesForSeletedNode;
+	private final ResolvedStylesCache resolvedStylesCache = new ResolvedStylesCache();
+	private int resolutionDepth = 0;
 	final private CombinedPropertyChain<Collection<IStyle>, NodeModel> styleHandlers;
 
 	public LogicalStyleController(ModeController modeController) {
@@ -106,7 +105,7 @@ public class LogicalStyleController implements IExtension {
 			public String getTooltip(ModeController modeController, NodeModel node, Component view) {
 				if(!ResourceController.getResourceController().getBooleanProperty("show_styles_in_tooltip"))
 					return null;
-				final Collection<IStyle> styles = getStyles(node, StyleOption.FOR_UNSELECTED_NODE);
+				final Collection<IStyle> styles = new ArrayList<>(getStyles(node, StyleOption.FOR_UNSELECTED_NODE));
 				if(styles.size() > 0)
 					styles.remove(styles.iterator().next());
 				final String label = TextUtils.getText("node_styles");
@@ -151,7 +150,6 @@ public class LogicalStyleController implements IExtension {
 			if(conditionalStyleModel == null)
 				return;
 			Collection<IStyle> styles = conditionalStyleModel.getStyles(node);
-			cachedNode = null;
 			addAll(node, styleModel, currentValue, styles);
     }
 
@@ -160,32 +158,44 @@ public class LogicalStyleController implements IExtension {
 		final MapController mapController = modeController.getMapController();
 		mapController.addMapChangeListener(new IMapChangeListener() {
 			public void onPreNodeMoved(NodeMoveEvent nodeMoveEvent) {
-				clearCache();
+				clearCache(nodeMoveEvent.oldParent.getMap());
 			}
 
 			public void onPreNodeDelete(NodeDeletionEvent nodeDeletionEvent) {
-				clearCache();
+				clearCache(nodeDeletionEvent.node.getMap());
 			}
 
 			public void onNodeMoved(NodeMoveEvent nodeMoveEvent) {
-				clearCache();
+				clearCache(nodeMoveEvent.newParent.getMap());
 			}
 
 			public void onNodeInserted(NodeModel parent, NodeModel child, int newIndex) {
-				clearCache();
+				clearCache(parent.getMap());
 			}
 
 			public void onNodeDeleted(NodeDeletionEvent nodeDeletionEvent) {
-				clearCache();
+				clearCache(nodeDeletionEvent.node.getMap());
 			}
 
 			public void mapChanged(MapChangeEvent event) {
-				clearCache();
+				resolvedStylesCache.clear();
 			}
 		});
 		mapController.addNodeChangeListener(new INodeChangeListener() {
 			public void nodeChanged(NodeChangeEvent event) {
-				clearCache();
+				final NodeModel node = event.getNode();
+				if(node.getMap() instanceof StyleMapModel)
+					resolvedStylesCache.clear();
+				else {
+					resolvedStylesCache.remove(node);
+					if(! isConditionalStyleRefresh(event))
+						resolvedStylesCache.removeDependentNodes(node, getConditionalStyleModels(node.getMap()));
+				}
+			}
+		});
+		mapController.addMapLifeCycleListener(new IMapLifeCycleListener() {
+			public void onRemove(MapModel map) {
+				resolvedStylesCache.clear();
 			}
 		});
 
@@ -310,18 +320,28 @@ public class LogicalStyleController implements IExtension {
 		return MapStyleModel.DEFAULT_STYLE;
 	}
 	public Collection<IStyle>  getStyles(final NodeModel node, StyleOption option) {
-		if(cachedNode == null || !node.equals(cachedNode.get())) {
-		    cachedStyles = null;
-		    cachedNode = null;
-		    cachedStyles = styleHandlers.getProperty(node, option, new LinkedHashSet<IStyle>());
-		    cachedNode = new WeakReference<NodeModel>(node);
-		    cachedStylesForSeletedNode = new ArrayList<>(cachedStyles.size() + 1);
-		    cachedStylesForSeletedNode.add(MapStyleModel.SELECTION_STYLE);
-		    cachedStylesForSeletedNode.addAll(cachedStyles);
+		ResolvedStylesCache.ResolvedStyles styles = resolvedStylesCache.get(node);
+		if(styles == null) {
+			resolutionDepth++;
+			try {
+				styles = new ResolvedStylesCache.ResolvedStyles(styleHandlers.getProperty(node, option, new LinkedHashSet<IStyle>()));
+			}
+			finally {
+				resolutionDepth--;
+			}
+			// styles requested by conditions while resolving other styles lack the conditional styles being evaluated
+			if(resolutionDepth == 0)
+				resolvedStylesCache.put(node, styles);
 		}
-		return option == StyleOption.FOR_SELECTED_NODE ? cachedStylesForSeletedNode :
-		    option == StyleOption.FOR_UNSELECTED_NODE ? cachedStyles :
-		        cachedStylesForSeletedNode.subList(2, cachedStylesForSeletedNode.size())    ;
+		return styles.get(option);
+	}
+
+	public long getStyleCacheHitCount() {
+		return resolvedStylesCache.getHitCount();
+	}
+
+	public long getStyleCacheMissCount() {
+		return resolvedStylesCache.getMissCount();
 	}
 
 	public void moveConditionalStyleDown(final ConditionalStyleModel conditionalStyleModel, int index) {
@@ -366,10 +386,32 @@ public class LogicalStyleController implements IExtension {
 		conditionalStyleModel.setLast(index, isLast);
 	}
 
-	private void clearCache() {
-	    cachedStyles = null;
-	    cachedNode = null;
-    }
+	private void clearCache(final MapModel map) {
+		if(map instanceof StyleMapModel)
+			resolvedStylesCache.clear();
+		else
+			resolvedStylesCache.clear(map);
+	}
+
+	private List<ConditionalStyleModel> getConditionalStyleModels(final MapModel map) {
+		final List<ConditionalStyleModel> conditionalStyleModels = new ArrayList<>();
+		if(map.getRootNode() == null)
+			return conditionalStyleModels;
+		final MapStyleModel styleModel = MapStyleModel.getExtension(map);
+		if(styleModel.getConditionalStyleModel().getStyleCount() > 0)
+			conditionalStyleModels.add(styleModel.getConditionalStyleModel());
+		for(IStyle style : styleModel.getStyles()) {
+			final NodeModel styleNode = styleModel.getStyleNode(style);
+			final ConditionalStyleModel conditionalStyleModel = styleNode != null ? styleNode.getExtension(ConditionalStyleModel.class) : null;
+			if(conditionalStyleModel != null && conditionalStyleModel.getStyleCount() > 0)
+				conditionalStyleModels.add(conditionalStyleModel);
+		}
+		return conditionalStyleModels;
+	}
+
+	protected boolean isConditionalStyleRefresh(final NodeChangeEvent event) {
+		return false;
+	}
 
 	public IPropertyHandler<Collection<IStyle>, NodeModel> addStyleGetter(
 		final Integer key,
@@ -397,11 +439,20 @@ public class LogicalStyleController implements IExtension {
 
 	public Collection<IStyle>  getConditionalMapStyles(final NodeModel node) {
 		final MapStyleModel styleModel = MapStyleModel.getExtension(node.getMap());
-		Collection<IStyle> condStyles = styleModel.getConditionalStyleModel().getStyles(node);
-		clearCache();
+		Collection<IStyle> condStyles = getConditionalStyles(styleModel.getConditionalStyleModel(), node);
 		return getResursively(node, condStyles);
 	}
 
+	private Collection<IStyle> getConditionalStyles(final ConditionalStyleModel conditionalStyleModel, final NodeModel node) {
+		resolutionDepth++;
+		try {
+			return conditionalStyleModel.getStyles(node);
+		}
+		finally {
+			resolutionDepth--;
+		}
+	}
+
 	public Collection<IStyle>  getConditionalNodeStyles(final NodeModel node) {
 		final Collection<IStyle> condStyles = new LinkedHashSet<IStyle>();
 		IStyle style = LogicalStyleModel.getStyle(node);
@@ -411,8 +462,7 @@ public class LogicalStyleController implements IExtension {
 
 		final ConditionalStyleModel conditionalStyleModel = node.getExtension(ConditionalStyleModel.class);
 		if(conditionalStyleModel != null) {
-			Collection<IStyle> styles = conditionalStyleModel.getStyles(node);
-			clearCache();
+			Collection<IStyle> styles = getConditionalStyles(conditionalStyleModel, node);
 			condStyles.addAll(styles);
 		}
 		final Collection<IStyle> all = getResursively(node, condStyles);
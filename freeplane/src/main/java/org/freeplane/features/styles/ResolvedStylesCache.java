@@ -0,0 +1,125 @@
+package org.freeplane.features.styles;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.freeplane.features.filter.condition.ICondition;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.styles.LogicalStyleController.StyleOption;
+
+/**
+ * Keeps the styles resolved for each node of each map
+ * until the node, a relative checked by its conditional styles, its map or the map styles change.
+ * Conditional styles checking external state like the time or scripts are evaluated again after any node change.
+ */
+class ResolvedStylesCache {
+	static class ResolvedStyles {
+		private final Collection<IStyle> styles;
+		private final List<IStyle> stylesForSelectedNode;
+		private final List<IStyle> stylesOnly;
+
+		ResolvedStyles(Collection<IStyle> styles) {
+			this.styles = Collections.unmodifiableCollection(styles);
+			final List<IStyle> stylesForSelectedNode = new ArrayList<>(styles.size() + 1);
+			stylesForSelectedNode.add(MapStyleModel.SELECTION_STYLE);
+			stylesForSelectedNode.addAll(styles);
+			this.stylesForSelectedNode = Collections.unmodifiableList(stylesForSelectedNode);
+			this.stylesOnly = this.stylesForSelectedNode.subList(Math.min(2, stylesForSelectedNode.size()), stylesForSelectedNode.size());
+		}
+
+		Collection<IStyle> get(StyleOption option) {
+			return option == StyleOption.FOR_SELECTED_NODE ? stylesForSelectedNode :
+				option == StyleOption.FOR_UNSELECTED_NODE ? styles :
+					stylesOnly;
+		}
+	}
+
+	private final Map<MapModel, Map<NodeModel, ResolvedStyles>> resolvedStyles = new HashMap<>();
+	private long hitCount = 0;
+	private long missCount = 0;
+
+	ResolvedStyles get(NodeModel node) {
+		final Map<NodeModel, ResolvedStyles> mapStyles = resolvedStyles.get(node.getMap());
+		final ResolvedStyles styles = mapStyles != null ? mapStyles.get(node) : null;
+		if (styles != null)
+			hitCount++;
+		else
+			missCount++;
+		return styles;
+	}
+
+	void put(NodeModel node, ResolvedStyles styles) {
+		resolvedStyles.computeIfAbsent(node.getMap(), map -> new HashMap<>()).put(node, styles);
+	}
+
+	void remove(NodeModel node) {
+		final Map<NodeModel, ResolvedStyles> mapStyles = resolvedStyles.get(node.getMap());
+		if (mapStyles != null) {
+			mapStyles.remove(node);
+			for (NodeModel clone : node.allClones())
+				mapStyles.remove(clone);
+		}
+	}
+
+	/**
+	 * Removes the styles of nodes whose conditional styles check the changed node as their relative.
+	 * All styles of the map are removed if a conditional style checks state not bound to the nodes.
+	 */
+	void removeDependentNodes(NodeModel node, Collection<ConditionalStyleModel> conditionalStyleModels) {
+		if (conditionalStyleModels.isEmpty())
+			return;
+		if (dependsOnCondition(conditionalStyleModels, ICondition::checksExternalState)) {
+			clear(node.getMap());
+			return;
+		}
+		if (dependsOnCondition(conditionalStyleModels, ICondition::checksDescendants))
+			removeAncestors(node, true);
+		else if (dependsOnCondition(conditionalStyleModels, ICondition::checksChildren))
+			removeAncestors(node, false);
+		if (dependsOnCondition(conditionalStyleModels, ICondition::checksAncestors))
+			removeDescendants(node, true);
+		else if (dependsOnCondition(conditionalStyleModels, ICondition::checksParent))
+			removeDescendants(node, false);
+	}
+
+	private boolean dependsOnCondition(Collection<ConditionalStyleModel> conditionalStyleModels, ConditionPredicate predicate) {
+		for (ConditionalStyleModel conditionalStyleModel : conditionalStyleModels)
+			if (conditionalStyleModel.dependsOnCondition(predicate))
+				return true;
+		return false;
+	}
+
+	private void removeAncestors(NodeModel node, boolean withAncestors) {
+		for (NodeModel parent = node.getParentNode(); parent != null; parent = withAncestors ? parent.getParentNode() : null)
+			remove(parent);
+	}
+
+	private void removeDescendants(NodeModel node, boolean withDescendants) {
+		for (NodeModel child : node.getChildren()) {
+			remove(child);
+			if (withDescendants)
+				removeDescendants(child, true);
+		}
+	}
+
+	void clear(MapModel map) {
+		resolvedStyles.remove(map);
+	}
+
+	void clear() {
+		resolvedStyles.clear();
+	}
+
+	long getHitCount() {
+		return hitCount;
+	}
+
+	long getMissCount() {
+		return missCount;
+	}
+}
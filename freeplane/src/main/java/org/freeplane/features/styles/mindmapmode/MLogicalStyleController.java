@@ -297,6 +297,11 @@ public class MLogicalStyleController extends LogicalStyleController {
 		actions = new LinkedList<AFreeplaneAction>();
 	}
 
+	@Override
+	protected boolean isConditionalStyleRefresh(NodeChangeEvent event) {
+		return event.getProperty() == NodeProperty.CONDITIONAL_STYLES;
+	}
+
 	public void initS() {
 		final ModeController modeController = Controller.getCurrentModeController();
 		modeController.addAction(new ManageNodeConditionalStylesAction());
@@ -68,8 +68,23 @@ public class NodeContainsCondition extends StringConditionAdapter implements Nod
 	}
 
 	public boolean checkNode(final NodeModel node) {
-		final Object content[] = NodeTextConditionController.getItemsForComparison(nodeItem, node);
-		return checkText(content);
+		return checkData(getCheckedData(node));
+	}
+
+	@Override
+	public boolean canBeCheckedConcurrently() {
+		return true;
+	}
+
+	@Override
+	public Object getCheckedData(final NodeModel node) {
+		normalizedValue();
+		return NodeTextConditionController.getItemsForComparison(nodeItem, node);
+	}
+
+	@Override
+	public boolean checkData(final Object data) {
+		return checkText((Object[]) data);
 	}
 
 	private boolean checkText(Object content[]) {
@@ -59,7 +59,22 @@ public class NodeMatchesRegexpCondition extends ASelectableCondition implements
 	}
 
 	public boolean checkNode(final NodeModel node) {
-		final Object content[] = NodeTextConditionController.getItemsForComparison(nodeItem, node);
+		return checkData(getCheckedData(node));
+	}
+
+	@Override
+	public boolean canBeCheckedConcurrently() {
+		return true;
+	}
+
+	@Override
+	public Object getCheckedData(final NodeModel node) {
+		return NodeTextConditionController.getItemsForComparison(nodeItem, node);
+	}
+
+	@Override
+	public boolean checkData(final Object data) {
+		final Object content[] = (Object[]) data;
 		return content != null && checkText(content);
 	}
 
@@ -64,7 +64,23 @@ public class NoteContainsCondition extends StringConditionAdapter {
 	}
 
 	public boolean checkNode(final NodeModel node) {
-		final String text = getText(node);
+		return checkData(getCheckedData(node));
+	}
+
+	@Override
+	public boolean canBeCheckedConcurrently() {
+		return true;
+	}
+
+	@Override
+	public Object getCheckedData(final NodeModel node) {
+		normalizedValue();
+		return getText(node);
+	}
+
+	@Override
+	public boolean checkData(final Object data) {
+		final String text = (String) data;
 		if (text == null) {
 			return false;
 		}
@@ -38,9 +38,8 @@ public class TimeConditionModifiedBefore extends TimeCondition {
 	}
 
 	public boolean checkNode(final NodeModel node) {
-		final Date lastModifiedAt = node.getHistoryInformation().getLastModifiedAt();
 		final Date filterDate = getDate();
-		final boolean before = lastModifiedAt.getTime() < filterDate.getTime();
+		final boolean before = node.getModificationTime() < filterDate.getTime();
 		return before;
 	}
 
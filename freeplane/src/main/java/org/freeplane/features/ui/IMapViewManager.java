@@ -73,6 +73,7 @@ public interface IMapViewManager {
 
 	public String createHtmlMap();
 
+	/** Images implementing {@link AutoCloseable} must be closed if they are not read completely. */
 	public RenderedImage createImage(int dpi);
 
 	public RenderedImage createImage(final Dimension slideSize, NodeModel placedNode, NodePosition placedNodePosition, int imageResolutionInDpi);
@@ -0,0 +1,70 @@
+package org.freeplane.features.url.mindmapmode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Writes already serialized map content on a background thread.
+ * The content goes to a temporary file next to the target which is forced to disk
+ * and then renamed over the target, so that the target never contains a partially written map.
+ */
+class AtomicFileWriter {
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "Automatic save");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /**
+     * @return future providing the time in milliseconds spent for encoding, writing and renaming.
+     */
+    static CompletableFuture<Long> writeInBackground(final String content, final File file) {
+        return CompletableFuture.supplyAsync(() -> {
+            final long startTime = System.nanoTime();
+            try {
+                write(content, file);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return (System.nanoTime() - startTime) / 1_000_000;
+        }, executor);
+    }
+
+    static void write(final String content, final File file) throws IOException {
+        final Path target = file.toPath();
+        final Path temporaryFile = target.resolveSibling(file.getName() + TEMPORARY_FILE_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                final ByteBuffer bytes = StandardCharsets.UTF_8.encode(content);
+                while (bytes.hasRemaining())
+                    channel.write(bytes);
+                channel.force(true);
+            }
+            try {
+                Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+}
@@ -22,13 +22,21 @@ package org.freeplane.features.url.mindmapmode;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
 
+import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 
+import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.util.LogUtils;
 import org.freeplane.core.util.TextUtils;
 import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.MapWriter;
+import org.freeplane.features.map.MapWriter.Mode;
+import org.freeplane.features.map.clipboard.MapClipboardController.CopiedNodeSet;
 import org.freeplane.features.map.mindmapmode.MMapModel;
 import org.freeplane.features.mode.Controller;
 import org.freeplane.features.mode.ModeController;
@@ -37,6 +45,7 @@ import org.freeplane.features.url.UrlManager;
 
 public class DoAutomaticSave implements ActionListener {
     static final String AUTOSAVE_EXTENSION = "autosave";
+    private static final String SAVE_IN_BACKGROUND_PROPERTY = "automatic_save_in_background";
     /**
      * This value is compared with the result of
      * getNumberOfChangesSinceLastSave(). If the values coincide, no further
@@ -46,6 +55,7 @@ public class DoAutomaticSave implements ActionListener {
     final private boolean filesShouldBeDeletedAfterShutdown;
     final private MapModel model;
     final private int numberOfFiles;
+    private CompletableFuture<Long> pendingWrite;
 
     public DoAutomaticSave(final MapModel model, final int numberOfTempFiles,
             final boolean filesShouldBeDeletedAfterShutdown) {
@@ -57,6 +67,10 @@ public class DoAutomaticSave implements ActionListener {
 
     @Override
     public void actionPerformed(ActionEvent e) {
+        /* Previous background write is not finished yet, try again on the next tick */
+        if (pendingWrite != null && ! pendingWrite.isDone()) {
+            return;
+        }
         /* Map is dirty enough? */
         if (model.getNumberOfChangesSinceLastSave() == changeState) {
             return;
@@ -91,6 +105,11 @@ public class DoAutomaticSave implements ActionListener {
             }
             if(tempFile.isFile() && tempFile.canWrite()
                     || ! tempFile.exists() && tempFile.getParentFile().canWrite()) {
+                if (ResourceController.getResourceController().getBooleanProperty(SAVE_IN_BACKGROUND_PROPERTY)) {
+                    saveInBackground(modeController, tempFile);
+                    timer.restart();
+                    return;
+                }
                 ((MFileManager) fileManager)
                 .saveInternal((MMapModel) model, tempFile, true /*=internal call*/);
                 modeController.getController().getViewController()
@@ -102,4 +121,40 @@ public class DoAutomaticSave implements ActionListener {
         }
     }
 
+    /**
+     * Serializes the map into memory on the event dispatch thread, where the map model may be accessed,
+     * and leaves encoding, writing, flushing to disk and renaming to a background thread.
+     * The map model is not safe to read from other threads, and serializing it may load deferred branches
+     * and fill style and formula caches.
+     */
+    private void saveInBackground(final MModeController modeController, final File tempFile) throws Exception {
+        final long snapshotStartTime = System.nanoTime();
+        final String content = snapshot(modeController.getMapController().getMapWriter(), model);
+        final long snapshotTime = (System.nanoTime() - snapshotStartTime) / 1_000_000;
+        pendingWrite = AtomicFileWriter.writeInBackground(content, tempFile);
+        pendingWrite.whenComplete((writeTime, error) -> SwingUtilities.invokeLater(
+            () -> reportBackgroundSave(modeController, tempFile, snapshotTime, writeTime, error)));
+    }
+
+    /** Writes the map like a save, copying unchanged branches only if save_branches_incrementally is set. */
+    static String snapshot(final MapWriter mapWriter, final MapModel map) throws IOException {
+        final StringWriter snapshot = new StringWriter();
+        mapWriter.writeMapAsXml(map, snapshot, Mode.FILE, CopiedNodeSet.ALL_NODES, false);
+        return snapshot.toString();
+    }
+
+    private void reportBackgroundSave(final MModeController modeController, final File tempFile,
+                                      final long snapshotTime, final Long writeTime, final Throwable error) {
+        if (error == null) {
+            LogUtils.info("Automatic save of " + tempFile + ": snapshot " + snapshotTime
+                    + " ms on event dispatch thread, write " + writeTime + " ms in background");
+            modeController.getController().getViewController()
+                .out(TextUtils.format("automatically_save_message", tempFile));
+        }
+        else {
+            LogUtils.severe("Error in automatic MapModel.save(): ", error);
+            modeController.getController().getViewController()
+                .out(TextUtils.format("save_failed", tempFile.getName()));
+        }
+    }
 }
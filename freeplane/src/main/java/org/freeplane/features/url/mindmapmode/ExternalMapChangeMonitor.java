@@ -1,8 +1,11 @@
 package org.freeplane.features.url.mindmapmode;
 
+import java.awt.Component;
 import java.awt.KeyboardFocusManager;
 import java.awt.Window;
-import java.awt.event.ActionEvent;
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
 
 import javax.swing.JComponent;
 import javax.swing.JOptionPane;
@@ -12,37 +15,97 @@ import javax.swing.Timer;
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.ui.components.OptionalDontShowMeAgainDialog;
 import org.freeplane.core.ui.components.OptionalDontShowMeAgainDialog.MessageType;
+import org.freeplane.core.util.FileChangeWatcher;
+import org.freeplane.core.util.FileChangeWatcher.FileChangeListener;
 import org.freeplane.core.util.LogUtils;
+import org.freeplane.features.map.IMapChangeListener;
 import org.freeplane.features.map.IMapSelectionListener;
+import org.freeplane.features.map.MapChangeEvent;
 import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.mindmapmode.MMapController;
 import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.mindmapmode.MModeController;
+import org.freeplane.features.ui.IMapViewChangeListener;
 import org.freeplane.features.ui.IMapViewManager;
+import org.freeplane.features.url.UrlManager;
 
-public class ExternalMapChangeMonitor implements IMapSelectionListener{
+/**
+ * Watches the files of all open maps and offers to reload the current map after its file has been changed externally.
+ * Changes of other maps are detected as soon as they are selected.
+ */
+public class ExternalMapChangeMonitor implements IMapSelectionListener, IMapViewChangeListener, IMapChangeListener, FileChangeListener {
     private static final String MONITOR_EXTERNAL_MIND_MAP_FILE_CHANGES_PROPERTY = "monitor_external_mind_map_file_changes";
     private static final int FIRST_CHECK_DELAY_MILLIS = 1000;
-    private static final int CHECK_INTERVAL_MILLIS = 5000;
     private static final ExternalMapChangeMonitor INSTANCE = new ExternalMapChangeMonitor();
-    private Timer timer;
+    private final Timer timer;
+    private final Set<File> watchedFiles = new HashSet<>();
     
     public static void install(IMapViewManager viewManager) {
         viewManager.addMapSelectionListener(INSTANCE);
+        viewManager.addMapViewChangeListener(INSTANCE);
+        Controller.getCurrentController().getModeController(MModeController.MODENAME).getMapController()
+            .addMapChangeListener(INSTANCE);
+        KeyboardFocusManager.getCurrentKeyboardFocusManager().addPropertyChangeListener("activeWindow", event -> {
+            if(event.getNewValue() != null)
+                INSTANCE.timer.restart();
+        });
+        INSTANCE.updateWatchedFiles();
+        INSTANCE.timer.start();
     }
 
     private ExternalMapChangeMonitor() {
         super();
-        timer = new Timer(CHECK_INTERVAL_MILLIS, this::checkCurrentMapForExternalChange);
-        timer.setInitialDelay(FIRST_CHECK_DELAY_MILLIS);
-        timer.start();
+        timer = new Timer(FIRST_CHECK_DELAY_MILLIS, event -> checkCurrentMapForExternalChange());
+        timer.setRepeats(false);
     }
 
     @Override
     public void afterMapChange(MapModel oldMap, MapModel newMap) {
         timer.restart();
     }
-    
-    private void checkCurrentMapForExternalChange(ActionEvent event) {
+
+    @Override
+    public void afterViewCreated(Component oldView, Component newView) {
+        updateWatchedFiles();
+    }
+
+    @Override
+    public void afterViewClose(Component oldView) {
+        updateWatchedFiles();
+    }
+
+    @Override
+    public void mapChanged(MapChangeEvent event) {
+        if(event.getProperty().equals(UrlManager.MAP_URL))
+            updateWatchedFiles();
+    }
+
+    private void updateWatchedFiles() {
+        final Set<File> openMapFiles = new HashSet<>();
+        for(MapModel map : Controller.getCurrentController().getMapViewManager().getMaps().values()) {
+            final File file = map.getFile();
+            if(file != null)
+                openMapFiles.add(file);
+        }
+        final FileChangeWatcher watcher = FileChangeWatcher.INSTANCE;
+        for(File file : watchedFiles)
+            if(! openMapFiles.contains(file))
+                watcher.unwatch(file, this);
+        for(File file : openMapFiles)
+            if(! watchedFiles.contains(file))
+                watcher.watch(file, this);
+        watchedFiles.retainAll(openMapFiles);
+        watchedFiles.addAll(openMapFiles);
+    }
+
+    @Override
+    public void fileChanged(File file) {
+        final MapModel map = Controller.getCurrentController().getMap();
+        if(map != null && file.equals(map.getFile()))
+            checkForExternalChange(map);
+    }
+
+    private void checkCurrentMapForExternalChange() {
         MapModel map = Controller.getCurrentController().getMap();
         checkForExternalChange(map);
     }
@@ -25,7 +25,6 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.BufferedInputStream;
 import java.io.BufferedWriter;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -35,7 +34,6 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.io.SequenceInputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -46,8 +44,11 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -155,6 +156,7 @@ public class MFileManager extends UrlManager implements IMapViewChangeListener {
     private final static FileFilter MINDMAP_FILE_FILTER = new CaseSensitiveFileNameExtensionFilter("mm", TextUtils.getText("mindmaps_desc"));
 	private static final String BACKUP_FILE_NUMBER = "backup_file_number";
 	private static File singleBackupDirectory;
+	private final MapPreloader mapPreloader;
 	private File[] findFileRevisions(final File file, final File backupDir, final AlternativeFileMode mode) {
 		final String fileExtensionPattern;
 		if (mode == AlternativeFileMode.ALL)
@@ -180,7 +182,7 @@ public class MFileManager extends UrlManager implements IMapViewChangeListener {
 	}
 
 	/** prevents name conflicts with singleBackupDirectory in most cases (uses the file's hashcode). */
-	private static String backupFileName(final File file) {
+	static String backupFileName(final File file) {
 		if (singleBackupDirectory == null)
 			return file.getName();
 		return file.getName() + "." + file.hashCode();
@@ -263,6 +265,7 @@ public class MFileManager extends UrlManager implements IMapViewChangeListener {
 
 	public MFileManager() {
 		super(new File(getDefaultSaveDirFromPrefs()));
+		mapPreloader = new MapPreloader(this);
 	}
 
 	private static String getDefaultSaveDirFromPrefs() {
@@ -503,6 +506,7 @@ public class MFileManager extends UrlManager implements IMapViewChangeListener {
 				return null;
 		}
 		catch (MalformedURLException e) {
+			LogUtils.warn("Can not find alternative file for " + url, e);
 		}
 		return null;
 	}
@@ -541,26 +545,48 @@ public class MFileManager extends UrlManager implements IMapViewChangeListener {
 		}
 	}
 
+	/**
+	 * Can be called on any thread.
+	 * @return null if the map can not be loaded without asking the user
+	 */
+	NodeModel loadTreeWithoutUserInteraction(final MapModel map, final File file) throws IOException, XMLException {
+		return loadTreeImpl(map, file, false);
+	}
+
 	private NodeModel loadTreeImpl(final MapModel map, final File f) throws FileNotFoundException, IOException,
 	        XMLException {
+		return loadTreeImpl(map, f, true);
+	}
+
+	private NodeModel loadTreeImpl(final MapModel map, final File f, final boolean interactive) throws FileNotFoundException, IOException,
+	        XMLException {
+		final String mapStart = readMapStart(f);
+		MapVersionInterpreter versionInterpreter = MapVersionInterpreter.getVersionInterpreter(mapStart);
+		if (!interactive && (versionInterpreter.anotherDialect || versionInterpreter.needsConversion))
+			return null;
+		map.addExtension(versionInterpreter);
+		if (versionInterpreter.anotherDialect) {
+			String message = versionInterpreter.getDialectInfo(f.getAbsolutePath());
+			UITools.showMessage(message, JOptionPane.WARNING_MESSAGE);
+		}
+		else if (!versionInterpreter.needsConversion && MapLoadingCache.isEnabled()) {
+			return new MapLoadingCache(Controller.getCurrentModeController().getMapController()).load(map, f);
+		}
+		final InputStream input = new BufferedInputStream(new FileInputStream(f));
+		try (final InputStream file = interactive ? input : new MapPreloader.InterruptibleInputStream(input);
+		        Reader reader = openInputStream(f, file, versionInterpreter)) {
+			return Controller.getCurrentModeController().getMapController().getMapReader()
+			    .createNodeTreeFromXml(map, reader, Mode.FILE);
+		}
+	}
+
+	private String readMapStart(final File f) throws IOException {
 		int versionInfoLength = 1000;
 		final byte[] buffer = new byte[versionInfoLength];
-        try (final BufferedInputStream file = new BufferedInputStream(new FileInputStream(f))) {
-            final int readCount = file.read(buffer);
-            final String mapStart = new String(buffer, StandardCharsets.UTF_8.name());
-            final ByteArrayInputStream readBytes = new ByteArrayInputStream(buffer, 0, readCount);
-            MapVersionInterpreter versionInterpreter = MapVersionInterpreter.getVersionInterpreter(mapStart);
-            map.addExtension(versionInterpreter);
-            if (versionInterpreter.anotherDialect) {
-                String message = versionInterpreter.getDialectInfo(f.getAbsolutePath());
-                UITools.showMessage(message, JOptionPane.WARNING_MESSAGE);
-            }
-            try (final InputStream sequencedInput = new SequenceInputStream(readBytes, file);
-                    Reader reader = openInputStream(f, sequencedInput, versionInterpreter)) {
-                return Controller.getCurrentModeController().getMapController().getMapReader()
-                    .createNodeTreeFromXml(map, reader, Mode.FILE);
-            }
-        }
+		try (final InputStream file = new FileInputStream(f)) {
+			file.read(buffer);
+			return new String(buffer, StandardCharsets.UTF_8.name());
+		}
 	}
 
     private Reader openInputStream(final File file, final InputStream sequencedInput,
@@ -611,16 +637,52 @@ public class MFileManager extends UrlManager implements IMapViewChangeListener {
 		}
 		File[] selectedFiles;
 		selectedFiles = chooser.getSelectedFiles();
-		for (int i = 0; i < selectedFiles.length; i++) {
-			final File theFile = selectedFiles[i];
+		preloadFiles(Arrays.asList(selectedFiles));
+		try {
+			for (int i = 0; i < selectedFiles.length; i++) {
+				final File theFile = selectedFiles[i];
+				try {
+					Controller.getCurrentModeController().getMapController().openMap(Compat.fileToUrl(theFile));
+				}
+				catch (final Exception ex) {
+					handleLoadingException(ex);
+					break;
+				}
+			}
+		}
+		finally {
+			discardPreloadedMaps();
+		}
+	}
+
+	/**
+	 * Starts parsing the maps on background threads, so that they are opened faster
+	 * when several of them are opened one after another.
+	 * Should be followed by {@link #discardPreloadedMaps()} after the maps are opened.
+	 */
+	public void preloadMaps(final Collection<URL> urls) {
+		mapPreloader.preload(urls);
+	}
+
+	public void preloadFiles(final Collection<File> files) {
+		final List<URL> urls = new ArrayList<>(files.size());
+		for (File file : files) {
 			try {
-				Controller.getCurrentModeController().getMapController().openMap(Compat.fileToUrl(theFile));
+				urls.add(Compat.fileToUrl(file.getCanonicalFile()));
 			}
-			catch (final Exception ex) {
-				handleLoadingException(ex);
-				break;
+			catch (IOException e) {
+				LogUtils.warn("Can not preload " + file, e);
 			}
 		}
+		preloadMaps(urls);
+	}
+
+	public void discardPreloadedMaps() {
+		mapPreloader.discardAll();
+	}
+
+	MapPreloader.PreloadedMap takePreloadedMap(final URL url) {
+		return mapPreloader.take(url);
 	}
 
 	public MapModel newMapFromDefaultTemplate() {
@@ -18,6 +18,7 @@ import java.security.PrivilegedExceptionAction;
 import org.freeplane.core.resources.TranslatedObject;
 import org.freeplane.core.undo.IUndoHandler;
 import org.freeplane.core.util.Compat;
+import org.freeplane.core.util.LogUtils;
 import org.freeplane.features.map.DocuMapAttribute;
 import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.MapWriter.Mode;
@@ -45,6 +46,7 @@ public class MapLoader{
 	private boolean asDocumentation;
 	private String selectedNodeId;
 	private InputStream inputStream;
+	private MapPreloader.PreloadedMap preloadedMap;
 
 
 	public MapLoader(ModeController modeController) {
@@ -138,7 +140,10 @@ public class MapLoader{
 						final File newFile = urlToFileOrNull(newMapLocation);
 						if(newFile != null && ! asDocumentation)
 							fileManager().lock(map, newFile);
+						final long viewCreationStartTime = System.nanoTime();
 						createMapView(map);
+						if (preloadedMap != null)
+							logLoadingTimes((System.nanoTime() - viewCreationStartTime) / 1_000_000);
 						enableAutosave(map);
 					}
 				}
@@ -159,6 +164,12 @@ public class MapLoader{
 		}
 	}
 
+	private void logLoadingTimes(long viewCreationTime) {
+		LogUtils.info("Opened " + sourceLocation + ": parsed in background in " + preloadedMap.parsingTime
+				+ " ms, waited for parser " + preloadedMap.waitingTime
+				+ " ms, created view in " + viewCreationTime + " ms");
+	}
+
 	private void setWaitingCursor(boolean isSet) {
 		controller().getViewController().setWaitingCursor(isSet);
 	}
@@ -217,6 +228,9 @@ public class MapLoader{
 		final URL actualSourceLocation = inputStream != null ? null : asDocumentation ? sourceLocation : alternativeSourceLocation();
 		if(actualSourceLocation == null)
 		    return null;
+		preloadedMap = asDocumentation ? null : fileManager().takePreloadedMap(actualSourceLocation);
+		if (preloadedMap != null)
+			return completeLoading(preloadedMap.map, actualSourceLocation);
 		final MMapModel map = createMindMap();
 		AccessController.doPrivileged(new PrivilegedExceptionAction<Void>() {
 
@@ -233,7 +247,10 @@ public class MapLoader{
 				return null;
 			}
 		});
+		return completeLoading(map, actualSourceLocation);
+	}
 
+	private MMapModel completeLoading(final MMapModel map, final URL actualSourceLocation) {
 		if (map.getRootNode() == null)
 			map.createNewRoot();
 
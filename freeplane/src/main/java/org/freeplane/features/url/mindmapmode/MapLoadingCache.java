@@ -0,0 +1,218 @@
+package org.freeplane.features.url.mindmapmode;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.freeplane.core.extension.IExtension;
+import org.freeplane.core.io.IElementHandler;
+import org.freeplane.core.io.ListHashTable;
+import org.freeplane.core.io.ReadManager;
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.core.util.FreeplaneVersion;
+import org.freeplane.core.util.LogUtils;
+import org.freeplane.features.map.MapController;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.MapWriter.Mode;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.n3.nanoxml.XMLException;
+
+/**
+ * Keeps the parser events recorded while loading a map in a binary file next to its backup files,
+ * so that an unchanged map can be loaded again without parsing its xml.
+ * The map file remains the source of truth: the cache is used only if the map file has the recorded
+ * size and modification time and the map is read by the same element handlers and preferences,
+ * otherwise it is rebuilt while the map is parsed.
+ * If the recorded events can not be replayed, the cache is deleted and the map is parsed.
+ */
+class MapLoadingCache {
+	static final String CACHE_EXTENSION = "cache";
+	private static final String USE_MAP_CACHE_PROPERTY = "map_cache";
+	private static final int MAGIC = 0x46504d43;
+	private static final int FORMAT_VERSION = 2;
+	private static final String HASH_ALGORITHM = "SHA-256";
+	/** Preferences deciding which element contents are collected as text while the map is read. */
+	private static final String[] CONTENT_AFFECTING_PROPERTIES = {"load_folded_branches_lazily", "load_folding"};
+
+	private static class Header {
+		final long fileLength;
+		final long lastModified;
+		final byte[] readerHash;
+
+		Header(long fileLength, long lastModified, byte[] readerHash) {
+			this.fileLength = fileLength;
+			this.lastModified = lastModified;
+			this.readerHash = readerHash;
+		}
+
+		boolean matches(Header other) {
+			return fileLength == other.fileLength && lastModified == other.lastModified
+			        && Arrays.equals(readerHash, other.readerHash);
+		}
+	}
+
+	static boolean isEnabled() {
+		return ResourceController.getResourceController().getBooleanProperty(USE_MAP_CACHE_PROPERTY);
+	}
+
+	static File cacheFile(final File file) {
+		return new File(MFileManager.backupDir(file), MFileManager.backupFileName(file) + '.' + CACHE_EXTENSION);
+	}
+
+	private final MapController mapController;
+
+	MapLoadingCache(MapController mapController) {
+		this.mapController = mapController;
+	}
+
+	/**
+	 * Loads the map from the cache if it is valid, and parses the map file otherwise.
+	 * The cache is only used for maps without nodes, so that a failed replay can be undone.
+	 */
+	NodeModel load(final MapModel map, final File file) throws IOException, XMLException {
+		final Header header = new Header(file.length(), file.lastModified(), readerHash());
+		final File cacheFile = cacheFile(file);
+		final byte[] events = map.getRootNode() == null ? readEvents(cacheFile, header) : null;
+		if (events != null) {
+			final Map<Class<? extends IExtension>, IExtension> extensions = new HashMap<>(map.getExtensions());
+			try {
+				return mapController.getMapReader().createNodeTreeFromEvents(map, events, Mode.FILE);
+			}
+			catch (final XMLException | RuntimeException e) {
+				LogUtils.warn("Can not replay map cache " + cacheFile + ", parsing " + file, e);
+				cacheFile.delete();
+				map.discardLoadedContent(extensions);
+			}
+		}
+		try (Reader reader = new InputStreamReader(new BufferedInputStream(new FileInputStream(file)),
+		    StandardCharsets.UTF_8)) {
+			return mapController.getMapReader().createNodeTreeFromXml(map, reader, Mode.FILE,
+			    recordedEvents -> writeEvents(cacheFile, header, recordedEvents));
+		}
+	}
+
+	private byte[] readEvents(final File cacheFile, final Header header) {
+		if (!cacheFile.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new FileInputStream(cacheFile))) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+				return null;
+			}
+			final long maximalLength = cacheFile.length();
+			final Header cachedHeader = new Header(in.readLong(), in.readLong(), readBytes(in, maximalLength));
+			if (!header.matches(cachedHeader)) {
+				return null;
+			}
+			final long checksum = in.readLong();
+			final byte[] events = readBytes(in, maximalLength);
+			return checksum == checksum(events) ? events : null;
+		}
+		catch (final IOException e) {
+			return null;
+		}
+	}
+
+	private byte[] readBytes(final DataInputStream in, final long maximalLength) throws IOException {
+		final int length = in.readInt();
+		if (length < 0 || length > maximalLength) {
+			throw new IOException("Invalid length " + length);
+		}
+		final byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private void writeEvents(final File cacheFile, final Header header, final byte[] events) {
+		final File cacheDirectory = cacheFile.getParentFile();
+		cacheDirectory.mkdir();
+		if (!cacheDirectory.canWrite()) {
+			return;
+		}
+		try {
+			final File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheDirectory);
+			try (DataOutputStream out = new DataOutputStream(new FileOutputStream(tempFile))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeLong(header.fileLength);
+				out.writeLong(header.lastModified);
+				writeBytes(out, header.readerHash);
+				out.writeLong(checksum(events));
+				writeBytes(out, events);
+			}
+			catch (final IOException e) {
+				tempFile.delete();
+				throw e;
+			}
+			Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (final IOException e) {
+			LogUtils.warn("Can not write map cache " + cacheFile, e);
+		}
+	}
+
+	private void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private long checksum(final byte[] events) {
+		final CRC32 crc = new CRC32();
+		crc.update(events);
+		return crc.getValue();
+	}
+
+	/**
+	 * Identifies the element handlers and the preferences they use,
+	 * because they decide which element contents are recorded as text.
+	 */
+	private byte[] readerHash() {
+		final ReadManager readManager = mapController.getReadManager();
+		final ListHashTable<String, IElementHandler> elementHandlers = readManager.getElementHandlers();
+		final List<String> tags = new ArrayList<>(elementHandlers.keySet());
+		Collections.sort(tags);
+		final StringBuilder description = new StringBuilder(FreeplaneVersion.getVersion().toString());
+		final ResourceController resourceController = ResourceController.getResourceController();
+		for (String property : CONTENT_AFFECTING_PROPERTIES)
+			description.append('\n').append(property).append('=').append(resourceController.getProperty(property));
+		for (String tag : tags) {
+			description.append('\n').append(tag);
+			for (IElementHandler handler : elementHandlers.list(tag))
+				description.append(' ').append(stableClassName(handler));
+		}
+		return hash(description.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String stableClassName(final IElementHandler handler) {
+		final String className = handler.getClass().getName();
+		final int lambdaSuffixIndex = className.indexOf("$$Lambda");
+		return lambdaSuffixIndex >= 0 ? className.substring(0, lambdaSuffixIndex) : className;
+	}
+
+	private byte[] hash(final byte[] content) {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM).digest(content);
+		}
+		catch (final NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
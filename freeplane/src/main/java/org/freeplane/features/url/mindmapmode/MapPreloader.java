@@ -0,0 +1,151 @@
+package org.freeplane.features.url.mindmapmode;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.freeplane.core.util.Compat;
+import org.freeplane.core.util.LogUtils;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.map.mindmapmode.MMapController;
+import org.freeplane.features.map.mindmapmode.MMapModel;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.mindmapmode.MModeController;
+
+/**
+ * Parses mind map files on background threads before they are opened,
+ * so that opening several maps at once needs the event dispatch thread only for creating their views.
+ * Maps which can not be parsed without user interaction are left to the usual loading.
+ */
+class MapPreloader {
+	static class PreloadedMap {
+		final MMapModel map;
+		final long parsingTime;
+		long waitingTime;
+		private final long lastModified;
+
+		private PreloadedMap(MMapModel map, long lastModified, long parsingTime) {
+			this.map = map;
+			this.lastModified = lastModified;
+			this.parsingTime = parsingTime;
+		}
+	}
+
+	/** Stops parsing of discarded maps at the next read. */
+	static class InterruptibleInputStream extends FilterInputStream {
+		InterruptibleInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			checkInterrupted();
+			return super.read();
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			checkInterrupted();
+			return super.read(b, off, len);
+		}
+
+		private void checkInterrupted() throws InterruptedIOException {
+			if (Thread.currentThread().isInterrupted())
+				throw new InterruptedIOException("Preloading discarded");
+		}
+	}
+
+	private static final int THREAD_COUNT = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+	private static final AtomicInteger threadNumber = new AtomicInteger();
+
+	private final MFileManager fileManager;
+	private final Map<URL, Future<PreloadedMap>> preloadedMaps;
+	private ThreadPoolExecutor executor;
+
+	MapPreloader(MFileManager fileManager) {
+		this.fileManager = fileManager;
+		this.preloadedMaps = new HashMap<>();
+	}
+
+	void preload(Collection<URL> urls) {
+		final MMapController mapController = (MMapController) Controller.getCurrentController()
+		    .getModeController(MModeController.MODENAME).getMapController();
+		for (URL url : urls) {
+			if (preloadedMaps.containsKey(url) || mapController.getMap(url) != null)
+				continue;
+			final File file = Compat.urlToFile(url);
+			if (file == null || !file.canRead() || file.length() == 0)
+				continue;
+			preloadedMaps.put(url, executor().submit(() -> parse(mapController, file)));
+		}
+	}
+
+	private synchronized ThreadPoolExecutor executor() {
+		if (executor == null) {
+			executor = new ThreadPoolExecutor(THREAD_COUNT, THREAD_COUNT, 10, TimeUnit.SECONDS,
+			    new LinkedBlockingQueue<Runnable>(), r -> {
+				    final Thread thread = new Thread(r, "Map loader " + threadNumber.incrementAndGet());
+				    thread.setDaemon(true);
+				    return thread;
+			    });
+			executor.allowCoreThreadTimeOut(true);
+		}
+		return executor;
+	}
+
+	private PreloadedMap parse(MMapController mapController, File file) throws Exception {
+		final long startTime = System.nanoTime();
+		final long lastModified = file.lastModified();
+		final MMapModel map = new MMapModel(mapController.duplicator());
+		fileManager.setFile(map, file);
+		final NodeModel root = fileManager.loadTreeWithoutUserInteraction(map, file);
+		if (root == null)
+			return null;
+		return new PreloadedMap(map, lastModified, (System.nanoTime() - startTime) / 1_000_000);
+	}
+
+	/**
+	 * Waits until the map is parsed.
+	 * @return null if the map was not preloaded, could not be preloaded or has changed since then.
+	 */
+	PreloadedMap take(URL url) {
+		final Future<PreloadedMap> future = preloadedMaps.remove(url);
+		if (future == null)
+			return null;
+		final long startTime = System.nanoTime();
+		try {
+			final PreloadedMap preloadedMap = future.get();
+			if (preloadedMap == null || Compat.urlToFile(url).lastModified() != preloadedMap.lastModified)
+				return null;
+			preloadedMap.waitingTime = (System.nanoTime() - startTime) / 1_000_000;
+			return preloadedMap;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		catch (ExecutionException e) {
+			LogUtils.warn("Can not preload " + url, e.getCause());
+			return null;
+		}
+	}
+
+	/** Forgets maps which were preloaded but not opened and interrupts their parsing. */
+	void discardAll() {
+		for (Future<PreloadedMap> future : preloadedMaps.values())
+			future.cancel(true);
+		preloadedMaps.clear();
+	}
+}
@@ -28,9 +28,11 @@ import java.awt.Window;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
+import java.io.File;
 import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.swing.JFrame;
@@ -43,6 +45,7 @@ import javax.swing.ToolTipManager;
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.ui.ShowSelectionAsRectangleAction;
 import org.freeplane.core.ui.components.UITools;
+import org.freeplane.core.ui.components.html.ScaledHTML;
 import org.freeplane.core.ui.menubuilders.generic.ChildActionEntryRemover;
 import org.freeplane.core.ui.menubuilders.generic.PhaseProcessor.Phase;
 import org.freeplane.core.util.Compat;
@@ -261,6 +264,16 @@ public class FreeplaneGUIStarter implements FreeplaneStarter {
 				if(ARE_SURVEYS_ENABLED && freeplaneSurveyProperties.mayAskUserToFillSurveys()) {
 					controller.addApplicationLifecycleListener(new SurveyStarter(freeplaneSurveyProperties, new SurveyRunner(freeplaneSurveyProperties), Math.random()));
 				}
+				controller.addApplicationLifecycleListener(new ApplicationLifecycleListener() {
+					@Override
+					public void onStartupFinished() {
+					}
+
+					@Override
+					public void onApplicationStopped() {
+						ScaledHTML.logDocumentCacheStatistics();
+					}
+				});
 			});
 			return controller;
 		}
@@ -454,10 +467,18 @@ public class FreeplaneGUIStarter implements FreeplaneStarter {
 
     private void loadMaps(final Controller controller, final String[] args) {
 		controller.selectMode(MModeController.MODENAME);
-		for (int i = 0; i < args.length; i++) {
-			loadMap(args[i]);
+		final MFileManager fileManager = MFileManager.getController(controller.getModeController());
+		fileManager.preloadFiles(Stream.concat(Arrays.stream(args), MacOptions.macFilesToOpen.stream())
+		    .map(File::new).filter(File::isFile).collect(Collectors.toList()));
+		try {
+			for (int i = 0; i < args.length; i++) {
+				loadMap(args[i]);
+			}
+			MacOptions.macFilesToOpen.forEach(this::loadMap);
+		}
+		finally {
+			fileManager.discardPreloadedMaps();
 		}
-		MacOptions.macFilesToOpen.forEach(this::loadMap);
     }
 
     private void loadMap(String fileArgument) {
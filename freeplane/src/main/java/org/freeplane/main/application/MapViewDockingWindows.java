@@ -36,6 +36,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -61,11 +63,14 @@ import org.apache.commons.codec.binary.Base64;
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.ui.FileOpener;
 import org.freeplane.core.ui.components.UITools;
+import org.freeplane.core.util.ConfigurationUtils;
 import org.freeplane.core.util.LogUtils;
 import org.freeplane.core.util.TextUtils;
 import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.mindmapmode.MModeController;
 import org.freeplane.features.ui.IMapViewChangeListener;
 import org.freeplane.features.url.mindmapmode.DroppedMindMapOpener;
+import org.freeplane.features.url.mindmapmode.MFileManager;
 import org.freeplane.view.swing.map.MapView;
 import org.freeplane.view.swing.map.NodeView;
 import org.freeplane.view.swing.ui.DefaultMapMouseListener;
@@ -106,6 +111,7 @@ class MapViewDockingWindows implements IMapViewChangeListener {
 	private static final String CUSTOMIZED_TAB_NAME_PROPERTY = "customizedTabName";
     // // 	final private Controller controller;
 	private static final String OPENED_NOW = "openedNow_1.3.04";
+	private static final String OPENED_NOW_MAPS = "openedNowMaps";
 	private RootWindow rootWindow = null;
 	final private Vector<Component> mapViews;
 	private boolean mPaneSelectionUpdate = true;
@@ -481,10 +487,16 @@ class MapViewDockingWindows implements IMapViewChangeListener {
 		ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
 		try {
 	        ObjectOutputStream objectStream = new ObjectOutputStream(byteStream);
+			viewSerializer.takeWrittenMapUrls();
 			rootWindow.write(objectStream);
 			objectStream.close();
 			String encodedBytes = Base64.encodeBase64String(byteStream.toByteArray());
 			ResourceController.getResourceController().setProperty(OPENED_NOW, encodedBytes);
+			final List<String> openedMaps = new ArrayList<String>();
+			for (URL url : viewSerializer.takeWrittenMapUrls())
+				openedMaps.add(url.toString());
+			ResourceController.getResourceController().setProperty(OPENED_NOW_MAPS,
+			    ConfigurationUtils.encodeListValue(openedMaps, true));
         }
         catch (IOException e) {
 	        e.printStackTrace();
@@ -496,9 +508,14 @@ class MapViewDockingWindows implements IMapViewChangeListener {
 		if(encodedBytes != null){
 			byte[] bytes = Base64.decodeBase64(encodedBytes);
 			ByteArrayInputStream byteStream = new ByteArrayInputStream(bytes);
+			final MFileManager fileManager = MFileManager.getController(
+			    Controller.getCurrentController().getModeController(MModeController.MODENAME));
+			final long startTime = System.nanoTime();
 			try {
 				loadingLayoutFromObjectInputStream = true;
+				fileManager.preloadMaps(openedMapUrls());
 				rootWindow.read(new ObjectInputStream(byteStream));
+				LogUtils.info("Restored opened maps in " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
 			}
 			catch (Exception e) {
 				LogUtils.severe(e);
@@ -509,6 +526,7 @@ class MapViewDockingWindows implements IMapViewChangeListener {
                 }
 			}
 			finally{
+				fileManager.discardPreloadedMaps();
 				viewSerializer.removeDummyViews();
 				loadingLayoutFromObjectInputStream = false;
 			}
@@ -518,6 +536,20 @@ class MapViewDockingWindows implements IMapViewChangeListener {
 		}
 	}
 
+	private List<URL> openedMapUrls() {
+		final String openedMaps = ResourceController.getResourceController().getProperty(OPENED_NOW_MAPS, "");
+		final List<URL> urls = new ArrayList<URL>();
+		for (String url : ConfigurationUtils.decodeListValue(openedMaps, true)) {
+			try {
+				urls.add(new URL(url));
+			}
+			catch (MalformedURLException e) {
+				LogUtils.warn("Can not preload opened map " + url, e);
+			}
+		}
+		return urls;
+	}
+
 	private void loadInitialCustomTabNames(){
 		for (Component mapViewComponent: mapViews) {
 			if (mapViewComponent instanceof MapView ) {
@@ -26,6 +26,7 @@ import java.io.ObjectOutputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import javax.swing.JPanel;
 
@@ -47,6 +48,7 @@ import net.infonode.docking.ViewSerializer;
  */
 class MapViewSerializer implements ViewSerializer {
     private Collection<View> viewsToBeRemoved = new ArrayList<View>();
+    private final List<URL> writtenMapUrls = new ArrayList<URL>();
 
 	public void writeView(View view, ObjectOutputStream out) throws IOException {
     	if(view.isDisplayable()) {
@@ -57,7 +59,10 @@ class MapViewSerializer implements ViewSerializer {
     					&& ! mapView.getMap().containsExtension(DocuMapAttribute.class)){
     				out.writeBoolean(true);
     				out.writeUTF(mapView.getModeController().getModeName());
-    				out.writeObject(mapView.getMap().getURL());
+    				final URL url = mapView.getMap().getURL();
+    				out.writeObject(url);
+    				if (url != null)
+    					writtenMapUrls.add(url);
     				return;
     			}
             }
@@ -112,6 +117,13 @@ class MapViewSerializer implements ViewSerializer {
 	    return viewFrame;
 	}
 
+	/** Returns the map locations written since the previous call. */
+	List<URL> takeWrittenMapUrls() {
+		final List<URL> urls = new ArrayList<URL>(writtenMapUrls);
+		writtenMapUrls.clear();
+		return urls;
+	}
+
 	public void removeDummyViews() {
 	    for(View view : viewsToBeRemoved)
 	    	view.close();
@@ -0,0 +1,263 @@
+package org.freeplane.n3.nanoxml;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayDeque;
+
+/**
+ * BufferedXMLReader reads the data to be parsed from large character buffers without synchronization.
+ * Line breaks are normalized like in StdXMLReader.
+ * Names and plain attribute values are scanned directly in the buffer,
+ * names are shared between all occurrences of equal names.
+ *
+ * @see org.freeplane.n3.nanoxml.StdXMLReader
+ */
+public class BufferedXMLReader implements IXMLReader {
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int ENTITY_BUFFER_SIZE = 256;
+	private static final int NAME_TABLE_SIZE = 1 << 10;
+	private static final int NO_CHARACTER = -1;
+
+	private static class Stream {
+		final Reader reader;
+		final char[] buffer;
+		final boolean countsLines;
+		int position;
+		int limit;
+		int lineNr;
+		String publicId;
+		URL systemId;
+
+		Stream(Reader reader, int bufferSize, boolean countsLines) {
+			this.reader = reader;
+			this.buffer = new char[bufferSize];
+			this.countsLines = countsLines;
+		}
+
+		boolean hasData() throws IOException {
+			if (position < limit)
+				return true;
+			for (;;) {
+				final int charsRead = reader.read(buffer, 0, buffer.length);
+				position = 0;
+				if (charsRead < 0) {
+					limit = 0;
+					return false;
+				}
+				limit = charsRead;
+				if (charsRead > 0)
+					return true;
+			}
+		}
+	}
+
+	private final ArrayDeque<Stream> streams = new ArrayDeque<>();
+	private final String[] names = new String[NAME_TABLE_SIZE];
+	private Stream currentStream;
+	private int charReadTooMuch = NO_CHARACTER;
+	private boolean isLastCharInBuffer = false;
+
+	public BufferedXMLReader(final Reader reader) {
+		currentStream = new Stream(reader, BUFFER_SIZE, true);
+		currentStream.publicId = "";
+		try {
+			currentStream.systemId = new URL("file:.");
+		}
+		catch (final MalformedURLException e) {
+		}
+	}
+
+	public boolean atEOF() throws IOException {
+		if (charReadTooMuch != NO_CHARACTER) {
+			return false;
+		}
+		while (!currentStream.hasData()) {
+			if (streams.isEmpty()) {
+				return true;
+			}
+			popStream();
+		}
+		return false;
+	}
+
+	public boolean atEOFOfCurrentStream() throws IOException {
+		return charReadTooMuch == NO_CHARACTER && !currentStream.hasData();
+	}
+
+	public int getLineNr() {
+		final Stream stream = currentStream.countsLines || streams.isEmpty() ? currentStream : streams.peek();
+		return stream.countsLines ? stream.lineNr + 1 : 0;
+	}
+
+	public String getPublicID() {
+		return currentStream.publicId;
+	}
+
+	public int getStreamLevel() {
+		return streams.size();
+	}
+
+	public String getSystemID() {
+		return currentStream.systemId.toString();
+	}
+
+	public Reader openStream(final String publicID, final String systemID) throws MalformedURLException,
+	        FileNotFoundException, IOException {
+		final StdXMLReader streamOpener = new StdXMLReader(new StringReader(""));
+		streamOpener.setSystemID(currentStream.systemId.toString());
+		final Reader reader = streamOpener.openStream(publicID, systemID);
+		currentStream.publicId = publicID;
+		currentStream.systemId = new URL(streamOpener.getSystemID());
+		return reader;
+	}
+
+	public char read() throws IOException {
+		if (charReadTooMuch != NO_CHARACTER) {
+			final char ch = (char) charReadTooMuch;
+			charReadTooMuch = NO_CHARACTER;
+			isLastCharInBuffer = false;
+			return ch;
+		}
+		while (!currentStream.hasData()) {
+			if (streams.isEmpty()) {
+				throw new IOException("Unexpected EOF at line " + getLineNr());
+			}
+			popStream();
+		}
+		final Stream stream = currentStream;
+		final char ch = stream.buffer[stream.position++];
+		isLastCharInBuffer = true;
+		if (stream.countsLines) {
+			if (ch == '\n') {
+				stream.lineNr++;
+			}
+			else if (ch == '\r') {
+				stream.lineNr++;
+				isLastCharInBuffer = false;
+				if (stream.hasData() && stream.buffer[stream.position] == '\n') {
+					stream.position++;
+				}
+				return '\n';
+			}
+		}
+		return ch;
+	}
+
+	private void popStream() throws IOException {
+		currentStream.reader.close();
+		currentStream = streams.pop();
+	}
+
+	public void setPublicID(final String publicID) {
+		currentStream.publicId = publicID;
+	}
+
+	public void setSystemID(final String systemID) throws MalformedURLException {
+		currentStream.systemId = new URL(currentStream.systemId, systemID);
+	}
+
+	public void startNewStream(final Reader reader) {
+		this.startNewStream(reader, false);
+	}
+
+	public void startNewStream(final Reader reader, final boolean isInternalEntity) {
+		final Stream oldStream = currentStream;
+		streams.push(currentStream);
+		currentStream = isInternalEntity ? new Stream(reader, ENTITY_BUFFER_SIZE, false) : new Stream(reader, BUFFER_SIZE, true);
+		currentStream.systemId = oldStream.systemId;
+		currentStream.publicId = oldStream.publicId;
+	}
+
+	public void unread(final char ch) throws IOException {
+		if (isLastCharInBuffer && ch != '\n' && currentStream.buffer[currentStream.position - 1] == ch) {
+			isLastCharInBuffer = false;
+			currentStream.position--;
+		}
+		else {
+			charReadTooMuch = ch;
+		}
+	}
+
+	/**
+	 * Scans an identifier found in the buffer of the current stream.
+	 *
+	 * @return the identifier, or null if it could not be found in the buffer
+	 */
+	String scanIdentifier() {
+		final Stream stream = currentStream;
+		if (charReadTooMuch != NO_CHARACTER) {
+			return null;
+		}
+		final char[] buffer = stream.buffer;
+		final int start = stream.position;
+		int hash = 0;
+		for (int i = start; i < stream.limit; i++) {
+			final char ch = buffer[i];
+			if ((ch == '_') || (ch == ':') || (ch == '-') || (ch == '.') || ((ch >= 'a') && (ch <= 'z'))
+			        || ((ch >= 'A') && (ch <= 'Z')) || ((ch >= '0') && (ch <= '9')) || (ch > '~')) {
+				hash = 31 * hash + ch;
+			}
+			else {
+				stream.position = i;
+				isLastCharInBuffer = false;
+				return name(buffer, start, i - start, hash);
+			}
+		}
+		return null;
+	}
+
+	private String name(final char[] buffer, final int start, final int length, final int hash) {
+		if (length == 0) {
+			return "";
+		}
+		final int index = (hash ^ (hash >>> 16)) & (NAME_TABLE_SIZE - 1);
+		final String name = names[index];
+		if (name != null && name.length() == length) {
+			int i = 0;
+			while (i < length && name.charAt(i) == buffer[start + i]) {
+				i++;
+			}
+			if (i == length) {
+				return name;
+			}
+		}
+		final String newName = new String(buffer, start, length);
+		names[index] = newName;
+		return newName;
+	}
+
+	/**
+	 * Scans the rest of a delimited string found in the buffer of the current stream
+	 * if it contains neither entities nor line breaks or tabs.
+	 *
+	 * @param delimiter
+	 *            the already read opening delimiter
+	 * @param entityChar
+	 *            the escape character (&amp; or %)
+	 * @return the string without delimiters, or null if the string has to be scanned character by character
+	 */
+	String scanPlainString(final char delimiter, final char entityChar) {
+		final Stream stream = currentStream;
+		if (charReadTooMuch != NO_CHARACTER) {
+			return null;
+		}
+		final char[] buffer = stream.buffer;
+		final int start = stream.position;
+		for (int i = start; i < stream.limit; i++) {
+			final char ch = buffer[i];
+			if (ch == delimiter) {
+				stream.position = i + 1;
+				isLastCharInBuffer = false;
+				return new String(buffer, start, i - start);
+			}
+			if (ch == '&' || ch == entityChar || ch == '\t' || ch == '\n' || ch == '\r') {
+				return null;
+			}
+		}
+		return null;
+	}
+}
@@ -26,6 +26,13 @@ import java.io.Reader;
  * @version $Name: RELEASE_2_2_1 $, $Revision: 1.5 $
  */
 class XMLUtil {
+	private static final String[] ASCII_STRINGS = new String[128];
+	static {
+		for (char ch = 0; ch < ASCII_STRINGS.length; ch++) {
+			ASCII_STRINGS[ch] = String.valueOf(ch);
+		}
+	}
+
 	/**
 	 * Returns true if the data starts with <I>literal</I>. Enough chars are
 	 * read to determine this result.
@@ -351,6 +358,9 @@ class XMLUtil {
 	 */
 	static String read(final IXMLReader reader, final char entityChar) throws IOException, XMLParseException {
 		char ch = reader.read();
+		if (ch != entityChar && ch < ASCII_STRINGS.length) {
+			return ASCII_STRINGS[ch];
+		}
 		final StringBuilder buf = new StringBuilder();
 		buf.append(ch);
 		if (ch == entityChar) {
@@ -388,6 +398,12 @@ class XMLUtil {
 	 *             if an error occurred reading the data
 	 */
 	static String scanIdentifier(final IXMLReader reader) throws IOException, XMLParseException {
+		if (reader instanceof BufferedXMLReader) {
+			final String identifier = ((BufferedXMLReader) reader).scanIdentifier();
+			if (identifier != null) {
+				return identifier;
+			}
+		}
 		final StringBuilder result = new StringBuilder();
 		for (;;) {
 			final char ch = reader.read();
@@ -445,6 +461,12 @@ class XMLUtil {
 		if ((delim != '\'') && (delim != '"')) {
 			XMLUtil.errorExpectedInput(reader.getSystemID(), reader.getLineNr(), "delimited string");
 		}
+		if (reader instanceof BufferedXMLReader) {
+			final String plainString = ((BufferedXMLReader) reader).scanPlainString(delim, entityChar);
+			if (plainString != null) {
+				return plainString;
+			}
+		}
 		for (;;) {
 			String str = XMLUtil.read(reader, entityChar);
 			final char ch = str.charAt(0);
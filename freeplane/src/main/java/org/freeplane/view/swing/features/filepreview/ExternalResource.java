@@ -1,6 +1,7 @@
 package org.freeplane.view.swing.features.filepreview;
 
 import java.awt.Dimension;
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.util.LinkedHashSet;
@@ -9,6 +10,8 @@ import java.util.Set;
 import javax.swing.JComponent;
 
 import org.freeplane.core.extension.IExtension;
+import org.freeplane.core.util.FileChangeWatcher;
+import org.freeplane.core.util.FileChangeWatcher.FileChangeListener;
 import org.freeplane.features.map.MapModel;
 import org.freeplane.features.url.UrlManager;
 import org.freeplane.view.swing.map.NodeView;
@@ -28,6 +31,31 @@ public class ExternalResource implements IExtension {
 			nodeView.removeContent(ViewerController.VIEWER_POSITION);
 		}
 		viewers.clear();
+		unwatchFile();
+	}
+
+	void watchFile(final MapModel map, final FileChangeListener listener) {
+		if (watchedFile != null)
+			return;
+		final URI absoluteUri = getAbsoluteUri(map);
+		if (absoluteUri == null || !"file".equalsIgnoreCase(absoluteUri.getScheme()))
+			return;
+		try {
+			watchedFile = new File(absoluteUri);
+		}
+		catch (IllegalArgumentException e) {
+			return;
+		}
+		fileChangeListener = listener;
+		FileChangeWatcher.INSTANCE.watch(watchedFile, fileChangeListener);
+	}
+
+	void unwatchFile() {
+		if (watchedFile == null)
+			return;
+		FileChangeWatcher.INSTANCE.unwatch(watchedFile, fileChangeListener);
+		watchedFile = null;
+		fileChangeListener = null;
 	}
 
 	public Set<NodeView> getViewers() {
@@ -51,6 +79,8 @@ public class ExternalResource implements IExtension {
 
 	final private URI uri;
 	private float zoom = -1f;
+	private File watchedFile;
+	private FileChangeListener fileChangeListener;
 
 	public float getZoom() {
 		return zoom;
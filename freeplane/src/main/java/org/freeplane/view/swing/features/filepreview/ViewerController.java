@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -639,6 +640,7 @@ public class ViewerController extends PersistentNodeHook implements INodeViewLif
 		viewer.setBorder(VIEWER_BORDER_INSTANCE);
 		final Set<NodeView> viewers = resource.getViewers();
 		viewers.add(view);
+		resource.watchFile(map.getMap(), file -> reloadViewers(resource));
 		viewer.setBounds(viewer.getX() - 5, viewer.getY() - 5, viewer.getWidth() + 15, viewer.getHeight() + 15);
 		view.addContent(viewer, VIEWER_POSITION);
 		if(map.getModeController().canEdit()){
@@ -660,6 +662,16 @@ public class ViewerController extends PersistentNodeHook implements INodeViewLif
 		}
 		nodeView.removeContent(VIEWER_POSITION);
 		viewers.remove(nodeView);
+		if (viewers.isEmpty())
+			model.unwatchFile();
+	}
+
+	private void reloadViewers(final ExternalResource resource) {
+		for (final NodeView nodeView : new ArrayList<>(resource.getViewers())) {
+			nodeView.removeContent(VIEWER_POSITION);
+			resource.getViewers().remove(nodeView);
+			createViewer(resource, nodeView);
+		}
 	}
 
 	@Override
@@ -42,6 +42,11 @@ class ReminderConditionExecuted extends ASelectableCondition {
 		return before;
 	}
 
+	@Override
+	public boolean checksExternalState() {
+		return true;
+	}
+
 	@Override
 	protected String createDescription() {
 		final String reminder = TextUtils.getText(ReminderConditionController.FILTER_REMINDER);
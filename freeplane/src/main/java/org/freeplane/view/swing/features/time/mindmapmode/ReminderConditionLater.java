@@ -42,6 +42,11 @@ class ReminderConditionLater extends ASelectableCondition {
 		return later;
 	}
 
+	@Override
+	public boolean checksExternalState() {
+		return true;
+	}
+
 	@Override
 	protected String createDescription() {
 		final String reminder = TextUtils.getText(ReminderConditionController.FILTER_REMINDER);
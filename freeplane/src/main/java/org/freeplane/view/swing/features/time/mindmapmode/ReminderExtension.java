@@ -19,24 +19,17 @@
  */
 package org.freeplane.view.swing.features.time.mindmapmode;
 
-import java.awt.event.ActionEvent;
 import java.time.Duration;
 
 import javax.swing.SwingUtilities;
-import javax.swing.Timer;
 
 import org.freeplane.core.extension.IExtension;
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.ui.components.UITools;
 import org.freeplane.core.util.LogUtils;
 import org.freeplane.core.util.TextUtils;
-import org.freeplane.features.map.IMapChangeListener;
-import org.freeplane.features.map.IMapLifeCycleListener;
-import org.freeplane.features.map.MapController;
 import org.freeplane.features.map.MapModel;
-import org.freeplane.features.map.NodeDeletionEvent;
 import org.freeplane.features.map.NodeModel;
-import org.freeplane.features.map.NodeMoveEvent;
 import org.freeplane.features.mode.Controller;
 import org.freeplane.features.mode.ModeController;
 import org.freeplane.features.script.IScriptStarter;
@@ -45,7 +38,7 @@ import org.freeplane.view.swing.features.time.mindmapmode.nodelist.ShowPastRemin
 /**
  * @author Dimitry Polivaev 30.11.2008
  */
-public class ReminderExtension implements IExtension, IMapChangeListener, IMapLifeCycleListener {
+public class ReminderExtension implements IExtension {
     private static final ShowPastRemindersOnce pastReminders = new ShowPastRemindersOnce();
     private static final int BLINKING_PERIOD = 1000;
     private static final int MAXIMAL_DELAY = (int) Duration.ofMinutes(5).toMillis();
@@ -59,7 +52,7 @@ public class ReminderExtension implements IExtension, IMapChangeListener, IMapLi
     private long remindUserAt = 0;
     private PeriodUnit periodUnit;
     private int period;
-    private Timer timer;
+    private boolean isTimerActive = false;
     private String script;
     private final ReminderHook reminderController;
     private boolean stateAdded = false;
@@ -69,9 +62,6 @@ public class ReminderExtension implements IExtension, IMapChangeListener, IMapLi
     public ReminderExtension(ReminderHook reminderController, final NodeModel node) {
         this.reminderController = reminderController;
         this.node = node;
-        MapController mapController = this.reminderController.getModeController().getMapController();
-        mapController.addUIMapChangeListener(this);
-        mapController.addMapLifeCycleListener(this);
     }
 
     public NodeModel getNode() {
@@ -122,12 +112,8 @@ public class ReminderExtension implements IExtension, IMapChangeListener, IMapLi
     void scheduleTimer() {
         long timeBeforeReminder = remindUserAt - System.currentTimeMillis();
         reminderInThePast = timeBeforeReminder < - MAXIMAL_DELAY;
-        int delay = (int) Math.min(Integer.MAX_VALUE, Math.max(0, timeBeforeReminder));
-        if (timer == null) {
-            timer = new Timer(delay, this::remind);
-            timer.setRepeats(false);
-        }
-        timer.start();
+        isTimerActive = true;
+        reminderController.getScheduler().schedule(this, remindUserAt);
         final NodeModel node = getNode();
         if(reminderInThePast)
             pastReminders.addNode(node);
@@ -136,12 +122,12 @@ public class ReminderExtension implements IExtension, IMapChangeListener, IMapLi
 
 
     void deactivateTimer() {
-        if (timer == null) {
+        if (! isTimerActive) {
             return;
         }
         removeStateIcon(getNode());
-        timer.stop();
-        timer = null;
+        reminderController.getScheduler().remove(this);
+        isTimerActive = false;
     }
 
     private boolean isAncestorNode(final NodeModel parent) {
@@ -157,8 +143,8 @@ public class ReminderExtension implements IExtension, IMapChangeListener, IMapLi
         return script != null && ! script.isEmpty();
     }
 
-    private void remind(ActionEvent e) {
-        if(node.getMap().getNodeForID(node.getID()) != node)
+    void remind() {
+        if(! isTimerActive || node.getMap().getNodeForID(node.getID()) != node)
             return;
         if(! alreadyExecuted && remindUserAt > System.currentTimeMillis()) {
             scheduleTimer();
@@ -182,10 +168,8 @@ public class ReminderExtension implements IExtension, IMapChangeListener, IMapLi
         }
         stateAdded = !stateAdded;
         blink(stateAdded);
-        if(timer != null) {
-            timer.setInitialDelay(BLINKING_PERIOD);
-            timer.start();
-        }
+        if(isTimerActive)
+            reminderController.getScheduler().schedule(this, System.currentTimeMillis() + BLINKING_PERIOD);
     }
 
     public void runScript() {
@@ -232,7 +216,7 @@ public class ReminderExtension implements IExtension, IMapChangeListener, IMapLi
         }
     }
 
-    private static void removeStateIcon(final NodeModel pNode) {
+    static void removeStateIcon(final NodeModel pNode) {
         if(pNode.containsExtension(ReminderExtension.class))
             pNode.putExtension(ClockState.CLOCK_VISIBLE);
         else
@@ -243,24 +227,4 @@ public class ReminderExtension implements IExtension, IMapChangeListener, IMapLi
             removeStateIcon(parentNode);
         }
     }
-
-    @Override
-    public void onPreNodeDelete(NodeDeletionEvent nodeDeletionEvent) {
-        removeStateIcon(nodeDeletionEvent.parent);
-    }
-
-    @Override
-    public void onPreNodeMoved(NodeMoveEvent nodeMoveEvent) {
-        removeStateIcon(nodeMoveEvent.oldParent);
-    }
-
-    @Override
-    public void onRemove(MapModel map) {
-        if(node.getMap() == map) {
-            deactivateTimer();
-            MapController mapController = this.reminderController.getModeController().getMapController();
-            mapController.removeMapChangeListener(this);
-            mapController.removeMapLifeCycleListener(this);
-        }
-    }
 }
@@ -117,6 +117,7 @@ public class ReminderHook extends PersistentNodeHook implements IExtension {
 	private static final String SCRIPT = "SCRIPT";
 	private static final Integer REMINDER_TOOLTIP = 12;
 	private final ModeController modeController;
+	private final ReminderScheduler scheduler;
 
 	/**
 	 *
@@ -124,6 +125,10 @@ public class ReminderHook extends PersistentNodeHook implements IExtension {
 	public ReminderHook(ModeController modeController){
 		super();
 		this.modeController = modeController;
+		scheduler = new ReminderScheduler();
+		final MapController mapController = modeController.getMapController();
+		mapController.addUIMapChangeListener(scheduler);
+		mapController.addMapLifeCycleListener(scheduler);
 		registerAction(new TimeManagementAction(this));
 		registerAction(new ReminderListAction());
 		registerAction(new OldReminderListAction());
@@ -272,10 +277,7 @@ public class ReminderHook extends PersistentNodeHook implements IExtension {
 	@Override
 	public void remove(final NodeModel node, final IExtension extension) {
 		final ReminderExtension reminderExtension = (ReminderExtension) extension;
-		final MapController mapController = modeController.getMapController();
-		mapController.removeMapChangeListener(reminderExtension);
-		mapController.removeMapLifeCycleListener(reminderExtension);
-		mapController.mapSaved(node.getMap(), false);
+		modeController.getMapController().mapSaved(node.getMap(), false);
 		super.remove(node, extension);
 		reminderExtension.deactivateTimer();
 	}
@@ -297,6 +299,14 @@ public class ReminderHook extends PersistentNodeHook implements IExtension {
 	}
 
 
+	ReminderScheduler getScheduler() {
+		return scheduler;
+	}
+
+	public int getPendingReminderCount() {
+		return scheduler.getScheduledReminderCount();
+	}
+
 	ModeController getModeController() {
     	return modeController;
     }
@@ -0,0 +1,133 @@
+package org.freeplane.view.swing.features.time.mindmapmode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import javax.swing.Timer;
+
+import org.freeplane.features.map.IMapChangeListener;
+import org.freeplane.features.map.IMapLifeCycleListener;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeDeletionEvent;
+import org.freeplane.features.map.NodeMoveEvent;
+
+/**
+ * Keeps the reminders of all maps in one queue ordered by their time.
+ * A single timer fires all reminders due at once on the event dispatch thread.
+ */
+class ReminderScheduler implements IMapChangeListener, IMapLifeCycleListener {
+	private static class ScheduledReminder implements Comparable<ScheduledReminder> {
+		final ReminderExtension reminder;
+		final long time;
+		final long sequenceNumber;
+
+		ScheduledReminder(ReminderExtension reminder, long time, long sequenceNumber) {
+			this.reminder = reminder;
+			this.time = time;
+			this.sequenceNumber = sequenceNumber;
+		}
+
+		@Override
+		public int compareTo(ScheduledReminder other) {
+			final int timeComparison = Long.compare(time, other.time);
+			return timeComparison != 0 ? timeComparison : Long.compare(sequenceNumber, other.sequenceNumber);
+		}
+	}
+
+	private final TreeSet<ScheduledReminder> queue = new TreeSet<>();
+	private final Map<ReminderExtension, ScheduledReminder> scheduledReminders = new HashMap<>();
+	private final Timer timer;
+	private long sequenceNumber = 0;
+
+	ReminderScheduler() {
+		timer = new Timer(0, e -> fireDueReminders(System.currentTimeMillis()));
+		timer.setRepeats(false);
+	}
+
+	synchronized void schedule(ReminderExtension reminder, long time) {
+		final ScheduledReminder first = queue.isEmpty() ? null : queue.first();
+		unschedule(reminder);
+		final ScheduledReminder scheduledReminder = new ScheduledReminder(reminder, time, sequenceNumber++);
+		queue.add(scheduledReminder);
+		scheduledReminders.put(reminder, scheduledReminder);
+		if(first != queue.first())
+			restartTimer();
+	}
+
+	synchronized void remove(ReminderExtension reminder) {
+		final ScheduledReminder first = queue.isEmpty() ? null : queue.first();
+		unschedule(reminder);
+		if(queue.isEmpty())
+			timer.stop();
+		else if(first != queue.first())
+			restartTimer();
+	}
+
+	private void unschedule(ReminderExtension reminder) {
+		final ScheduledReminder scheduledReminder = scheduledReminders.remove(reminder);
+		if(scheduledReminder != null)
+			queue.remove(scheduledReminder);
+	}
+
+	private void restartTimer() {
+		final long delay = queue.first().time - System.currentTimeMillis();
+		timer.setInitialDelay((int) Math.min(Integer.MAX_VALUE, Math.max(0, delay)));
+		timer.restart();
+	}
+
+	synchronized boolean isScheduled(ReminderExtension reminder) {
+		return scheduledReminders.containsKey(reminder);
+	}
+
+	synchronized int getScheduledReminderCount() {
+		return queue.size();
+	}
+
+	void fireDueReminders(long now) {
+		for(ReminderExtension reminder : pollDueReminders(now))
+			reminder.remind();
+	}
+
+	private synchronized List<ReminderExtension> pollDueReminders(long now) {
+		final List<ReminderExtension> dueReminders = new ArrayList<>();
+		while(! queue.isEmpty() && queue.first().time <= now) {
+			final ReminderExtension reminder = queue.pollFirst().reminder;
+			scheduledReminders.remove(reminder);
+			dueReminders.add(reminder);
+		}
+		if(queue.isEmpty())
+			timer.stop();
+		else
+			restartTimer();
+		return dueReminders;
+	}
+
+	private synchronized List<ReminderExtension> getScheduledReminders(MapModel map) {
+		final List<ReminderExtension> reminders = new ArrayList<>();
+		for(ReminderExtension reminder : scheduledReminders.keySet())
+			if(reminder.getNode().getMap() == map)
+				reminders.add(reminder);
+		return reminders;
+	}
+
+	@Override
+	public void onPreNodeDelete(NodeDeletionEvent nodeDeletionEvent) {
+		if(getScheduledReminderCount() > 0)
+			ReminderExtension.removeStateIcon(nodeDeletionEvent.parent);
+	}
+
+	@Override
+	public void onPreNodeMoved(NodeMoveEvent nodeMoveEvent) {
+		if(getScheduledReminderCount() > 0)
+			ReminderExtension.removeStateIcon(nodeMoveEvent.oldParent);
+	}
+
+	@Override
+	public void onRemove(MapModel map) {
+		for(ReminderExtension reminder : getScheduledReminders(map))
+			reminder.deactivateTimer();
+	}
+}
@@ -0,0 +1,87 @@
+package org.freeplane.view.swing.map;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import org.freeplane.features.link.ConnectorModel;
+
+/**
+ * Grid of connector bounds in map view coordinates.
+ * It finds the connectors near the viewport without visiting all node views,
+ * stays valid while the map view is scrolled and is created again after it has been laid out.
+ */
+class ConnectorIndex {
+	private static final int MINIMAL_CELL_SIZE = 256;
+	private static final int MAXIMAL_CELLS_PER_DIMENSION = 64;
+
+	private final ConnectorModel[] connectors;
+	private final Rectangle[] bounds;
+	private final int cellSize;
+	private final int columns;
+	private final int rows;
+	private final int[] cellStarts;
+	private final int[] cellConnectors;
+
+	/**
+	 * @param connectorBounds bounds of connector end points in the order connectors are painted
+	 * @param size size of the map view
+	 */
+	ConnectorIndex(Map<ConnectorModel, Rectangle> connectorBounds, Dimension size) {
+		connectors = connectorBounds.keySet().toArray(new ConnectorModel[connectorBounds.size()]);
+		bounds = connectorBounds.values().toArray(new Rectangle[connectors.length]);
+		final int longerSide = Math.max(size.width, size.height);
+		cellSize = Math.max(MINIMAL_CELL_SIZE, (longerSide + MAXIMAL_CELLS_PER_DIMENSION - 1) / MAXIMAL_CELLS_PER_DIMENSION);
+		columns = Math.max(1, (size.width + cellSize - 1) / cellSize);
+		rows = Math.max(1, (size.height + cellSize - 1) / cellSize);
+		final int[] starts = new int[columns * rows + 1];
+		for (Rectangle rectangle : bounds)
+			forEachCell(rectangle, cell -> starts[cell + 1]++);
+		for (int cell = 1; cell < starts.length; cell++)
+			starts[cell] += starts[cell - 1];
+		final int[] entries = new int[starts[starts.length - 1]];
+		final int[] nextEntries = new int[columns * rows];
+		System.arraycopy(starts, 0, nextEntries, 0, nextEntries.length);
+		for (int i = 0; i < bounds.length; i++) {
+			final int connectorIndex = i;
+			forEachCell(bounds[i], cell -> entries[nextEntries[cell]++] = connectorIndex);
+		}
+		cellStarts = starts;
+		cellConnectors = entries;
+	}
+
+	/** Returns connectors whose bounds intersect the area in the order they were given. */
+	List<ConnectorModel> connectorsIntersecting(Rectangle area) {
+		final BitSet candidates = new BitSet(connectors.length);
+		forEachCell(area, cell -> {
+			for (int entry = cellStarts[cell]; entry < cellStarts[cell + 1]; entry++)
+				candidates.set(cellConnectors[entry]);
+		});
+		final List<ConnectorModel> foundConnectors = new ArrayList<>();
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			if (area.intersects(bounds[i]))
+				foundConnectors.add(connectors[i]);
+		}
+		return foundConnectors;
+	}
+
+	private void forEachCell(Rectangle rectangle, IntConsumer consumer) {
+		final int lastColumn = column(rectangle.x + rectangle.width);
+		final int lastRow = row(rectangle.y + rectangle.height);
+		for (int row = row(rectangle.y); row <= lastRow; row++)
+			for (int column = column(rectangle.x); column <= lastColumn; column++)
+				consumer.accept(row * columns + column);
+	}
+
+	private int column(int x) {
+		return Math.max(0, Math.min(columns - 1, x / cellSize));
+	}
+
+	private int row(int y) {
+		return Math.max(0, Math.min(rows - 1, y / cellSize));
+	}
+}
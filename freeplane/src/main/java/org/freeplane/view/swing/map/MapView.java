@@ -55,8 +55,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.Vector;
@@ -67,6 +69,7 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JViewport;
 import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeListener;
 
 import org.freeplane.api.ChildNodesAlignment;
 import org.freeplane.api.ChildrenSides;
@@ -677,6 +680,8 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	static private Color selectionRectangleColor;
 	/** Used to identify a right click onto a link curve. */
 	private Vector<ILinkView> arrowLinkViews;
+	/** Connectors of the current layout, created when painted. */
+	private ConnectorIndex connectorIndex;
 	private ScalableComponent backgroundComponent;
 	private Rectangle boundingRectangle = null;
 	private FitMap fitMap = FitMap.USER_DEFINED;
@@ -717,6 +722,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	private static int draggingAreaWidth;
 
 	final private ComponentAdapter viewportSizeChangeListener;
+	private final ChangeListener viewportChangeListener = e -> addDragAndDropListenersToVisibleNodes();
 	private final INodeChangeListener connectorChangeListener;
 	private boolean scrollsViewAfterLayout = true;
 	private boolean allowsCompactLayout;
@@ -782,8 +788,10 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 			@Override
 			public void nodeChanged(final NodeChangeEvent event) {
 				if(NodeLinks.CONNECTOR.equals(event.getProperty()) &&
-						event.getNode().getMap().equals(getMap()))
+						event.getNode().getMap().equals(getMap())) {
+					connectorIndex = null;
 					repaint();
+				}
 			}
 		};
 		addPropertyChangeListener(SPOTLIGHT_ENABLED, repaintOnClientPropertyChangeListener);
@@ -908,12 +916,14 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	    super.addNotify();
 	    modeController.getMapController().addUINodeChangeListener(connectorChangeListener);
 	    getParent().addComponentListener(viewportSizeChangeListener);
+	    ((JViewport) getParent()).addChangeListener(viewportChangeListener);
     }
 
 	@Override
     public void removeNotify() {
 		modeController.getMapController().removeNodeChangeListener(connectorChangeListener);
 		getParent().removeComponentListener(viewportSizeChangeListener);
+		((JViewport) getParent()).removeChangeListener(viewportChangeListener);
 	    super.removeNotify();
     }
 
@@ -2090,7 +2100,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 				final ConnectorModel ref = (ConnectorModel) next;
 				if (alreadyPaintedLinks.add(ref)) {
 				    if(! ref.isVisible(getFilter()))
-				        return;
+				        continue;
 					final NodeModel source = ref.getSource();
 					final NodeView sourceView = getDisplayedNodeView(source);
 					NodeModel target = ref.getTarget();
@@ -2112,7 +2122,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 						else if(areBothNodesVisible || ! hideSingleEndConnectors)
 							arrowLink = new ConnectorView(ref, sourceView, targetView, getBackground());
 						else
-							break;
+							continue;
 						arrowLink.paint(graphics);
 						arrowLinkViews.add(arrowLink);
 					}
@@ -2127,7 +2137,12 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	private boolean isConnectorVisibleOnView(NodeView sourceView, NodeView targetView) {
 	    if(paintingPurpose == PaintingPurpose.PRINTING)
 	        return true;
+	    final Rectangle connectorRectangle = getConnectorBounds(sourceView, targetView);
+	    return connectorRectangle != null && getConnectorPaintingArea().intersects(connectorRectangle);
+	}
 
+	/** Union of the visible end point bounds in map view coordinates, or null if no end point is visible. */
+	private Rectangle getConnectorBounds(NodeView sourceView, NodeView targetView) {
         Rectangle sourceRectangle = sourceView != null && sourceView.isContentVisible()
                 ? SwingUtilities.convertRectangle(sourceView, sourceView.getMainView().getBounds(), this)
                         : null;
@@ -2136,30 +2151,68 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
                 ? SwingUtilities.convertRectangle(targetView, targetView.getMainView().getBounds(), this)
                         : null;
 
-        if(sourceRectangle == null && targetRectangle == null)
-            return false;
-
-        Rectangle connectorRectangle = sourceRectangle == null ? targetRectangle :
+        return sourceRectangle == null ? targetRectangle :
             targetRectangle == null ? sourceRectangle : sourceRectangle.union(targetRectangle);
+	}
 
+	private Rectangle getConnectorPaintingArea() {
         final JViewport vp = (JViewport) getParent();
         final Rectangle viewRect = vp.getViewRect();
         viewRect.x -= viewRect.width;
         viewRect.y -= viewRect.height;
         viewRect.width *= 3;
         viewRect.height *= 3;
-        return viewRect.intersects(connectorRectangle);
+        return viewRect;
 	}
 
     private void paintConnectors(final Graphics2D graphics) {
 		arrowLinkViews = new Vector<ILinkView>();
 		final Object renderingHint = getModeController().getController().getMapViewManager().setEdgesRenderingHint(
 		    graphics);
-		if(hasNodeLinks())
-			paintConnectors(currentRootView, graphics, new HashSet<ConnectorModel>());
+		if(hasNodeLinks()) {
+			if(paintingPurpose == PaintingPurpose.PAINTING && ! containsExtension(Connectors.class)) {
+				final List<ConnectorModel> connectors = getConnectorIndex().connectorsIntersecting(getConnectorPaintingArea());
+				paintConnectors(connectors, graphics, new HashSet<ConnectorModel>());
+			}
+			else
+				paintConnectors(currentRootView, graphics, new HashSet<ConnectorModel>());
+		}
 		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, renderingHint);
 	}
 
+	private ConnectorIndex getConnectorIndex() {
+		if(connectorIndex == null) {
+			final Map<ConnectorModel, Rectangle> connectorBounds = new LinkedHashMap<>();
+			collectConnectors(currentRootView, connectorBounds);
+			connectorIndex = new ConnectorIndex(connectorBounds, getSize());
+		}
+		return connectorIndex;
+	}
+
+	private void collectConnectors(final NodeView source, final Map<ConnectorModel, Rectangle> connectorBounds) {
+		final NodeModel node = source.getNode();
+		collectConnectors(getLinksFrom(node), connectorBounds);
+		collectConnectors(getLinksTo(node), connectorBounds);
+		final int nodeViewCount = source.getComponentCount();
+		for (int i = 0; i < nodeViewCount; i++) {
+			final Component component = source.getComponent(i);
+			if (component instanceof NodeView && ((NodeView) component).isSubtreeVisible())
+				collectConnectors((NodeView) component, connectorBounds);
+		}
+	}
+
+	private void collectConnectors(final Collection<? extends NodeLinkModel> links, final Map<ConnectorModel, Rectangle> connectorBounds) {
+		for (final NodeLinkModel link : links) {
+			if (link instanceof ConnectorModel && ! connectorBounds.containsKey(link)) {
+				final ConnectorModel connector = (ConnectorModel) link;
+				final Rectangle bounds = getConnectorBounds(getDisplayedNodeView(connector.getSource()),
+				    getDisplayedNodeView(connector.getTarget()));
+				if (bounds != null)
+					connectorBounds.put(connector, bounds);
+			}
+		}
+	}
+
 	private void paintConnectors(final NodeView source, final Graphics2D graphics, final HashSet<ConnectorModel> alreadyPaintedConnectors) {
 		final NodeModel node = source.getNode();
 		final Collection<? extends NodeLinkModel> outLinks = getLinksFrom(node);
@@ -2624,12 +2677,20 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	@Override
 	protected void validateTree() {
 		if(isDisplayable()) {
+			connectorIndex = null;
 			validateSelecteds();
 			getRoot().validateTree();
 			super.validateTree();
+			addDragAndDropListenersToVisibleNodes();
 		}
 	}
 
+	private void addDragAndDropListenersToVisibleNodes() {
+		final NodeView root = getRoot();
+		if(root != null && isDisplayable())
+			root.addDragAndDropListeners(SwingUtilities.convertRectangle(this, getVisibleRect(), root));
+	}
+
 	public void repaintVisible() {
 		final JViewport vp = (JViewport) getParent();
 		repaint(vp.getViewRect());
@@ -425,25 +425,39 @@ public class MapViewController implements IMapViewManager , IMapViewChangeListen
 	public RenderedImage createImage(int dpi, final Rectangle printedArea) {
 		final MapView view = getMapView();
 		view.preparePrinting();
-		final BufferedImage myImage = printToImage(dpi, view, printedArea);
-		view.endPrinting();
-		return myImage;
-	}
-
-	private BufferedImage printToImage(int dpi, final MapView view, final Rectangle innerBounds) {
 		double scaleFactor = (double) dpi / (double) (UITools.FONT_SCALE_FACTOR * 72);
 
-		double scaledWidth = innerBounds.width * scaleFactor;
-		double scaledHeight = innerBounds.height * scaleFactor;
-		if(scaledWidth * scaledHeight > Integer.MAX_VALUE) {
+		double scaledWidth = printedArea.width * scaleFactor;
+		double scaledHeight = printedArea.height * scaleFactor;
+		if(scaledWidth > Integer.MAX_VALUE || scaledHeight > Integer.MAX_VALUE) {
+		    view.endPrinting();
 		    UITools.errorMessage(TextUtils.getText("out_of_memory"));
 		    return null;
         }
 		int imageWidth = (int) Math.ceil(scaledWidth);
         int imageHeight = (int) Math.ceil(scaledHeight);
+		boolean paintedInStrips = false;
+		try {
+			if((long)imageWidth * imageHeight > StripPaintedImage.MAXIMAL_STRIP_SIZE) {
+				final StripPaintedImage stripPaintedImage = new StripPaintedImage(imageWidth, imageHeight, StripPaintedImage.MAXIMAL_STRIP_SIZE,
+						g -> printToImage(g, view, scaleFactor, printedArea, imageWidth, imageHeight), view::endPrinting);
+				paintedInStrips = true;
+				return stripPaintedImage;
+			}
+			final BufferedImage myImage = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
+			final Graphics2D g = (Graphics2D) myImage.getGraphics();
+			printToImage(g, view, scaleFactor, printedArea, imageWidth, imageHeight);
+			g.dispose();
+			return myImage;
+		}
+		finally {
+			if(! paintedInStrips)
+				view.endPrinting();
+		}
+	}
 
-		final BufferedImage myImage = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
-		final Graphics2D g = (Graphics2D) myImage.getGraphics();
+	private void printToImage(final Graphics2D g, final MapView view, double scaleFactor, final Rectangle innerBounds,
+			int imageWidth, int imageHeight) {
 		Color background = view.getBackground();
         if(background == null) {
             background = SystemColor.window;
@@ -455,7 +469,6 @@ public class MapViewController implements IMapViewManager , IMapViewChangeListen
 		g.translate(-innerBounds.x, -innerBounds.y);
 		g.setRenderingHint(GraphicsHints.CACHE_ICONS, Boolean.TRUE);
 		view.print(g);
-		return myImage;
 	}
 
 	/* (non-Javadoc)
@@ -129,6 +129,7 @@ public class NodeView extends JComponent implements INodeView {
 	private AttributeView attributeView;
 	private JComponent contentPane;
 	private MainView mainView;
+	private boolean dragAndDropListenersAdded = false;
 	private final MapView map;
 	private NodeModel viewedNode;
 	private NodeView lastSelectedChild;
@@ -1636,6 +1637,7 @@ public class NodeView extends JComponent implements INodeView {
 			add(newMainView);
 		}
 		mainView = newMainView;
+		dragAndDropListenersAdded = false;
 		ModeController modeController = getModeController();
 		if(modeController.canEdit(getNode())) {
 			final IUserInputListenerFactory userInputListenerFactory = modeController
@@ -1644,8 +1646,33 @@ public class NodeView extends JComponent implements INodeView {
 			mainView.addMouseMotionListener(userInputListenerFactory.getNodeMouseMotionListener());
 			mainView.addMouseWheelListener(userInputListenerFactory.getNodeMouseWheelListener());
 			mainView.addKeyListener(userInputListenerFactory.getNodeKeyListener());
-			addDragListener(userInputListenerFactory.getNodeDragListener());
-			addDropListener(userInputListenerFactory.getNodeDropTargetListener());
+		}
+	}
+
+	/**
+	 * Adds drag and drop listeners to the views whose content intersects the given area.
+	 * Views of large unfolded maps are mostly outside of the viewport,
+	 * so drag gesture recognizers and drop targets are only created for views when they become visible.
+	 * The bounds of a node view contain the views of its children.
+	 *
+	 * @param area in the coordinates of this view
+	 */
+	void addDragAndDropListeners(final Rectangle area) {
+		if(! area.intersects(0, 0, getWidth(), getHeight()))
+			return;
+		final JComponent content = getContent();
+		if(! dragAndDropListenersAdded && content != null && area.intersects(content.getBounds())) {
+			dragAndDropListenersAdded = true;
+			ModeController modeController = getModeController();
+			if(modeController.canEdit(getNode())) {
+				final IUserInputListenerFactory userInputListenerFactory = modeController
+						.getUserInputListenerFactory();
+				addDragListener(userInputListenerFactory.getNodeDragListener());
+				addDropListener(userInputListenerFactory.getNodeDropTargetListener());
+			}
+		}
+		for (final NodeView child : getChildrenViews()) {
+			child.addDragAndDropListeners(new Rectangle(area.x - child.getX(), area.y - child.getY(), area.width, area.height));
 		}
 	}
 
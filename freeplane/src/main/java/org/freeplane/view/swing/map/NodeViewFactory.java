@@ -69,11 +69,11 @@ class NodeViewFactory {
 	}
 
 	MainView newMainView(final NodeView node) {
-		final MainView view = new MainView();
 		NodeGeometryModel shapeConfiguration = shapeConfiguration(node, node.getStyleOption());
 		final MainView oldView = node.getMainView();
 		if(oldView != null && oldView.getShapeConfiguration().equals(shapeConfiguration))
 			return oldView;
+		final MainView view = new MainView();
 		final MainViewPainter shape = createViewPainter(view, shapeConfiguration);
 		view.setPainter(shape);
 
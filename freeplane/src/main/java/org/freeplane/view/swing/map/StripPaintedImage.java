@@ -0,0 +1,196 @@
+package org.freeplane.view.swing.map;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Vector;
+import java.util.function.Consumer;
+
+/**
+ * Image painted on demand in horizontal strips of bounded size.
+ * Only the last painted strip is kept, so that image writers reading the image row by row
+ * like the PNG writer need memory proportional to the image width instead of its area.
+ * The strips are painted in the thread reading the image.
+ * The image must be closed if it is not read completely.
+ */
+class StripPaintedImage implements RenderedImage, AutoCloseable {
+	static final int MAXIMAL_STRIP_SIZE = 1 << 24;
+	// Java2D draws non antialiased curves crossing the lower clip edge of images higher than 16384 rows
+	// one row below the clip. Strips are kept at half of that height,
+	// and the strip buffer has a guard row below the painted rows for such pixels.
+	private static final int MAXIMAL_STRIP_HEIGHT = 1 << 13;
+	private static final int GUARD_ROWS = 1;
+
+	private final int width;
+	private final int height;
+	private final Consumer<Graphics2D> painter;
+	private final Runnable finisher;
+	private final int stripHeight;
+	private final BufferedImage strip;
+	private final Raster stripRows;
+	private int paintedStrip = -1;
+	private boolean closed = false;
+
+	/**
+	 * @param maximalStripSize maximal number of pixels painted at once
+	 * @param painter paints the whole image area, the graphics is clipped and translated to the painted strip
+	 * @param finisher runs after the last strip has been painted or when the image is closed before
+	 */
+	StripPaintedImage(int width, int height, int maximalStripSize, Consumer<Graphics2D> painter, Runnable finisher) {
+		this.width = width;
+		this.height = height;
+		this.painter = painter;
+		this.finisher = finisher;
+		this.stripHeight = Math.max(1, Math.min(Math.min(height, MAXIMAL_STRIP_HEIGHT), maximalStripSize / Math.max(1, width)));
+		this.strip = new BufferedImage(width, stripHeight + GUARD_ROWS, BufferedImage.TYPE_INT_RGB);
+		this.stripRows = strip.getRaster().createChild(0, 0, width, stripHeight, 0, 0, null);
+	}
+
+	private void paintStrip(int stripIndex) {
+		if (paintedStrip == stripIndex)
+			return;
+		final Graphics2D g = strip.createGraphics();
+		try {
+			g.setClip(0, 0, width, stripHeight);
+			g.translate(0, -stripIndex * stripHeight);
+			painter.accept(g);
+		}
+		finally {
+			g.dispose();
+		}
+		paintedStrip = stripIndex;
+		if (stripIndex == getNumYTiles() - 1)
+			close();
+	}
+
+	/** Runs the finisher unless it has already run. */
+	@Override
+	public void close() {
+		if (closed)
+			return;
+		closed = true;
+		finisher.run();
+	}
+
+	@Override
+	public Raster getTile(int tileX, int tileY) {
+		final int tileTop = tileY * stripHeight;
+		return getData(new Rectangle(0, tileTop, width, Math.min(stripHeight, height - tileTop)));
+	}
+
+	@Override
+	public Raster getData() {
+		return getData(new Rectangle(0, 0, width, height));
+	}
+
+	@Override
+	public Raster getData(Rectangle rect) {
+		final WritableRaster raster = stripRows.createCompatibleWritableRaster(rect.x, rect.y, rect.width, rect.height);
+		return copyData(raster);
+	}
+
+	@Override
+	public WritableRaster copyData(WritableRaster raster) {
+		final WritableRaster target = raster != null ? raster : stripRows.createCompatibleWritableRaster(width, height);
+		final Rectangle bounds = target.getBounds().intersection(new Rectangle(0, 0, width, height));
+		if (bounds.isEmpty())
+			return target;
+		final int lastStrip = (bounds.y + bounds.height - 1) / stripHeight;
+		for (int stripIndex = bounds.y / stripHeight; stripIndex <= lastStrip; stripIndex++) {
+			paintStrip(stripIndex);
+			target.setRect(0, stripIndex * stripHeight, stripRows);
+		}
+		return target;
+	}
+
+	@Override
+	public Vector<RenderedImage> getSources() {
+		return null;
+	}
+
+	@Override
+	public Object getProperty(String name) {
+		return Image.UndefinedProperty;
+	}
+
+	@Override
+	public String[] getPropertyNames() {
+		return null;
+	}
+
+	@Override
+	public ColorModel getColorModel() {
+		return strip.getColorModel();
+	}
+
+	@Override
+	public SampleModel getSampleModel() {
+		return stripRows.getSampleModel();
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public int getMinX() {
+		return 0;
+	}
+
+	@Override
+	public int getMinY() {
+		return 0;
+	}
+
+	@Override
+	public int getNumXTiles() {
+		return 1;
+	}
+
+	@Override
+	public int getNumYTiles() {
+		return (height + stripHeight - 1) / stripHeight;
+	}
+
+	@Override
+	public int getMinTileX() {
+		return 0;
+	}
+
+	@Override
+	public int getMinTileY() {
+		return 0;
+	}
+
+	@Override
+	public int getTileWidth() {
+		return width;
+	}
+
+	@Override
+	public int getTileHeight() {
+		return stripHeight;
+	}
+
+	@Override
+	public int getTileGridXOffset() {
+		return 0;
+	}
+
+	@Override
+	public int getTileGridYOffset() {
+		return 0;
+	}
+}
@@ -466,7 +466,7 @@ public class ConnectorView extends AConnectorView{
 	          middleLabel = linkController.getMiddleLabel(viewedConnector);
 
 		final String targetLabel = linkController.getTargetLabel(viewedConnector);
-		if (sourceLabel == null && middleLabel == null && targetLabel == null) {
+		if (isEmpty(sourceLabel) && isEmpty(middleLabel) && isEmpty(targetLabel)) {
 			return;
 		}
 
@@ -494,12 +494,16 @@ public class ConnectorView extends AConnectorView{
 				middleTextRectangle = drawEndPointText(g, middleLabel, endPoint2, endPoint);
 			}
 		}
-                if (startPoint != null && endPoint != null) {
+                if (startPoint != null && endPoint != null && ! isEmpty(middleLabel)) {
                     middleTextRectangle = drawMiddleLabel(g, middleLabel, getCenterPoint());
 		}
 		g.setFont(oldFont);
     }
 
+	private boolean isEmpty(final String label) {
+		return label == null || label.equals("");
+	}
+
     private LinkController getLinkController() {
         return LinkController.getController(getModeController());
     }
@@ -1,6 +1,7 @@
 package org.freeplane.view.swing.map.overview;
 
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics;
@@ -14,24 +15,41 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.swing.JComponent;
 import javax.swing.JScrollPane;
 import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
 
 import org.freeplane.core.util.TextUtils;
 import org.freeplane.features.mode.Controller;
 import org.freeplane.features.ui.IMapViewManager;
 import org.freeplane.view.swing.map.MapView;
 import org.freeplane.view.swing.map.MapViewController;
+import org.freeplane.view.swing.map.NodeView;
 
 class MapOverviewImage extends JComponent {
     private static final long serialVersionUID = 1L;
 
     private static final Color VIEWPORT_HIGHLIGHTING_COLOR = new Color(0x32_00_00_FF, true);
     private static final float FONT_SCALE = 0.75F;
+    private static final int MINIMAL_NEXT_IMAGE_STRIP_HEIGHT = 16;
+    private static final long MAXIMAL_NEXT_IMAGE_PAINT_TIME_NANOS = 20_000_000L;
 
     private BufferedImage image;
+    private Rectangle imageMapBounds;
+    private double imageScale;
+    private boolean isImageValid;
+    // Images are painted on the event dispatch thread because the map view can only be painted there.
+    // The next image is painted strip by strip in subsequent paint calls while the last image is shown.
+    private BufferedImage nextImage;
+    private Rectangle nextImageMapBounds;
+    private double nextImageScale;
+    private int nextImagePaintedHeight;
+    private int nextImageStripHeight;
+    private final Map<NodeView, Rectangle> changedNodeViews = new HashMap<>();
     private MapView mapView;
     private PopupMenu popupMenu;
 
@@ -58,7 +76,27 @@ class MapOverviewImage extends JComponent {
     }
 
     void resetImage() {
-        image = null;
+        isImageValid = false;
+        nextImage = null;
+    }
+
+    void nodeViewChanged(NodeView nodeView) {
+        if (isImageValid && ! changedNodeViews.containsKey(nodeView)) {
+            changedNodeViews.put(nodeView, getPaintedBounds(nodeView));
+        }
+    }
+
+    private Rectangle getPaintedBounds(NodeView nodeView) {
+        if (! mapView.isAncestorOf(nodeView)) {
+            return null;
+        }
+        Rectangle bounds = SwingUtilities.convertRectangle(nodeView.getParent(), nodeView.getBounds(), mapView);
+        NodeView parentView = nodeView.getParentView();
+        if (parentView != null && mapView.isAncestorOf(parentView)) {
+            Component parentMainView = parentView.getMainView();
+            bounds.add(SwingUtilities.convertRectangle(parentMainView.getParent(), parentMainView.getBounds(), mapView));
+        }
+        return bounds;
     }
 
     double getBestScale(Dimension mapSize, Dimension overviewSize) {
@@ -83,20 +121,20 @@ class MapOverviewImage extends JComponent {
         Dimension source = mapInnerBounds.getSize();
         Dimension target = overviewBounds.getSize();
         double scale = getBestScale(source, target);
-        if (image == null || image.getWidth() != overviewBounds.width) {
-            image = createOverviewImage(mapInnerBounds, overviewBounds, scale);
-        }
+        updateImage(mapInnerBounds, target, scale);
         double overviewImageX = (target.getWidth() - source.getWidth() * scale) / 2;
         double overviewImageY = (target.getHeight() - source.getHeight() * scale) / 2;
-        if (scaleX == 1 && scaleY == 1) {
-            g2d.drawImage(image, (int)overviewImageX, (int)overviewImageY, this);
-        } 
-        else {
-            AffineTransform newTransform = AffineTransform.getTranslateInstance(transform.getTranslateX(),
-                    transform.getTranslateY());
-            g2d.setTransform(newTransform);
-            g2d.drawImage(image, (int)(overviewImageX), (int)(overviewImageY), this);
-            g2d.setTransform(transform);
+        if (image != null) {
+            if (scaleX == 1 && scaleY == 1) {
+                drawImage(g2d, (int)overviewImageX, (int)overviewImageY, scale);
+            }
+            else {
+                AffineTransform newTransform = AffineTransform.getTranslateInstance(transform.getTranslateX(),
+                        transform.getTranslateY());
+                g2d.setTransform(newTransform);
+                drawImage(g2d, (int)(overviewImageX), (int)(overviewImageY), scale);
+                g2d.setTransform(transform);
+            }
         }
 
         highlightViewport(g2d, mapInnerBounds, scale,(int)(overviewImageX/scaleX), (int)(overviewImageY/scaleY));
@@ -128,26 +166,121 @@ class MapOverviewImage extends JComponent {
         return new Color(0xFF - color.getRed(), 0xFF - color.getGreen(), 0xFF - color.getBlue());
     }
 
-    private BufferedImage createOverviewImage(Rectangle mapInnerBounds, Rectangle overviewBounds, double scale) {
+    private void updateImage(Rectangle mapInnerBounds, Dimension size, double scale) {
+        if (isImageValid && nextImage == null && ! changedNodeViews.isEmpty()) {
+            repaintChangedNodeViews();
+        }
+        if (nextImage != null && ! isPaintedWith(nextImage, nextImageMapBounds, nextImageScale, mapInnerBounds, size, scale)) {
+            nextImage = null;
+        }
+        if (nextImage == null && ! (isImageValid && isPaintedWith(image, imageMapBounds, imageScale, mapInnerBounds, size, scale))) {
+            nextImage = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+            nextImageMapBounds = new Rectangle(mapInnerBounds);
+            nextImageScale = scale;
+            nextImagePaintedHeight = 0;
+            nextImageStripHeight = MINIMAL_NEXT_IMAGE_STRIP_HEIGHT;
+            isImageValid = true;
+            changedNodeViews.clear();
+        }
+        if (nextImage != null) {
+            paintNextImageStrips();
+        }
+    }
+
+    private boolean isPaintedWith(BufferedImage image, Rectangle imageMapBounds, double imageScale,
+            Rectangle mapInnerBounds, Dimension size, double scale) {
+        return image != null && image.getWidth() == size.width && image.getHeight() == size.height
+                && imageScale == scale && imageMapBounds.equals(mapInnerBounds);
+    }
+
+    private void paintNextImageStrips() {
+        long startTime = System.nanoTime();
+        long paintTime;
+        do {
+            Rectangle strip = new Rectangle(0, nextImagePaintedHeight, nextImage.getWidth(),
+                    Math.min(nextImageStripHeight, nextImage.getHeight() - nextImagePaintedHeight));
+            long stripStartTime = System.nanoTime();
+            paintOverview(nextImage, nextImageMapBounds, nextImageScale, strip);
+            nextImagePaintedHeight += strip.height;
+            long stripEndTime = System.nanoTime();
+            if (stripEndTime - stripStartTime < MAXIMAL_NEXT_IMAGE_PAINT_TIME_NANOS / 4) {
+                nextImageStripHeight *= 2;
+            }
+            paintTime = stripEndTime - startTime;
+        } while (nextImagePaintedHeight < nextImage.getHeight()
+                && paintTime < MAXIMAL_NEXT_IMAGE_PAINT_TIME_NANOS);
+        if (nextImagePaintedHeight < nextImage.getHeight()) {
+            repaint();
+        }
+        else {
+            image = nextImage;
+            imageMapBounds = nextImageMapBounds;
+            imageScale = nextImageScale;
+            nextImage = null;
+            if (! changedNodeViews.isEmpty()) {
+                repaint();
+            }
+        }
+    }
+
+    private void repaintChangedNodeViews() {
+        Rectangle changedBounds = null;
+        for (Map.Entry<NodeView, Rectangle> changedNodeView : changedNodeViews.entrySet()) {
+            Rectangle oldBounds = changedNodeView.getValue();
+            Rectangle newBounds = getPaintedBounds(changedNodeView.getKey());
+            if (oldBounds == null || ! oldBounds.equals(newBounds)) {
+                isImageValid = false;
+                break;
+            }
+            if (changedBounds == null) {
+                changedBounds = newBounds;
+            }
+            else {
+                changedBounds.add(newBounds);
+            }
+        }
+        changedNodeViews.clear();
+        if (isImageValid && image != null) {
+            paintOverview(image, imageMapBounds, imageScale, toImageBounds(changedBounds));
+        }
+    }
+
+    private Rectangle toImageBounds(Rectangle boundsOnMap) {
+        int x = (int) Math.floor((boundsOnMap.x - imageMapBounds.x) * imageScale) - 1;
+        int y = (int) Math.floor((boundsOnMap.y - imageMapBounds.y) * imageScale) - 1;
+        int maxX = (int) Math.ceil((boundsOnMap.getMaxX() - imageMapBounds.x) * imageScale) + 1;
+        int maxY = (int) Math.ceil((boundsOnMap.getMaxY() - imageMapBounds.y) * imageScale) + 1;
+        return new Rectangle(x, y, maxX - x, maxY - y);
+    }
+
+    private void drawImage(Graphics2D g2d, int x, int y, double scale) {
+        if (imageScale == scale) {
+            g2d.drawImage(image, x, y, this);
+        }
+        else {
+            g2d.drawImage(image, x, y, (int) (image.getWidth() * scale / imageScale),
+                    (int) (image.getHeight() * scale / imageScale), this);
+        }
+    }
+
+    private void paintOverview(BufferedImage image, Rectangle mapInnerBounds, double scale, Rectangle paintedArea) {
         AffineTransform translation = AffineTransform.getTranslateInstance(- mapInnerBounds.x,
                 - mapInnerBounds.y);
         AffineTransform transformer = AffineTransform.getScaleInstance(scale, scale);
         transformer.concatenate(translation);
 
-        BufferedImage image = new BufferedImage(overviewBounds.width, overviewBounds.height,
-                BufferedImage.TYPE_INT_ARGB);
         Graphics2D imageG2D = image.createGraphics();
         try {
+            imageG2D.clip(paintedArea);
             imageG2D.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
             imageG2D.setColor(mapView.getBackground());
-            imageG2D.fillRect(0, 0, overviewBounds.width, overviewBounds.height);
+            imageG2D.fill(paintedArea);
             imageG2D.transform(transformer);
             imageG2D.clip(mapInnerBounds);
             mapView.paintOverview(imageG2D);
         } finally {
             imageG2D.dispose();
         }
-        return image;
     }
 
     private void highlightViewport(Graphics2D g2d, Rectangle mapInnerBounds, double scale, int overviewImageX, int overviewImageY) {
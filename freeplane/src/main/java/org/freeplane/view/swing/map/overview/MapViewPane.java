@@ -21,16 +21,22 @@ import org.freeplane.core.resources.IFreeplanePropertyListener;
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.ui.components.UITools;
 import org.freeplane.features.map.IMapChangeListener;
+import org.freeplane.features.map.INodeChangeListener;
 import org.freeplane.features.map.MapChangeEvent;
+import org.freeplane.features.map.NodeChangeEvent;
+import org.freeplane.features.map.NodeDeletionEvent;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.map.NodeMoveEvent;
 import org.freeplane.features.mode.Controller;
 import org.freeplane.features.ui.ViewController;
 import org.freeplane.view.swing.map.MapView;
 import org.freeplane.view.swing.map.MapViewScrollPane;
 import org.freeplane.view.swing.map.MapViewScrollPane.ViewportHiddenAreaSupplier;
+import org.freeplane.view.swing.map.NodeView;
 import org.freeplane.view.swing.map.overview.resizable.ResizablePanelBorder;
 import org.freeplane.view.swing.map.overview.resizable.ResizePanelMouseHandler;
 
-public class MapViewPane extends JPanel implements IFreeplanePropertyListener, IMapChangeListener, ViewportHiddenAreaSupplier {
+public class MapViewPane extends JPanel implements IFreeplanePropertyListener, IMapChangeListener, INodeChangeListener, ViewportHiddenAreaSupplier {
     private static final long serialVersionUID = 8664710783654626093L;
 
     private final static String MAP_OVERVIEW_VISIBLE_PROPERTY = "mapOverviewVisible";
@@ -113,6 +119,39 @@ public class MapViewPane extends JPanel implements IFreeplanePropertyListener, I
         updateMapOverview();
     }
 
+    @Override
+    public void onNodeDeleted(NodeDeletionEvent nodeDeletionEvent) {
+        if (nodeDeletionEvent.parent.getMap() == mapView.getMap()) {
+            updateMapOverview();
+        }
+    }
+
+    @Override
+    public void onNodeInserted(NodeModel parent, NodeModel child, int newIndex) {
+        if (parent.getMap() == mapView.getMap()) {
+            updateMapOverview();
+        }
+    }
+
+    @Override
+    public void onNodeMoved(NodeMoveEvent nodeMoveEvent) {
+        if (nodeMoveEvent.child.getMap() == mapView.getMap()) {
+            updateMapOverview();
+        }
+    }
+
+    @Override
+    public void nodeChanged(NodeChangeEvent event) {
+        if (! mapOverviewPanel.isVisible() || event.getNode().getMap() != mapView.getMap()) {
+            return;
+        }
+        NodeView nodeView = mapView.getNodeView(event.getNode());
+        if (nodeView != null) {
+            mapOverviewImage.nodeViewChanged(nodeView);
+            SwingUtilities.invokeLater(mapOverviewPanel::repaint);
+        }
+    }
+
     private void updateMapOverview() {
         if (mapOverviewPanel.isVisible()) {
             mapOverviewImage.resetImage();
@@ -129,6 +168,7 @@ public class MapViewPane extends JPanel implements IFreeplanePropertyListener, I
     public void addNotify() {
         super.addNotify();
         Controller.getCurrentModeController().getMapController().addMapChangeListener(this);
+        Controller.getCurrentModeController().getMapController().addUINodeChangeListener(this);
         ResourceController.getResourceController().addPropertyChangeListener(this);
     }
 
@@ -136,6 +176,7 @@ public class MapViewPane extends JPanel implements IFreeplanePropertyListener, I
     public void removeNotify() {
         super.removeNotify();
         Controller.getCurrentModeController().getMapController().removeMapChangeListener(this);
+        Controller.getCurrentModeController().getMapController().removeNodeChangeListener(this);
         ResourceController.getResourceController().removePropertyChangeListener(this);
     }
 
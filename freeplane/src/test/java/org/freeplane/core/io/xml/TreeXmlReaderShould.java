@@ -0,0 +1,83 @@
+package org.freeplane.core.io.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.freeplane.core.io.IElementDOMHandler;
+import org.freeplane.core.io.ReadManager;
+import org.freeplane.core.io.UnparsedElement;
+import org.freeplane.n3.nanoxml.XMLElement;
+import org.freeplane.n3.nanoxml.XMLException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TreeXmlReaderShould {
+	private final List<String> unparsedElements = new ArrayList<>();
+	private ReadManager readManager;
+
+	@Before
+	public void setup() {
+		readManager = new ReadManager();
+		readManager.addElementHandler("node", new IElementDOMHandler() {
+			@Override
+			public Object createElement(Object parent, String tag, XMLElement attributes) {
+				return parent == null ? "root" : new UnparsedElement();
+			}
+
+			@Override
+			public void endElement(Object parent, String tag, Object element, XMLElement dom) {
+				if (element instanceof UnparsedElement)
+					unparsedElements.add(((UnparsedElement) element).getXml());
+			}
+		});
+	}
+
+	private void load(String xml) throws Exception {
+		new TreeXmlReader(readManager).load(new StringReader(xml));
+	}
+
+	@Test
+	public void keepUnparsedElementWithAttributesAndContent() throws Exception {
+		load("<node><node TEXT=\"a &amp; b\"><node/><!-- c --><icon BUILTIN=\"x\"/></node></node>");
+		assertThat(unparsedElements).containsExactly("<node TEXT=\"a &amp; b\"><node/><!-- c --><icon BUILTIN=\"x\"/></node>");
+	}
+
+	@Test
+	public void keepEmptyUnparsedElement() throws Exception {
+		load("<node><node TEXT=\"a\"/><node TEXT=\"b\"></node></node>");
+		assertThat(unparsedElements).containsExactly("<node TEXT=\"a\"/>", "<node TEXT=\"b\"/>");
+	}
+
+	@Test
+	public void keepProcessingInstructionsAndCdataInUnparsedElement() throws Exception {
+		load("<node><node><html><?php x ?><![CDATA[<node>]]></html></node></node>");
+		assertThat(unparsedElements).containsExactly("<node><html><?php x ?><![CDATA[<node>]]></html></node>");
+	}
+
+	@Test
+	public void replayRecordedEvents() throws Exception {
+		final TreeXmlReader recordingReader = new TreeXmlReader(readManager);
+		recordingReader.recordEvents();
+		recordingReader.load(new StringReader("<node><node TEXT=\"a &amp; b\"><node/></node><?pi data?>text<node TEXT=\"c\"/></node>"));
+		final List<String> loadedElements = new ArrayList<>(unparsedElements);
+		unparsedElements.clear();
+
+		new TreeXmlReader(readManager).replay(null, recordingReader.getRecordedEvents());
+
+		assertThat(unparsedElements).isEqualTo(loadedElements).hasSize(2);
+	}
+
+	@Test
+	public void failReplayingEventsRecordedWithOtherHandlers() throws Exception {
+		final TreeXmlReader recordingReader = new TreeXmlReader(new ReadManager());
+		recordingReader.recordEvents();
+		recordingReader.load(new StringReader("<node><node TEXT=\"a\"><node/></node></node>"));
+
+		assertThatThrownBy(() -> new TreeXmlReader(readManager).replay(null, recordingReader.getRecordedEvents()))
+		    .isInstanceOf(XMLException.class);
+	}
+}
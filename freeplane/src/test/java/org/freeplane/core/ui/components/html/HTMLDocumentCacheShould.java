@@ -0,0 +1,49 @@
+package org.freeplane.core.ui.components.html;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+
+import javax.swing.JLabel;
+import javax.swing.text.Document;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.html.StyleSheet;
+
+import org.junit.Test;
+
+public class HTMLDocumentCacheShould {
+	private static final String HTML = "<html><body>" + HTMLDocumentCacheShould.class.getName() + "</body></html>";
+
+	private Document getDocument(JLabel label, String html) {
+		return HTMLDocumentCache.getDocument(label, html, PlainDocument::new);
+	}
+
+	@Test
+	public void reuseDocumentForEqualLabels() {
+		final Document document = getDocument(new JLabel(), HTML);
+		assertThat(getDocument(new JLabel(), HTML)).isSameAs(document);
+	}
+
+	@Test
+	public void parseDocumentForDifferentText() {
+		final Document document = getDocument(new JLabel(), HTML);
+		assertThat(getDocument(new JLabel(), HTML + " ")).isNotSameAs(document);
+	}
+
+	@Test
+	public void parseDocumentForDifferentForeground() {
+		final JLabel label = new JLabel();
+		final Document document = getDocument(label, HTML);
+		label.setForeground(new Color(1, 2, 3));
+		assertThat(getDocument(label, HTML)).isNotSameAs(document);
+	}
+
+	@Test
+	public void parseDocumentForDifferentStyleSheet() {
+		final JLabel label = new JLabel();
+		label.putClientProperty(StyleSheet.class, new StyleSheet());
+		final Document document = getDocument(label, HTML);
+		label.putClientProperty(StyleSheet.class, new StyleSheet());
+		assertThat(getDocument(label, HTML)).isNotSameAs(document);
+	}
+}
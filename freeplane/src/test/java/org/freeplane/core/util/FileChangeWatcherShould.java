@@ -0,0 +1,132 @@
+package org.freeplane.core.util;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FileChangeWatcherShould {
+	private static final long POLLING_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+	private final FileChangeWatcher watcher = new FileChangeWatcher(false, POLLING_INTERVAL_MILLIS, Runnable::run);
+	private final List<File> changedFiles = new CopyOnWriteArrayList<>();
+	private final FileChangeWatcher.FileChangeListener listener = changedFiles::add;
+	private Path directory;
+	private File file;
+
+	@Before
+	public void createFile() throws IOException {
+		directory = Files.createTempDirectory("watched");
+		file = directory.resolve("watched.mm").toFile();
+		write("first");
+		file.setLastModified(file.lastModified() - 10_000);
+	}
+
+	@After
+	public void deleteFile() throws IOException {
+		watcher.close();
+		Files.deleteIfExists(file.toPath());
+		Files.deleteIfExists(directory);
+	}
+
+	private void write(String content) throws IOException {
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@SuppressWarnings("unchecked")
+	private WatchKey key(WatchEvent.Kind<?> kind, Path context) {
+		final WatchEvent<Object> event = mock(WatchEvent.class);
+		when(event.kind()).thenReturn((WatchEvent.Kind<Object>) kind);
+		when(event.context()).thenReturn(context);
+		final WatchKey key = mock(WatchKey.class);
+		when(key.watchable()).thenReturn(directory);
+		when(key.pollEvents()).thenReturn(Arrays.<WatchEvent<?>>asList(event));
+		return key;
+	}
+
+	private WatchService watchServiceSignalling(WatchKey... followingKeys) throws InterruptedException {
+		final WatchService watchService = mock(WatchService.class);
+		final WatchKey[] keys = Arrays.copyOf(followingKeys, followingKeys.length + 1);
+		when(watchService.poll(anyLong(), any(TimeUnit.class))).thenReturn(keys[0], Arrays.copyOfRange(keys, 1, keys.length));
+		return watchService;
+	}
+
+	@Test
+	public void notifyOnceAboutRepeatedChanges() throws Exception {
+		watcher.watch(file, listener);
+		write("second");
+		final WatchKey firstKey = key(ENTRY_MODIFY, file.toPath().getFileName());
+		write("second and third");
+		final WatchService watchService = watchServiceSignalling(key(ENTRY_MODIFY, file.toPath().getFileName()));
+
+		watcher.processEventBurst(watchService, firstKey);
+
+		assertThat(changedFiles).containsExactly(file);
+	}
+
+	@Test
+	public void ignoreEventsWithoutChange() throws Exception {
+		watcher.watch(file, listener);
+		Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(file.lastModified()));
+
+		watcher.processEventBurst(watchServiceSignalling(), key(ENTRY_MODIFY, file.toPath().getFileName()));
+		assertThat(changedFiles).isEmpty();
+
+		write("second");
+		watcher.processEventBurst(watchServiceSignalling(), key(ENTRY_MODIFY, file.toPath().getFileName()));
+		assertThat(changedFiles).containsExactly(file);
+	}
+
+	@Test
+	public void checkAllFilesOfOverflowedDirectory() throws Exception {
+		watcher.watch(file, listener);
+		write("second");
+
+		watcher.processEventBurst(watchServiceSignalling(), key(OVERFLOW, null));
+
+		assertThat(changedFiles).containsExactly(file);
+	}
+
+	@Test
+	public void stopNotifyingAfterUnwatch() throws Exception {
+		watcher.watch(file, listener);
+		watcher.unwatch(file, listener);
+		write("second");
+
+		watcher.processEventBurst(watchServiceSignalling(), key(ENTRY_MODIFY, file.toPath().getFileName()));
+		watcher.pollFiles();
+
+		assertThat(changedFiles).isEmpty();
+	}
+
+	@Test
+	public void pollFilesWithoutWatchService() throws Exception {
+		watcher.watch(file, listener);
+		write("second");
+
+		watcher.pollFiles();
+		watcher.pollFiles();
+
+		assertThat(changedFiles).containsExactly(file);
+	}
+}
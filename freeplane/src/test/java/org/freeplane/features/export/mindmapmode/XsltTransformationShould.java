@@ -0,0 +1,90 @@
+package org.freeplane.features.export.mindmapmode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class XsltTransformationShould {
+	private static final String STYLESHEET = "<xsl:stylesheet version='1.0' xmlns:xsl='http://www.w3.org/1999/XSL/Transform'>"
+			+ "<xsl:output method='text'/>"
+			+ "<xsl:template match='/'><xsl:value-of select='count(//node)'/></xsl:template>"
+			+ "</xsl:stylesheet>";
+	private File stylesheetFile;
+
+	@Before
+	public void createStylesheet() throws IOException {
+		stylesheetFile = File.createTempFile("stylesheet", ".xsl");
+		writeStylesheet(STYLESHEET);
+	}
+
+	private void writeStylesheet(String stylesheet) throws IOException {
+		Files.write(stylesheetFile.toPath(), stylesheet.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@After
+	public void deleteStylesheet() {
+		stylesheetFile.delete();
+	}
+
+	private String transform(XsltTransformation.XmlWriter xmlWriter) throws Exception {
+		final StringWriter result = new StringWriter();
+		XsltTransformation.transform(XsltTransformation.getTemplates(stylesheetFile).newTransformer(), xmlWriter, new StreamResult(result));
+		return result.toString();
+	}
+
+	@Test
+	public void transformWrittenXml() throws Exception {
+		final String result = transform(writer -> {
+			writer.write("<map>");
+			for (int i = 0; i < 100_000; i++)
+				writer.write("<node/>");
+			writer.write("</map>");
+		});
+		assertThat(result).isEqualTo("100000");
+	}
+
+	@Test
+	public void reuseCompiledStylesheet() throws Exception {
+		final Templates templates = XsltTransformation.getTemplates(stylesheetFile);
+		assertThat(XsltTransformation.getTemplates(stylesheetFile)).isSameAs(templates);
+	}
+
+	@Test
+	public void compileModifiedStylesheet() throws Exception {
+		final Templates templates = XsltTransformation.getTemplates(stylesheetFile);
+		writeStylesheet(STYLESHEET.replace("count(//node)", "count(//*)"));
+		stylesheetFile.setLastModified(stylesheetFile.lastModified() + 1000);
+		assertThat(XsltTransformation.getTemplates(stylesheetFile)).isNotSameAs(templates);
+		assertThat(transform(writer -> writer.write("<map><node/></map>"))).isEqualTo("2");
+	}
+
+	@Test
+	public void throwTransformationException() {
+		assertThatThrownBy(() -> transform(writer -> {
+			writer.write("<map>");
+			for (int i = 0; i < 100_000; i++)
+				writer.write("<node>");
+		})).isInstanceOf(TransformerException.class);
+	}
+
+	@Test
+	public void throwWritingException() {
+		assertThatThrownBy(() -> transform(writer -> {
+			writer.write("<map>");
+			throw new IOException("write failed");
+		})).isInstanceOf(IOException.class).hasMessage("write failed");
+	}
+}
@@ -0,0 +1,46 @@
+package org.freeplane.features.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.freeplane.features.filter.condition.ICondition;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.junit.Test;
+
+public class ConcurrentConditionCheckerShould {
+	private final ICondition endsWithSeven = new ICondition() {
+		@Override
+		public boolean checkNode(NodeModel node) {
+			return checkData(getCheckedData(node));
+		}
+
+		@Override
+		public boolean canBeCheckedConcurrently() {
+			return true;
+		}
+
+		@Override
+		public Object getCheckedData(NodeModel node) {
+			return node.getText();
+		}
+
+		@Override
+		public boolean checkData(Object data) {
+			return ((String) data).endsWith("7");
+		}
+	};
+
+	@Test
+	public void storeResultsByNodeIndex() {
+		final MapModel map = new MapModel(null, null, null);
+		final List<NodeModel> nodes = new ArrayList<>();
+		for (int i = 0; i < 2000; i++)
+			nodes.add(new NodeModel("node " + i, map));
+		final boolean[] results = new ConcurrentConditionChecker(endsWithSeven, nodes).check();
+		for (NodeModel node : nodes)
+			assertThat(results[node.getIndexInMap()]).isEqualTo(node.getText().endsWith("7"));
+	}
+}
@@ -0,0 +1,44 @@
+package org.freeplane.features.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.freeplane.features.filter.Filter.FilterInfoAccessor;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.junit.Test;
+
+public class FilterInfoAccessorShould {
+	private final MapModel map = new MapModel(null, null, null);
+	private final NodeModel node = new NodeModel("node", map);
+
+	@Test
+	public void returnInitialValueForUncheckedNode() {
+		final FilterInfoAccessor accessor = new FilterInfoAccessor(map);
+		assertThat(accessor.get(node)).isEqualTo(FilterInfo.SHOW_AS_INITIAL_VALUE);
+	}
+
+	@Test
+	public void keepResultsOfNodesCreatedAfterAccessor() {
+		final FilterInfoAccessor accessor = new FilterInfoAccessor(map);
+		for (int i = 0; i < 100; i++)
+			accessor.set(new NodeModel(map), FilterInfo.NO_MATCH);
+		accessor.set(node, FilterInfo.MATCHES);
+		assertThat(accessor.get(node)).isEqualTo(FilterInfo.MATCHES);
+	}
+
+	@Test
+	public void clearInitialValueWhenMatchIsAdded() {
+		final FilterInfoAccessor accessor = new FilterInfoAccessor(map);
+		accessor.add(node, FilterInfo.MATCHES);
+		assertThat(accessor.get(node)).isEqualTo(FilterInfo.MATCHES);
+	}
+
+	@Test
+	public void keepResultsOfNodesFromOtherMaps() {
+		final FilterInfoAccessor accessor = new FilterInfoAccessor(map);
+		final NodeModel otherMapNode = new NodeModel("other", new MapModel(null, null, null));
+		accessor.set(otherMapNode, FilterInfo.MATCHES);
+		assertThat(accessor.get(otherMapNode)).isEqualTo(FilterInfo.MATCHES);
+		assertThat(accessor.get(node)).isEqualTo(FilterInfo.SHOW_AS_INITIAL_VALUE);
+	}
+}
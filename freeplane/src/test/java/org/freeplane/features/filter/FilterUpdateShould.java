@@ -0,0 +1,90 @@
+package org.freeplane.features.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.freeplane.features.filter.condition.ICondition;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FilterUpdateShould {
+	private final Random random = new Random(1);
+	private final MapModel map = new MapModel(null, null, null);
+	private final List<NodeModel> nodes = new ArrayList<>();
+
+	@Before
+	public void setup() {
+		final NodeModel root = new NodeModel("root", map);
+		map.setRoot(root);
+		nodes.add(root);
+		for (int i = 0; i < 300; i++) {
+			final NodeModel node = new NodeModel(randomText(), map);
+			nodes.get(random.nextInt(nodes.size())).insert(node, -1);
+			nodes.add(node);
+		}
+	}
+
+	private String randomText() {
+		return random.nextInt(4) == 0 ? "match" : "text";
+	}
+
+	private Filter createFilter(final ICondition condition) {
+		return new Filter(condition, false, true, true, false, null);
+	}
+
+	@Test
+	public void giveSameResultsAsRecalculationAfterTextChanges() {
+		checkUpdates(node -> node.getText().equals("match"));
+	}
+
+	@Test
+	public void giveSameResultsAsRecalculationForConditionsCheckingParent() {
+		checkUpdates(new ICondition() {
+			@Override
+			public boolean checkNode(NodeModel node) {
+				final NodeModel parent = node.getParentNode();
+				return parent != null && parent.getText().equals("match");
+			}
+
+			@Override
+			public boolean checksParent() {
+				return true;
+			}
+		});
+	}
+
+	private void checkUpdates(final ICondition condition) {
+		final Filter filter = createFilter(condition);
+		filter.calculateFilterResults(map);
+		for (int i = 0; i < 200; i++) {
+			final NodeModel node = nodes.get(1 + random.nextInt(nodes.size() - 1));
+			if (random.nextBoolean()) {
+				node.setText(node.getText().equals("match") ? "text" : "match");
+				filter.updateFilterResults(map, Collections.singleton(node), Collections.emptySet(), Collections.emptySet());
+			}
+			else {
+				final NodeModel newParent = nodes.get(random.nextInt(nodes.size()));
+				if (newParent == node || newParent.isDescendantOf(node))
+					continue;
+				final NodeModel oldParent = node.getParentNode();
+				oldParent.remove(oldParent.getIndex(node));
+				newParent.insert(node, -1);
+				filter.updateFilterResults(map, Collections.emptySet(), Collections.singleton(node), Arrays.asList(oldParent, newParent));
+			}
+			final Filter recalculatedFilter = createFilter(condition);
+			recalculatedFilter.calculateFilterResults(map);
+			for (final NodeModel checkedNode : nodes) {
+				assertThat(filter.accepts(checkedNode)).as(checkedNode.getText()).isEqualTo(recalculatedFilter.accepts(checkedNode));
+				assertThat(filter.isFoldable(checkedNode)).isEqualTo(recalculatedFilter.isFoldable(checkedNode));
+				assertThat(filter.getFilterInfo(checkedNode).isMatched()).isEqualTo(recalculatedFilter.getFilterInfo(checkedNode).isMatched());
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package org.freeplane.features.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class BranchXmlRecorderShould {
+	private MapModel map;
+	private BranchXmlCache cache;
+	private NodeModel root;
+	private NodeModel branch;
+	private NodeModel leaf;
+
+	@Before
+	public void setup() {
+		map = mock(MapModel.class);
+		cache = BranchXmlCache.getCache(map, "format");
+		when(map.getExtension(BranchXmlCache.class)).thenReturn(cache);
+		root = new NodeModel("root", map);
+		branch = new NodeModel("branch", map);
+		leaf = new NodeModel("leaf", map);
+		root.insert(branch);
+		branch.insert(leaf);
+	}
+
+	private String recordBranch(String prefix, String branchText, String suffix) throws IOException {
+		final StringWriter out = new StringWriter();
+		final BranchXmlRecorder recorder = new BranchXmlRecorder(out, cache);
+		recorder.write(prefix);
+		if (! recorder.copyCachedBranch(branch)) {
+			recorder.beginBranch();
+			recorder.write(branchText);
+			recorder.endBranch(branch);
+		}
+		recorder.write(suffix);
+		return out.toString();
+	}
+
+	@Test
+	public void passAllTextToTargetWriter() throws Exception {
+		assertThat(recordBranch("<map>", "<node/>", "</map>")).isEqualTo("<map><node/></map>");
+	}
+
+	@Test
+	public void copyRecordedBranchOnNextWrite() throws Exception {
+		recordBranch("<map>", "<node/>", "</map>");
+		assertThat(recordBranch("<map>", "<changed/>", "</map>")).isEqualTo("<map><node/></map>");
+	}
+
+	@Test
+	public void writeBranchAgainAfterDescendantIsInvalidated() throws Exception {
+		recordBranch("<map>", "<node/>", "</map>");
+		BranchXmlCache.invalidate(leaf);
+		assertThat(recordBranch("<map>", "<changed/>", "</map>")).isEqualTo("<map><changed/></map>");
+	}
+
+	@Test
+	public void notCacheExcludedBranch() throws Exception {
+		final StringWriter out = new StringWriter();
+		final BranchXmlRecorder recorder = new BranchXmlRecorder(out, cache);
+		recorder.beginBranch();
+		recorder.excludeCurrentBranch();
+		recorder.write("<node/>");
+		recorder.endBranch(branch);
+		assertThat(cache.get(branch)).isNull();
+	}
+}
@@ -0,0 +1,88 @@
+package org.freeplane.features.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.StringWriter;
+
+import org.freeplane.core.io.ReadManager;
+import org.freeplane.core.io.UnparsedElement;
+import org.freeplane.core.io.WriteManager;
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.map.MapWriter.CopiedNodeSet;
+import org.freeplane.features.map.MapWriter.Mode;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.ModeController;
+import org.freeplane.n3.nanoxml.XMLElement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DeferredChildrenShould {
+	private Controller backupController;
+	private MapReader mapReader;
+	private MapWriter mapWriter;
+	private NodeModel folded;
+
+	@Before
+	public void setup() {
+		backupController = Controller.getCurrentController();
+		final Controller controller = mock(Controller.class);
+		final ResourceController resourceController = mock(ResourceController.class);
+		when(resourceController.getProperty(anyString())).thenReturn("");
+		when(controller.getResourceController()).thenReturn(resourceController);
+		Controller.setCurrentController(controller);
+		mapReader = new MapReader(new ReadManager());
+		final MapController mapController = mock(MapController.class);
+		when(mapController.getWriteManager()).thenReturn(new WriteManager());
+		when(mapController.getModeController()).thenReturn(mock(ModeController.class));
+		mapWriter = new MapWriter(mapController);
+		final MapModel map = new MapModel(null, null, null);
+		final NodeModel root = new NodeModel("root", map);
+		map.setRoot(root);
+		folded = new NodeModel("folded", map);
+		root.insert(folded);
+		folded.setFolded(true);
+	}
+
+	@After
+	public void tearDown() {
+		Controller.setCurrentController(backupController);
+	}
+
+	private UnparsedElement unparsedElement(String tag, String content) {
+		final UnparsedElement element = new UnparsedElement();
+		element.setElement(new XMLElement(tag), content);
+		return element;
+	}
+
+	@Test
+	public void keepMalformedBranchWhenReadingFails() throws Exception {
+		final DeferredChildren deferredChildren = new DeferredChildren(mapReader);
+		final UnparsedElement malformedBranch = unparsedElement("node", "<node TEXT=\"unclosed\">");
+		deferredChildren.add(malformedBranch);
+		folded.setDeferredChildren(deferredChildren);
+
+		assertThat(folded.getChildren()).isEmpty();
+
+		final StringWriter saved = new StringWriter();
+		mapWriter.writeNodeAsXml(saved, folded, Mode.FILE, CopiedNodeSet.ALL_NODES, true, false);
+		assertThat(saved.toString()).contains(malformedBranch.getXml());
+	}
+
+	@Test
+	public void notTreatBranchesWithClonesOrConnectorsAsSelfContained() {
+		final DeferredChildren withConnector = new DeferredChildren(mapReader);
+		withConnector.add(unparsedElement("node", "<arrowlink\nDESTINATION='ID_2'/>"));
+		final DeferredChildren withClone = new DeferredChildren(mapReader);
+		withClone.add(unparsedElement("node", "<node\n TREE_ID='ID_2'/>"));
+		final DeferredChildren withoutReferences = new DeferredChildren(mapReader);
+		withoutReferences.add(unparsedElement("node", "<node TEXT='TREE_ID=\"ID_2\" &lt;arrowlink'/>"));
+
+		assertThat(withConnector.areSelfContained()).isFalse();
+		assertThat(withClone.areSelfContained()).isFalse();
+		assertThat(withoutReferences.areSelfContained()).isTrue();
+	}
+}
@@ -0,0 +1,53 @@
+package org.freeplane.features.map;
+
+import java.util.ArrayList;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Measures the heap retained per node of a large map.
+ * Node texts are allocated before the first measurement, so that only the node models are counted.
+ * Run it manually with a fixed heap size, e.g. -Xms2g -Xmx2g.
+ */
+@Ignore("benchmark, run manually")
+public class NodeModelHeapBenchmark {
+	private static final int NODE_COUNT = 500_000;
+	private static final int FAN_OUT = 8;
+
+	private static long usedMemory() throws InterruptedException {
+		final Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	@Test
+	public void reportRetainedBytesPerNode() throws Exception {
+		final String[] texts = new String[NODE_COUNT];
+		for (int i = 0; i < NODE_COUNT; i++)
+			texts[i] = "node " + i;
+		final MapModel map = new MapModel(null, null, null);
+		final long usedBefore = usedMemory();
+
+		final ArrayList<NodeModel> nodes = new ArrayList<>(NODE_COUNT);
+		final NodeModel root = new NodeModel(texts[0], map);
+		nodes.add(root);
+		for (int i = 1; i < NODE_COUNT; i++) {
+			final NodeModel child = new NodeModel(texts[i], map);
+			nodes.get((i - 1) / FAN_OUT).insert(child);
+			nodes.add(child);
+		}
+		map.setRoot(root);
+		nodes.clear();
+		nodes.trimToSize();
+
+		final long retained = usedMemory() - usedBefore;
+		System.out.printf("%d nodes, fan-out %d: %.1f bytes per node%n", NODE_COUNT, FAN_OUT,
+		    (double) retained / NODE_COUNT);
+		if (map.getRootNode() != root || texts.length != NODE_COUNT)
+			throw new AssertionError();
+	}
+}
@@ -0,0 +1,46 @@
+package org.freeplane.features.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+
+import org.freeplane.core.extension.IExtension;
+import org.junit.Test;
+
+public class NodeModelShould {
+	private static class TestExtension implements IExtension {/**/}
+
+	private final MapModel map = null;
+
+	@Test
+	public void insertChildrenIntoLeaf() {
+		final NodeModel parent = new NodeModel("parent", map);
+		final NodeModel leaf = new NodeModel("leaf", map);
+		final NodeModel child = new NodeModel("child", map);
+		leaf.insert(child);
+		assertThat(parent.getChildren()).isEmpty();
+		assertThat(leaf.getChildren()).containsExactly(child);
+	}
+
+	@Test
+	public void keepHistoryInformationChangesInSharedData() {
+		final NodeModel node = new NodeModel("node", map);
+		final Date date = new Date(1000);
+		node.getHistoryInformation().setLastModifiedAt(date);
+		assertThat(node.getHistoryInformation().getLastModifiedAt()).isEqualTo(date);
+		assertThat(node.cloneContent().getHistoryInformation().getLastModifiedAt()).isEqualTo(date);
+	}
+
+	@Test
+	public void readExtensionsAndIconsWithoutAllocatingContainers() {
+		final NodeModel node = new NodeModel("node", map);
+		assertThat(node.getExtension(TestExtension.class)).isNull();
+		assertThat(node.getSharedExtensions()).isEmpty();
+		assertThat(node.getIcons()).isEmpty();
+		assertThat(node.getSharedData().getExistingExtensionContainer()).isNull();
+		assertThat(node.getSharedData().getExistingIcons()).isNull();
+		final TestExtension extension = new TestExtension();
+		node.addExtension(extension);
+		assertThat(node.getExtension(TestExtension.class)).isSameAs(extension);
+	}
+}
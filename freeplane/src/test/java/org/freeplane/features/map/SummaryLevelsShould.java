@@ -59,6 +59,24 @@ public class SummaryLevelsShould {
 			assertThat(summaryLevels.findSummaryNodeIndex(0), equalTo(summaryNode.getIndex()));
 
 		}
+
+		@Test
+		public void returnSummaryNodesOfAllLevels() throws Exception {
+			final NodeModel firstGroupBeginNode = mapFake.addGroupBeginNode();
+			final NodeModel firstItem = mapFake.addNode("1");
+			final NodeModel firstSummaryNode = mapFake.addSummaryNode();
+			mapFake.addGroupBeginNode();
+			final NodeModel secondItem = mapFake.addNode("2");
+			final NodeModel secondSummaryNode = mapFake.addSummaryNode();
+			final NodeModel summaryOfSummaryNodes = mapFake.addSummaryNode();
+			final NodeModel itemAfterGroups = mapFake.addNode("3");
+			final SummaryLevels summaryLevels = new SummaryLevels(mapFake.getRoot(), mapFake.getRoot());
+			assertThat(summaryLevels.findSummaryNodeIndex(firstGroupBeginNode.getIndex()), equalTo(firstSummaryNode.getIndex()));
+			assertThat(summaryLevels.findSummaryNodeIndex(firstItem.getIndex()), equalTo(firstSummaryNode.getIndex()));
+			assertThat(summaryLevels.findSummaryNodeIndex(secondItem.getIndex()), equalTo(secondSummaryNode.getIndex()));
+			assertThat(summaryLevels.findSummaryNodeIndex(firstSummaryNode.getIndex()), equalTo(summaryOfSummaryNodes.getIndex()));
+			assertThat(summaryLevels.findSummaryNodeIndex(itemAfterGroups.getIndex()), equalTo(-1));
+		}
 	}
 	public static class FindSummaryNode extends SummaryLevelsShould{
 
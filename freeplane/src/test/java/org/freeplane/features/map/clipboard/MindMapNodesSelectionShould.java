@@ -0,0 +1,39 @@
+package org.freeplane.features.map.clipboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.UnsupportedFlavorException;
+
+import org.junit.Test;
+
+public class MindMapNodesSelectionShould {
+	@Test
+	public void provideCopiedContent() throws Exception {
+		final MindMapNodesSelection selection = new MindMapNodesSelection("<node/>", "text", "<html/>");
+		assertThat(selection.isDataFlavorSupported(DataFlavor.stringFlavor)).isTrue();
+		assertThat(selection.isDataFlavorSupported(MindMapNodesSelection.htmlFlavor)).isTrue();
+		assertThat(selection.getTransferData(MindMapNodesSelection.mindMapNodesFlavor)).isEqualTo("<node/>");
+		assertThat(selection.getTransferData(DataFlavor.stringFlavor)).isEqualTo("text");
+		assertThat(selection.getTransferData(MindMapNodesSelection.htmlFlavor)).isEqualTo("<html/>");
+	}
+
+	@Test
+	public void rejectMissingHtmlContent() {
+		final MindMapNodesSelection selection = new MindMapNodesSelection("<node/>", "text", null);
+		assertThat(selection.isDataFlavorSupported(MindMapNodesSelection.htmlFlavor)).isFalse();
+		assertThatThrownBy(() -> selection.getTransferData(MindMapNodesSelection.htmlFlavor))
+			.isInstanceOf(UnsupportedFlavorException.class);
+	}
+
+	@Test
+	public void rejectMissingTextContent() {
+		final MindMapNodesSelection selection = new MindMapNodesSelection("<node/>");
+		assertThat(selection.isDataFlavorSupported(DataFlavor.stringFlavor)).isFalse();
+		assertThat(selection.isDataFlavorSupported(MindMapNodesSelection.htmlFlavor)).isFalse();
+		assertThat(selection.isDataFlavorSupported(MindMapNodesSelection.mindMapNodesFlavor)).isTrue();
+		assertThatThrownBy(() -> selection.getTransferData(DataFlavor.stringFlavor))
+			.isInstanceOf(UnsupportedFlavorException.class);
+	}
+}
@@ -0,0 +1,96 @@
+package org.freeplane.features.styles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.freeplane.features.filter.condition.ASelectableCondition;
+import org.freeplane.features.filter.condition.ConditionNotSatisfiedDecorator;
+import org.freeplane.features.filter.condition.DelegateCondition;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.styles.ResolvedStylesCache.ResolvedStyles;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ResolvedStylesCacheShould {
+	private final ResolvedStylesCache cache = new ResolvedStylesCache();
+	private final MapModel map = Mockito.mock(MapModel.class);
+	private final MapModel otherMap = Mockito.mock(MapModel.class);
+	private final NodeModel node = new NodeModel(map);
+	private final NodeModel otherNode = new NodeModel(otherMap);
+
+	private ResolvedStyles resolvedStyles() {
+		return Mockito.mock(ResolvedStyles.class);
+	}
+
+	@Test
+	public void countHitsAndMisses() {
+		final ResolvedStyles styles = resolvedStyles();
+		assertThat(cache.get(node)).isNull();
+		cache.put(node, styles);
+		assertThat(cache.get(node)).isSameAs(styles);
+		assertThat(cache.get(node)).isSameAs(styles);
+		assertThat(cache.getHitCount()).isEqualTo(2);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void clearOnlyGivenMap() {
+		cache.put(node, resolvedStyles());
+		cache.put(otherNode, resolvedStyles());
+		cache.clear(map);
+		assertThat(cache.get(node)).isNull();
+		assertThat(cache.get(otherNode)).isNotNull();
+	}
+
+	@Test
+	public void removeNode() {
+		cache.put(node, resolvedStyles());
+		cache.remove(node);
+		assertThat(cache.get(node)).isNull();
+	}
+
+	@Test
+	public void removeChildrenCheckingTheirParent() {
+		final NodeModel child = new NodeModel(map);
+		final NodeModel grandchild = new NodeModel(map);
+		node.insert(child);
+		child.insert(grandchild);
+		cache.put(node, resolvedStyles());
+		cache.put(child, resolvedStyles());
+		cache.put(grandchild, resolvedStyles());
+		final ASelectableCondition condition = Mockito.mock(ASelectableCondition.class);
+		Mockito.when(condition.checksParent()).thenReturn(true);
+		final ConditionalStyleModel conditionalStyleModel = new ConditionalStyleModel();
+		conditionalStyleModel.addCondition(true, condition, StyleFactory.create("style"), false);
+
+		cache.remove(node);
+		cache.removeDependentNodes(node, Collections.singletonList(conditionalStyleModel));
+
+		assertThat(cache.get(node)).isNull();
+		assertThat(cache.get(child)).isNull();
+		assertThat(cache.get(grandchild)).isNotNull();
+	}
+
+	@Test
+	public void clearMapForConditionsCheckingTime() {
+		final NodeModel child = new NodeModel(map);
+		final NodeModel sibling = new NodeModel(map);
+		node.insert(child);
+		cache.put(node, resolvedStyles());
+		cache.put(child, resolvedStyles());
+		cache.put(sibling, resolvedStyles());
+		cache.put(otherNode, resolvedStyles());
+		final ASelectableCondition timeCondition = new DelegateCondition(n -> System.currentTimeMillis() % 2 == 0, "Code");
+		final ConditionalStyleModel conditionalStyleModel = new ConditionalStyleModel();
+		conditionalStyleModel.addCondition(true, new ConditionNotSatisfiedDecorator(timeCondition), StyleFactory.create("style"), false);
+
+		cache.removeDependentNodes(child, Collections.singletonList(conditionalStyleModel));
+
+		assertThat(cache.get(node)).isNull();
+		assertThat(cache.get(child)).isNull();
+		assertThat(cache.get(sibling)).isNull();
+		assertThat(cache.get(otherNode)).isNotNull();
+	}
+}
@@ -0,0 +1,76 @@
+package org.freeplane.features.url.mindmapmode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.freeplane.core.io.WriteManager;
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.map.MapController;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.MapWriter;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.map.NodeModel.Side;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.ModeController;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DoAutomaticSaveShould {
+	private Controller backupController;
+	private MapWriter mapWriter;
+	private MapModel map;
+	private NodeModel branch;
+	private Path directory;
+
+	@Before
+	public void setup() throws IOException {
+		backupController = Controller.getCurrentController();
+		final Controller controller = mock(Controller.class);
+		final ResourceController resourceController = mock(ResourceController.class);
+		when(resourceController.getProperty(anyString())).thenReturn("");
+		when(controller.getResourceController()).thenReturn(resourceController);
+		Controller.setCurrentController(controller);
+		final WriteManager writeManager = new WriteManager();
+		final MapController mapController = mock(MapController.class);
+		when(mapController.getWriteManager()).thenReturn(writeManager);
+		when(mapController.getModeController()).thenReturn(mock(ModeController.class));
+		mapWriter = new MapWriter(mapController);
+		writeManager.addElementWriter("map", mapWriter);
+		writeManager.addAttributeWriter("map", mapWriter);
+		map = new MapModel(null, null, null);
+		final NodeModel root = new NodeModel("root", map);
+		map.setRoot(root);
+		branch = new NodeModel("branch", map);
+		root.insert(branch);
+		branch.insert(new NodeModel("leaf", map));
+		directory = Files.createTempDirectory("autosave");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Controller.setCurrentController(backupController);
+		Files.deleteIfExists(directory.resolve("map.mm"));
+		Files.deleteIfExists(directory);
+	}
+
+	@Test
+	public void writeChangesMadeWithoutNodeEvents() throws Exception {
+		DoAutomaticSave.snapshot(mapWriter, map);
+		branch.setSide(Side.LEFT);
+		final File file = directory.resolve("map.mm").toFile();
+
+		AtomicFileWriter.writeInBackground(DoAutomaticSave.snapshot(mapWriter, map), file).get();
+
+		final String written = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		assertThat(written).contains("POSITION=\"left\"");
+	}
+}
@@ -0,0 +1,146 @@
+package org.freeplane.features.url.mindmapmode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.freeplane.core.io.IElementContentHandler;
+import org.freeplane.core.io.ReadManager;
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.map.MapController;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.MapReader;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.n3.nanoxml.XMLElement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MapLoadingCacheShould {
+	private static final String MAP = "<map version=\"freeplane 1.9.13\"><node ID=\"ID_1\"><content>text</content><node ID=\"ID_2\"/></node></map>";
+	private static final String EDITED_MAP = "<map version=\"freeplane 1.9.13\"><node ID=\"ID_1\"><node ID=\"ID_2\"/><node ID=\"ID_3\"/></node></map>";
+
+	private static class ContentHandler implements IElementContentHandler {
+		boolean collectsContent = true;
+		String content;
+
+		@Override
+		public Object createElement(Object parent, String tag, XMLElement attributes) {
+			return collectsContent ? parent : null;
+		}
+
+		@Override
+		public boolean findsClosingTagByName() {
+			return false;
+		}
+
+		@Override
+		public void endElement(Object parent, String tag, Object node, XMLElement element, String content) {
+			this.content = content;
+		}
+	}
+
+	private Controller backupController;
+	private final ContentHandler contentHandler = new ContentHandler();
+	private MapLoadingCache cache;
+	private Path directory;
+	private File file;
+
+	@Before
+	public void setup() throws IOException {
+		backupController = Controller.getCurrentController();
+		final Controller controller = mock(Controller.class);
+		when(controller.getResourceController()).thenReturn(mock(ResourceController.class));
+		Controller.setCurrentController(controller);
+		final ReadManager readManager = new ReadManager();
+		final MapReader mapReader = new MapReader(readManager);
+		readManager.addElementHandler("map", mapReader);
+		readManager.addElementHandler("content", contentHandler);
+		final MapController mapController = mock(MapController.class);
+		when(mapController.getReadManager()).thenReturn(readManager);
+		when(mapController.getMapReader()).thenReturn(mapReader);
+		cache = new MapLoadingCache(mapController);
+		directory = Files.createTempDirectory("cached");
+		file = directory.resolve("cached.mm").toFile();
+		write(MAP);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Controller.setCurrentController(backupController);
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		}
+	}
+
+	private void write(String content) throws IOException {
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private NodeModel load() throws Exception {
+		return cache.load(new MapModel(null, null, null), file);
+	}
+
+	@Test
+	public void writeCacheWhenMapIsLoaded() throws Exception {
+		final NodeModel root = load();
+
+		assertThat(root.getID()).isEqualTo("ID_1");
+		assertThat(root.getChildCount()).isEqualTo(1);
+		assertThat(contentHandler.content).isEqualTo("text");
+		assertThat(MapLoadingCache.cacheFile(file)).isFile();
+	}
+
+	@Test
+	public void loadUnchangedMapFromCache() throws Exception {
+		load();
+		final long lastModified = file.lastModified();
+		write(MAP.replace("text", "TEXT"));
+		file.setLastModified(lastModified);
+		contentHandler.content = null;
+
+		final NodeModel root = load();
+
+		assertThat(root.getID()).isEqualTo("ID_1");
+		assertThat(root.getChildCount()).isEqualTo(1);
+		assertThat(contentHandler.content).as("content replayed from the cache").isEqualTo("text");
+	}
+
+	@Test
+	public void parseEditedMap() throws Exception {
+		load();
+		write(EDITED_MAP);
+		file.setLastModified(file.lastModified() + 10_000);
+
+		final NodeModel root = load();
+
+		assertThat(root.getChildCount()).isEqualTo(2);
+		assertThat(root.getChildAt(1).getID()).isEqualTo("ID_3");
+	}
+
+	@Test
+	public void parseMapIfRecordedEventsCanNotBeReplayed() throws Exception {
+		load();
+		contentHandler.collectsContent = false;
+		contentHandler.content = null;
+
+		final MapModel map = new MapModel(null, null, null);
+		final NodeModel root = cache.load(map, file);
+
+		assertThat(map.getRootNode()).isSameAs(root);
+		assertThat(root.getID()).isEqualTo("ID_1");
+		assertThat(root.getChildCount()).isEqualTo(1);
+		assertThat(map.getNodeForID("ID_2")).isSameAs(root.getChildAt(0));
+		assertThat(contentHandler.content).isNull();
+		assertThat(MapLoadingCache.cacheFile(file)).isFile();
+	}
+}
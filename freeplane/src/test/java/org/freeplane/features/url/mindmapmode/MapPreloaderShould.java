@@ -0,0 +1,106 @@
+package org.freeplane.features.url.mindmapmode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.map.mindmapmode.MMapController;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.ModeController;
+import org.freeplane.features.mode.mindmapmode.MModeController;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MapPreloaderShould {
+	private Controller backupController;
+	private MFileManager fileManager;
+	private MapPreloader preloader;
+	private Path directory;
+	private URL url;
+
+	@Before
+	public void setup() throws IOException {
+		backupController = Controller.getCurrentController();
+		final Controller controller = mock(Controller.class);
+		final ModeController modeController = mock(ModeController.class);
+		final MMapController mapController = mock(MMapController.class);
+		when(controller.getResourceController()).thenReturn(mock(ResourceController.class));
+		when(controller.getModeController()).thenReturn(modeController);
+		when(controller.getModeController(MModeController.MODENAME)).thenReturn(modeController);
+		when(modeController.getMapController()).thenReturn(mapController);
+		Controller.setCurrentController(controller);
+		fileManager = mock(MFileManager.class);
+		preloader = new MapPreloader(fileManager);
+		directory = Files.createTempDirectory("preloaded");
+		final File file = directory.resolve("preloaded.mm").toFile();
+		Files.write(file.toPath(), "<map/>".getBytes(StandardCharsets.UTF_8));
+		url = file.toURI().toURL();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		preloader.discardAll();
+		Controller.setCurrentController(backupController);
+		Files.deleteIfExists(directory.resolve("preloaded.mm"));
+		Files.deleteIfExists(directory);
+	}
+
+	@Test
+	public void provideParsedMapOnce() throws Exception {
+		final NodeModel root = mock(NodeModel.class);
+		when(fileManager.loadTreeWithoutUserInteraction(any(MapModel.class), any(File.class))).thenReturn(root);
+		preloader.preload(Collections.singletonList(url));
+
+		final MapPreloader.PreloadedMap preloadedMap = preloader.take(url);
+
+		assertThat(preloadedMap).isNotNull();
+		assertThat(preloadedMap.map).isNotNull();
+		assertThat(preloader.take(url)).isNull();
+	}
+
+	@Test
+	public void provideNothingForMapsNeedingUserInteraction() throws Exception {
+		when(fileManager.loadTreeWithoutUserInteraction(any(MapModel.class), any(File.class))).thenReturn(null);
+		preloader.preload(Collections.singletonList(url));
+
+		assertThat(preloader.take(url)).isNull();
+	}
+
+	@Test
+	public void interruptParsingOfDiscardedMaps() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch interrupted = new CountDownLatch(1);
+		when(fileManager.loadTreeWithoutUserInteraction(any(MapModel.class), any(File.class))).thenAnswer(invocation -> {
+			started.countDown();
+			try {
+				Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+			}
+			catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return null;
+		});
+		preloader.preload(Collections.singletonList(url));
+		assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+		preloader.discardAll();
+
+		assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(preloader.take(url)).isNull();
+	}
+}
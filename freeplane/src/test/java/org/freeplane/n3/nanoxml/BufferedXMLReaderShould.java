@@ -0,0 +1,57 @@
+package org.freeplane.n3.nanoxml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+public class BufferedXMLReaderShould {
+	private static final String XML = "<?xml version=\"1.0\"?>\r\n"
+	        + "<map version=\"1.0\">\r\n"
+	        + "<node TEXT=\"a &amp; b\" ID=\"ID_1\"\r\n  LINK='x&#x41;y'>\r\n"
+	        + "<node TEXT=\"line\nbreak\ttab\"><!-- comment --></node>\r"
+	        + "<richcontent TYPE=\"NODE\"><![CDATA[<b>]]>text &lt; more</richcontent>\n"
+	        + "</node>\r\n"
+	        + "</map>\r\n";
+
+	private XMLElement parse(IXMLReader reader) throws Exception {
+		final StdXMLParser parser = new StdXMLParser();
+		parser.setBuilder(new StdXMLBuilder());
+		parser.setValidator(new NonValidator());
+		parser.setResolver(new XMLEntityResolver());
+		parser.setReader(reader);
+		return (XMLElement) parser.parse();
+	}
+
+	private String write(XMLElement element) throws Exception {
+		final StringWriter writer = new StringWriter();
+		new XMLWriter(writer).write(element);
+		return writer.toString();
+	}
+
+	@Test
+	public void buildSameElementsAsStandardReader() throws Exception {
+		final XMLElement expected = parse(new StdXMLReader(new StringReader(XML)));
+		final XMLElement actual = parse(new BufferedXMLReader(new StringReader(XML)));
+		assertThat(write(actual)).isEqualTo(write(expected));
+		assertThat(actual.getChildAtIndex(0).getAttribute("LINK", null)).isEqualTo("xAy");
+	}
+
+	@Test
+	public void countLinesLikeStandardReader() throws Exception {
+		final XMLElement expected = parse(new StdXMLReader(new StringReader(XML)));
+		final XMLElement actual = parse(new BufferedXMLReader(new StringReader(XML)));
+		final XMLElement expectedRichContent = expected.getChildAtIndex(0).getChildAtIndex(1);
+		final XMLElement actualRichContent = actual.getChildAtIndex(0).getChildAtIndex(1);
+		assertThat(actualRichContent.getLineNr()).isEqualTo(expectedRichContent.getLineNr());
+	}
+
+	@Test
+	public void shareEqualNames() throws Exception {
+		final XMLElement root = parse(new BufferedXMLReader(new StringReader(
+		    "<map><node TEXT=\"a\"/><node TEXT=\"b\"/></map>")));
+		assertThat(root.getChildAtIndex(0).getName()).isSameAs(root.getChildAtIndex(1).getName());
+	}
+}
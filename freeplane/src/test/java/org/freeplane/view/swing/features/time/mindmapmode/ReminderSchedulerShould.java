@@ -0,0 +1,60 @@
+package org.freeplane.view.swing.features.time.mindmapmode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+public class ReminderSchedulerShould {
+	private static final long NOW = System.currentTimeMillis() + 3_600_000;
+	private final ReminderScheduler scheduler = new ReminderScheduler();
+	private final ReminderExtension first = mock(ReminderExtension.class);
+	private final ReminderExtension second = mock(ReminderExtension.class);
+	private final ReminderExtension later = mock(ReminderExtension.class);
+
+	@After
+	public void removeReminders() {
+		scheduler.remove(first);
+		scheduler.remove(second);
+		scheduler.remove(later);
+	}
+
+	@Test
+	public void fireDueRemindersInTimeOrder() {
+		scheduler.schedule(second, NOW - 10);
+		scheduler.schedule(later, NOW + 10);
+		scheduler.schedule(first, NOW - 20);
+		scheduler.fireDueReminders(NOW);
+		final InOrder inOrder = inOrder(first, second);
+		inOrder.verify(first).remind();
+		inOrder.verify(second).remind();
+		verify(later, never()).remind();
+		assertThat(scheduler.getScheduledReminderCount()).isEqualTo(1);
+		assertThat(scheduler.isScheduled(later)).isTrue();
+	}
+
+	@Test
+	public void rescheduleReminder() {
+		scheduler.schedule(first, NOW - 10);
+		scheduler.schedule(first, NOW + 10);
+		scheduler.fireDueReminders(NOW);
+		verify(first, never()).remind();
+		assertThat(scheduler.getScheduledReminderCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void removeReminder() {
+		scheduler.schedule(first, NOW - 10);
+		scheduler.schedule(second, NOW - 10);
+		scheduler.remove(first);
+		scheduler.fireDueReminders(NOW);
+		verify(first, never()).remind();
+		verify(second).remind();
+		assertThat(scheduler.getScheduledReminderCount()).isZero();
+	}
+}
@@ -0,0 +1,46 @@
+package org.freeplane.view.swing.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.freeplane.features.link.ConnectorModel;
+import org.junit.Test;
+
+public class ConnectorIndexShould {
+	private final ConnectorModel first = mock(ConnectorModel.class);
+	private final ConnectorModel second = mock(ConnectorModel.class);
+	private final ConnectorModel third = mock(ConnectorModel.class);
+
+	private ConnectorIndex index(Dimension size) {
+		final Map<ConnectorModel, Rectangle> bounds = new LinkedHashMap<>();
+		bounds.put(first, new Rectangle(0, 0, 100, 20));
+		bounds.put(second, new Rectangle(100, 5000, 9000, 20));
+		bounds.put(third, new Rectangle(8000, 8000, 100, 20));
+		return new ConnectorIndex(bounds, size);
+	}
+
+	@Test
+	public void findConnectorsIntersectingArea() {
+		final ConnectorIndex index = index(new Dimension(10000, 10000));
+		assertThat(index.connectorsIntersecting(new Rectangle(50, 10, 10, 10))).containsExactly(first);
+		assertThat(index.connectorsIntersecting(new Rectangle(4000, 4000, 2000, 2000))).containsExactly(second);
+		assertThat(index.connectorsIntersecting(new Rectangle(2000, 2000, 1000, 1000))).isEmpty();
+	}
+
+	@Test
+	public void keepGivenOrderOfConnectors() {
+		final ConnectorIndex index = index(new Dimension(10000, 10000));
+		assertThat(index.connectorsIntersecting(new Rectangle(-100, -100, 20000, 20000))).containsExactly(first, second, third);
+	}
+
+	@Test
+	public void findConnectorsOutsideOfMapViewSize() {
+		final ConnectorIndex index = index(new Dimension(500, 500));
+		assertThat(index.connectorsIntersecting(new Rectangle(7900, 7900, 300, 300))).containsExactly(third);
+	}
+}
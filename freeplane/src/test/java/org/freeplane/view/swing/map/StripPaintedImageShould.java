@@ -0,0 +1,93 @@
+package org.freeplane.view.swing.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+public class StripPaintedImageShould {
+	private static final int WIDTH = 10;
+	private static final int HEIGHT = 25;
+	private final AtomicInteger paintedStrips = new AtomicInteger();
+	private final AtomicInteger finishedImages = new AtomicInteger();
+
+	private StripPaintedImage image() {
+		return new StripPaintedImage(WIDTH, HEIGHT, 4 * WIDTH, this::paint, finishedImages::incrementAndGet);
+	}
+
+	private void paint(Graphics2D g) {
+		paintedStrips.incrementAndGet();
+		g.setColor(Color.WHITE);
+		g.fillRect(0, 0, WIDTH, HEIGHT);
+		g.setColor(Color.RED);
+		g.fillRect(2, 5, 3, 10);
+	}
+
+	private int rgb(Raster raster, int x, int y) {
+		final int[] pixel = raster.getPixel(x, y, (int[]) null);
+		return new Color(pixel[0], pixel[1], pixel[2]).getRGB();
+	}
+
+	@Test
+	public void paintImageInStrips() {
+		final StripPaintedImage image = image();
+		assertThat(image.getNumYTiles()).isEqualTo(7);
+		final Raster raster = image.getData();
+		assertThat(paintedStrips.get()).isEqualTo(7);
+		assertThat(finishedImages.get()).isEqualTo(1);
+		assertThat(rgb(raster, 2, 4)).isEqualTo(Color.WHITE.getRGB());
+		assertThat(rgb(raster, 2, 5)).isEqualTo(Color.RED.getRGB());
+		assertThat(rgb(raster, 4, 14)).isEqualTo(Color.RED.getRGB());
+		assertThat(rgb(raster, 5, 14)).isEqualTo(Color.WHITE.getRGB());
+		assertThat(rgb(raster, 4, 15)).isEqualTo(Color.WHITE.getRGB());
+	}
+
+	@Test
+	public void reuseLastPaintedStrip() {
+		final StripPaintedImage image = image();
+		image.getData(new Rectangle(0, 5, WIDTH, 1));
+		final Raster row = image.getData(new Rectangle(0, 6, WIDTH, 1));
+		assertThat(paintedStrips.get()).isEqualTo(1);
+		assertThat(row.getMinY()).isEqualTo(6);
+		assertThat(rgb(row, 2, 6)).isEqualTo(Color.RED.getRGB());
+	}
+
+	@Test
+	public void writePng() throws Exception {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image(), "png", out);
+		final BufferedImage writtenImage = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+		assertThat(writtenImage.getHeight()).isEqualTo(HEIGHT);
+		assertThat(writtenImage.getRGB(3, 10)).isEqualTo(Color.RED.getRGB());
+		assertThat(writtenImage.getRGB(3, 20)).isEqualTo(Color.WHITE.getRGB());
+		assertThat(finishedImages.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void finishWhenClosedBeforeLastStrip() {
+		final StripPaintedImage image = image();
+		image.getData(new Rectangle(0, 0, WIDTH, 1));
+		assertThat(finishedImages.get()).isEqualTo(0);
+		image.close();
+		assertThat(finishedImages.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void finishOnlyOnce() {
+		final StripPaintedImage image = image();
+		image.getData();
+		image.close();
+		image.close();
+		assertThat(finishedImages.get()).isEqualTo(1);
+	}
+}
@@ -62,7 +62,7 @@ class ClassesNode extends CodeNode {
     }
 
     private void initializeChildNodes() {
-        List<NodeModel> children = super.getChildrenInternal();
+        List<NodeModel> children = super.getModifiableChildrenInternal();
         final List<JavaClass> classes = getClasses()
                 .collect(Collectors.toList());
         if(! classes.isEmpty()) {
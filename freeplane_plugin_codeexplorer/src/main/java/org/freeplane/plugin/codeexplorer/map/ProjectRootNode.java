@@ -96,7 +96,7 @@ class ProjectRootNode extends CodeNode implements GroupFinder{
     }
 
     private void initializeChildNodes() {
-        List<NodeModel> children = super.getChildrenInternal();
+        List<NodeModel> children = super.getModifiableChildrenInternal();
         List<PackageNode> nodes = groupsById.values().stream()
                 .parallel()
                 .map(e ->
@@ -0,0 +1,148 @@
+package org.freeplane.plugin.script;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.commons.io.FileUtils;
+import org.codehaus.groovy.runtime.EncodingGroovyMethods;
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.core.util.FreeplaneVersion;
+import org.freeplane.core.util.LogUtils;
+
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
+
+/**
+ * Keeps classes compiled from formulas and other script texts on disk,
+ * so that they are loaded instead of compiled again after a restart.
+ * Each script text gets its own directory named after the hash of the text and of Freeplane and Groovy versions.
+ * Scripting permissions are not part of the key because they are checked when the script runs, not compiled into it.
+ */
+class CompiledFormulaCache {
+	static final String COMPILED_FORMULA_CACHE_SIZE = "compiled_formula_cache_size";
+	static final String PROPERTIES_FILE = "compiled.properties";
+	static final String TIME_PROPERTY = "time";
+	private static final String CLASS_PROPERTY = "class";
+	private static final String CLASSES_DIRECTORY = "classes";
+	private static final AtomicInteger loadedClasses = new AtomicInteger();
+	private static final AtomicInteger compiledClasses = new AtomicInteger();
+
+	static boolean isEnabled() {
+		return getMaximalSize() > 0;
+	}
+
+	static int getMaximalSize() {
+		return ResourceController.getResourceController().getIntProperty(COMPILED_FORMULA_CACHE_SIZE, 0);
+	}
+
+	/**
+	 * Loads the class compiled from the script text before or compiles it into the cache.
+	 * @param classLoaders creates class loaders for loading the cached classes
+	 * @param compiler compiles the script writing its class files to the given directory, or nowhere if it is null
+	 */
+	static Class<?> loadOrCompile(File cacheDirectory, String scriptText, Supplier<GroovyClassLoader> classLoaders,
+	                              Function<File, Class<?>> compiler) {
+		final File cache = new File(cacheDirectory, key(scriptText));
+		final Class<?> cachedClass = load(cache, classLoaders);
+		if (cachedClass != null) {
+			loadedClasses.incrementAndGet();
+			return cachedClass;
+		}
+		compiledClasses.incrementAndGet();
+		return compile(cache, compiler);
+	}
+
+	private static String key(String scriptText) {
+		try {
+			return EncodingGroovyMethods.md5(FreeplaneVersion.getVersion() + "\n" + GroovySystem.getVersion() + "\n" + scriptText);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static Class<?> load(File cache, Supplier<GroovyClassLoader> classLoaders) {
+		final File propertyFile = new File(cache, PROPERTIES_FILE);
+		if (! propertyFile.exists())
+			return null;
+		try (InputStream in = new FileInputStream(propertyFile)) {
+			final Properties properties = new Properties();
+			properties.load(in);
+			final GroovyClassLoader loader = classLoaders.get();
+			loader.addURL(ScriptClassLoader.pathToUrl(new File(cache, CLASSES_DIRECTORY)));
+			final Class<?> loadedClass = loader.loadClass(properties.getProperty(CLASS_PROPERTY));
+			cache.setLastModified(System.currentTimeMillis());
+			return loadedClass;
+		}
+		catch (IOException | ClassNotFoundException | LinkageError e) {
+			LogUtils.warn("can not load compiled formula from " + cache, e);
+			return null;
+		}
+	}
+
+	/** Compiles into a new directory and renames it, so that other threads never see incomplete caches. */
+	private static Class<?> compile(File cache, Function<File, Class<?>> compiler) {
+		final File newCache;
+		try {
+			cache.getParentFile().mkdirs();
+			newCache = Files.createTempDirectory(cache.getParentFile().toPath(), cache.getName()).toFile();
+		}
+		catch (IOException e) {
+			LogUtils.warn(e);
+			return compiler.apply(null);
+		}
+		final long time = System.currentTimeMillis();
+		final Class<?> compiledClass;
+		final File classes = new File(newCache, CLASSES_DIRECTORY);
+		try {
+			classes.mkdir();
+			compiledClass = compiler.apply(classes);
+		}
+		catch (RuntimeException | Error e) {
+			FileUtils.deleteQuietly(newCache);
+			throw e;
+		}
+		try {
+			final Properties properties = new Properties();
+			properties.setProperty(CLASS_PROPERTY, compiledClass.getName());
+			properties.setProperty(TIME_PROPERTY, Long.toString(time));
+			try (OutputStream out = new FileOutputStream(new File(newCache, PROPERTIES_FILE))) {
+				properties.store(out, "");
+			}
+			if (cache.exists())
+				FileUtils.deleteDirectory(cache);
+			if (! newCache.renameTo(cache))
+				FileUtils.deleteDirectory(newCache);
+		}
+		catch (IOException e) {
+			LogUtils.warn(e);
+			FileUtils.deleteQuietly(newCache);
+		}
+		return compiledClass;
+	}
+
+	static int getLoadedClassCount() {
+		return loadedClasses.get();
+	}
+
+	static int getCompiledClassCount() {
+		return compiledClasses.get();
+	}
+
+	static void logStatistics() {
+		final int loaded = loadedClasses.get();
+		final int compiled = compiledClasses.get();
+		if (loaded + compiled > 0)
+			LogUtils.info("compiled formula cache: " + loaded + " classes loaded, " + compiled + " compiled");
+	}
+}
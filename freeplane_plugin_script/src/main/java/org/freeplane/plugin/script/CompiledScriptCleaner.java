@@ -8,13 +8,19 @@ import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Properties;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.io.FileUtils;
 import org.freeplane.core.util.LogUtils;
 
 class CompiledScriptCleaner {
+    private Long lastDependencyModificationTime;
+
     private long calculateLastDependencyModificationTime() {
         long lastModificationTime = ScriptResources.getClasspath().stream()
             .map(File::new)
@@ -45,13 +51,18 @@ class CompiledScriptCleaner {
     }
 
     void removeOutdatedCompiledScripts(boolean compileOnlyChangedScriptFiles) {
-        File compiledScriptsDir = ScriptResources.getCompiledScriptsDir();
-        if(compileOnlyChangedScriptFiles) {
+        removeOutdatedCompiledScripts(compileOnlyChangedScriptFiles, ScriptResources.getCompiledScriptsDir(),
+            this::removeOutdated);
+        removeOutdatedCompiledScripts(compileOnlyChangedScriptFiles && CompiledFormulaCache.isEnabled(),
+            ScriptResources.getCompiledFormulasDir(), this::removeOutdatedFormulas);
+    }
+
+    private void removeOutdatedCompiledScripts(boolean keepsCompiledScripts, File compiledScriptsDir,
+                                               BiConsumer<File[], Long> remover) {
+        if(keepsCompiledScripts) {
             File[] cacheDirectories = compiledScriptsDir.listFiles();
             if(cacheDirectories != null) {
-                long lastDependencyModificationTime = calculateLastDependencyModificationTime();
-                Stream.of(cacheDirectories)
-                    .forEach(cache -> removeOutdated(cache, lastDependencyModificationTime));
+                remover.accept(cacheDirectories, lastDependencyModificationTime());
             }
         } else {
             try {
@@ -62,6 +73,43 @@ class CompiledScriptCleaner {
         }
     }
 
+    private long lastDependencyModificationTime() {
+        if (lastDependencyModificationTime == null)
+            lastDependencyModificationTime = calculateLastDependencyModificationTime();
+        return lastDependencyModificationTime;
+    }
+
+    private void removeOutdated(File[] cacheDirectories, long lastDependencyModificationTime) {
+        Stream.of(cacheDirectories)
+            .forEach(cache -> removeOutdated(cache, lastDependencyModificationTime));
+    }
+
+    /** Removes compiled formulas older than their dependencies and the least recently used ones above the cache size. */
+    private void removeOutdatedFormulas(File[] cacheDirectories, long lastDependencyModificationTime) {
+        List<File> caches = Stream.of(cacheDirectories)
+            .filter(cache -> ! removeOutdatedFormula(cache, lastDependencyModificationTime))
+            .sorted(Comparator.comparingLong(File::lastModified).reversed())
+            .collect(Collectors.toList());
+        int maximalSize = CompiledFormulaCache.getMaximalSize();
+        for (File cache : caches.subList(Math.min(maximalSize, caches.size()), caches.size()))
+            FileUtils.deleteQuietly(cache);
+    }
+
+    private boolean removeOutdatedFormula(File cache, long lastDependencyModificationTime) {
+        File propertyFile = new File(cache, CompiledFormulaCache.PROPERTIES_FILE);
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(propertyFile)) {
+            properties.load(in);
+            long compileTime = Long.parseLong(properties.getProperty(CompiledFormulaCache.TIME_PROPERTY));
+            if (lastDependencyModificationTime < compileTime)
+                return false;
+        } catch (IOException|NumberFormatException e) {
+            // incomplete compilation
+        }
+        FileUtils.deleteQuietly(cache);
+        return true;
+    }
+
     private void removeOutdated(File cache, long lastDependencyModificationTime) {
         File propertyFile = new File(cache, "compiled.properties");
         if (propertyFile.exists()) {
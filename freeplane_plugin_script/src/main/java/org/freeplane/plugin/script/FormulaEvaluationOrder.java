@@ -0,0 +1,138 @@
+package org.freeplane.plugin.script;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.freeplane.features.attribute.Attribute;
+import org.freeplane.features.attribute.NodeAttributeTableModel;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.plugin.script.dependencies.EvaluationDependencies;
+
+/**
+ * Orders the formula nodes of a map so that nodes accessed by a formula come before it,
+ * as far as known from the dependencies recorded by earlier evaluations.
+ * Evaluating formulas in this order finds their precedents already cached,
+ * so that long chains of formulas do not recurse as deep as the chain.
+ * Nodes without known dependencies keep the tree order, nodes on a dependency cycle are left to the cycle detection.
+ */
+class FormulaEvaluationOrder {
+	private final List<NodeModel> formulaNodes;
+	private final Set<NodeModel> formulaNodeSet;
+	private final Map<NodeModel, int[]> branchFormulaRanges;
+	private final Map<NodeModel, List<NodeModel>> accessedNodes;
+	private final Map<NodeModel, List<NodeModel>> accessedBranches;
+
+	static List<NodeModel> of(MapModel map, EvaluationDependencies dependencies) {
+		return new FormulaEvaluationOrder(map, dependencies).sort();
+	}
+
+	private FormulaEvaluationOrder(MapModel map, EvaluationDependencies dependencies) {
+		formulaNodes = new ArrayList<>();
+		formulaNodeSet = Collections.newSetFromMap(new IdentityHashMap<>());
+		branchFormulaRanges = new IdentityHashMap<>();
+		collectFormulaNodes(map.getRootNode());
+		accessedNodes = new HashMap<>();
+		accessedBranches = new HashMap<>();
+		if (dependencies != null) {
+			dependencies.forEachNodeAccess((accessingNode, accessedNode) -> addAccess(accessedNodes, accessingNode, accessedNode));
+			dependencies.forEachBranchAccess((accessingNode, accessedNode) -> addAccess(accessedBranches, accessingNode, accessedNode));
+		}
+	}
+
+	/** Collects formula nodes in tree order and remembers for each node the range of formula nodes in its descendants. */
+	private void collectFormulaNodes(NodeModel root) {
+		final Deque<Iterator<NodeModel>> pendingChildren = new ArrayDeque<>();
+		final Deque<int[]> pendingRanges = new ArrayDeque<>();
+		NodeModel node = root;
+		for (;;) {
+			if (node != null) {
+				if (containsFormula(node)) {
+					formulaNodes.add(node);
+					formulaNodeSet.add(node);
+				}
+				final int[] range = new int[] {formulaNodes.size(), formulaNodes.size()};
+				branchFormulaRanges.put(node, range);
+				pendingRanges.push(range);
+				pendingChildren.push(node.getChildren().iterator());
+			}
+			else {
+				pendingRanges.pop()[1] = formulaNodes.size();
+				pendingChildren.pop();
+				if (pendingChildren.isEmpty())
+					return;
+			}
+			final Iterator<NodeModel> children = pendingChildren.peek();
+			node = children.hasNext() ? children.next() : null;
+		}
+	}
+
+	private static boolean containsFormula(NodeModel node) {
+		if (FormulaUtils.containsFormula(node.getUserObject()))
+			return true;
+		final NodeAttributeTableModel attributeTableModel = node.getExtension(NodeAttributeTableModel.class);
+		if (attributeTableModel != null) {
+			for (Attribute attribute : attributeTableModel.getAttributes())
+				if (FormulaUtils.containsFormula(attribute.getValue()))
+					return true;
+		}
+		return false;
+	}
+
+	private void addAccess(Map<NodeModel, List<NodeModel>> accesses, NodeModel accessingNode, NodeModel accessedNode) {
+		if (branchFormulaRanges.containsKey(accessingNode) && branchFormulaRanges.containsKey(accessedNode))
+			accesses.computeIfAbsent(accessingNode, x -> new ArrayList<>()).add(accessedNode);
+	}
+
+	private List<NodeModel> sort() {
+		if (accessedNodes.isEmpty() && accessedBranches.isEmpty())
+			return formulaNodes;
+		final List<NodeModel> sortedNodes = new ArrayList<>(formulaNodes.size());
+		final Set<NodeModel> visitedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+		final Deque<NodeModel> pendingNodes = new ArrayDeque<>();
+		final Deque<Iterator<NodeModel>> pendingPrecedents = new ArrayDeque<>();
+		for (NodeModel formulaNode : formulaNodes) {
+			if (! visitedNodes.add(formulaNode))
+				continue;
+			pendingNodes.push(formulaNode);
+			pendingPrecedents.push(precedentsOf(formulaNode).iterator());
+			while (! pendingNodes.isEmpty()) {
+				final Iterator<NodeModel> precedents = pendingPrecedents.peek();
+				if (precedents.hasNext()) {
+					final NodeModel precedent = precedents.next();
+					if (formulaNodeSet.contains(precedent) && visitedNodes.add(precedent)) {
+						pendingNodes.push(precedent);
+						pendingPrecedents.push(precedentsOf(precedent).iterator());
+					}
+				}
+				else {
+					sortedNodes.add(pendingNodes.pop());
+					pendingPrecedents.pop();
+				}
+			}
+		}
+		return sortedNodes;
+	}
+
+	/** Nodes accessed directly and formula nodes inside of the accessed branches. */
+	private Iterable<NodeModel> precedentsOf(NodeModel node) {
+		final List<NodeModel> nodes = accessedNodes.getOrDefault(node, Collections.emptyList());
+		final List<NodeModel> branches = accessedBranches.get(node);
+		if (branches == null)
+			return nodes;
+		final ArrayList<NodeModel> precedents = new ArrayList<>(nodes);
+		for (NodeModel branch : branches) {
+			final int[] range = branchFormulaRanges.get(branch);
+			precedents.addAll(formulaNodes.subList(range[0], range[1]));
+		}
+		return precedents;
+	}
+}
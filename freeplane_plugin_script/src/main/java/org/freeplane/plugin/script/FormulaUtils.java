@@ -16,6 +16,7 @@ import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.mode.Controller;
 import org.freeplane.features.mode.mindmapmode.MModeController;
+import org.freeplane.plugin.script.dependencies.EvaluationDependencies;
 import org.freeplane.plugin.script.dependencies.RelatedElements;
 
 import groovy.lang.GString;
@@ -168,20 +169,26 @@ public class FormulaUtils {
 	}
 
 	public static void evaluateAllFormulas(MapModel map) {
+		final EvaluationDependencies knownDependencies = map.getExtension(EvaluationDependencies.class);
 		clearCache(map);
-		evaluateOutdatedFormulas(map);
+		evaluateFormulas(map, knownDependencies);
 	}
 
 	public static void evaluateOutdatedFormulas(MapModel map) {
-		cacheAllRecursively(map.getRootNode());
+		evaluateFormulas(map, map.getExtension(EvaluationDependencies.class));
 	}
 
-	static private void cacheAllRecursively(NodeModel node) {
+	/** Evaluates formulas after the nodes they accessed before, so that evaluation finds their values already cached. */
+	private static void evaluateFormulas(MapModel map, EvaluationDependencies knownDependencies) {
+		for (NodeModel node : FormulaEvaluationOrder.of(map, knownDependencies))
+			cacheFormulas(node);
+	}
+
+	static private void cacheFormulas(NodeModel node) {
 		cacheIfFormula(node, node.getUserObject());
 		NodeAttributeTableModel attributeTableModel = node.getExtension(NodeAttributeTableModel.class);
 		if(attributeTableModel != null)
 			attributeTableModel.getAttributes().stream().forEach(a -> cacheIfFormula(node, a.getValue()));
-		node.getChildren().stream().forEach(FormulaUtils::cacheAllRecursively);
 	}
 
 	public static void cacheIfFormula(NodeModel node, Object maybeFormula) {
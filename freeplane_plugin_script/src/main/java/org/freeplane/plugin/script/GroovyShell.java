@@ -127,6 +127,16 @@ class GroovyShell extends GroovyObjectSupport {
 
 
     private Class parseAndCache(final GroovyCodeSource codeSource) {
+        if (codeSource.getFile() == null) {
+            if (CompiledFormulaCache.isEnabled())
+                return CompiledFormulaCache.loadOrCompile(ScriptResources.getCompiledFormulasDir(), codeSource.getScriptText(),
+                    this::createClassLoader, classes -> {
+                        config.setTargetDirectory(classes);
+                        return parseClass(codeSource);
+                    });
+            else
+                return parseClass(codeSource);
+        }
         String md5;
         try {
             md5 = EncodingGroovyMethods.md5(codeSource.getName());
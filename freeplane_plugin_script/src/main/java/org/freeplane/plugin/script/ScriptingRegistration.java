@@ -185,6 +185,16 @@ class ScriptingRegistration {
         scriptCompiler.compileScriptsOnPath(ScriptResources.getClasspath());
 		if(isSecurityManagerEnabled)
 			System.setSecurityManager(new InternationalizedSecurityManager());
+		Controller.getCurrentController().addApplicationLifecycleListener(new ApplicationLifecycleListener() {
+			@Override
+			public void onStartupFinished() {
+			}
+
+			@Override
+			public void onApplicationStopped() {
+				CompiledFormulaCache.logStatistics();
+			}
+		});
 		if(! GraphicsEnvironment.isHeadless()){
 			registerGuiStuff(modeController);
 			createUserScriptsDirectory();
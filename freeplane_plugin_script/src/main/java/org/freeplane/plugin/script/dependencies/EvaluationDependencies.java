@@ -6,6 +6,7 @@ import java.util.Iterator;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.function.BiConsumer;
 
 import org.freeplane.core.extension.IExtension;
 import org.freeplane.features.map.MapModel;
@@ -51,10 +52,12 @@ public class EvaluationDependencies implements IExtension{
 		final Iterable<NodeModel> onNode = onNodeDependencies.get(accessedNode);
 		if (onNode != null)
 			collectAccessingNodesRecursively(accessingNodes, onNode);
-        for (Entry<NodeModel, DependentNodeReferences> entry : onBranchDependencies.entrySet()) {
-            final NodeModel branchNode = entry.getKey();
-            if (accessedNode.isDescendantOf(branchNode)) {
-                collectAccessingNodesRecursively(accessingNodes, entry.getValue());
+        if (! onBranchDependencies.isEmpty()) {
+            // branches containing the accessed node are rooted at its ancestors
+            for (NodeModel branchNode = accessedNode.getParentNode(); branchNode != null; branchNode = branchNode.getParentNode()) {
+                final Iterable<NodeModel> onBranch = onBranchDependencies.get(branchNode);
+                if (onBranch != null)
+                    collectAccessingNodesRecursively(accessingNodes, onBranch);
             }
         }
         for (Entry<NodeModel, DependentNodeReferences> entry : onCloneDependencies.entrySet()) {
@@ -122,6 +125,23 @@ public class EvaluationDependencies implements IExtension{
 		onGlobalNodeDependencies.put(accessingNode, null);
 	}
 
+	/** Passes each recorded access to a single node to the consumer as (accessing node, accessed node). */
+	public void forEachNodeAccess(BiConsumer<NodeModel, NodeModel> consumer) {
+		forEachAccess(onNodeDependencies, consumer);
+	}
+
+	/** Passes each recorded access to a branch to the consumer as (accessing node, branch root). */
+	public void forEachBranchAccess(BiConsumer<NodeModel, NodeModel> consumer) {
+		forEachAccess(onBranchDependencies, consumer);
+	}
+
+	private void forEachAccess(WeakHashMap<NodeModel, DependentNodeReferences> dependencies, BiConsumer<NodeModel, NodeModel> consumer) {
+		for (Entry<NodeModel, DependentNodeReferences> entry : dependencies.entrySet()) {
+			for (NodeModel accessingNode : entry.getValue())
+				consumer.accept(accessingNode, entry.getKey());
+		}
+	}
+
 	public Iterable<NodeModel> getPossibleDependencies(NodeModel node) {
 		Iterable<NodeModel> dependencies = onNodeDependencies.get(node);
 		return dependencies != null ? dependencies : Collections.<NodeModel>emptyList();
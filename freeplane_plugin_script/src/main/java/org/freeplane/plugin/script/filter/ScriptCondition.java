@@ -70,6 +70,11 @@ public class ScriptCondition extends ASelectableCondition {
         return info;
     }
 
+	@Override
+	public boolean checksExternalState() {
+		return true;
+	}
+
 	@Override
 	public boolean checkNode(NodeModel node){
 		NodeScript nodeScript = new NodeScript(node, source);
@@ -0,0 +1,55 @@
+package org.freeplane.plugin.script;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.function.Function;
+
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyCodeSource;
+import groovy.lang.Script;
+
+public class CompiledFormulaCacheShould {
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Function<File, Class<?>> compiler(String scriptText) {
+		return classes -> {
+			final CompilerConfiguration configuration = new CompilerConfiguration();
+			configuration.setTargetDirectory(classes);
+			return new GroovyClassLoader(getClass().getClassLoader(), configuration)
+				.parseClass(new GroovyCodeSource(scriptText, "Script1.groovy", "/groovy/shell"), false);
+		};
+	}
+
+	private Class<?> loadOrCompile(String scriptText) {
+		return CompiledFormulaCache.loadOrCompile(temporaryFolder.getRoot(), scriptText,
+			() -> new GroovyClassLoader(getClass().getClassLoader()), compiler(scriptText));
+	}
+
+	@Test
+	public void loadClassCompiledBefore() throws Exception {
+		final int loadedClassCount = CompiledFormulaCache.getLoadedClassCount();
+		final Class<?> compiledClass = loadOrCompile("1 + 2");
+		final Class<?> loadedClass = loadOrCompile("1 + 2");
+		assertThat(CompiledFormulaCache.getLoadedClassCount()).isEqualTo(loadedClassCount + 1);
+		assertThat(loadedClass).isNotSameAs(compiledClass);
+		assertThat(loadedClass.getName()).isEqualTo(compiledClass.getName());
+		assertThat(((Script)loadedClass.newInstance()).run()).isEqualTo(3);
+	}
+
+	@Test
+	public void compileDifferentScriptTexts() throws Exception {
+		final int compiledClassCount = CompiledFormulaCache.getCompiledClassCount();
+		loadOrCompile("1 + 2");
+		final Class<?> otherClass = loadOrCompile("2 + 2");
+		assertThat(CompiledFormulaCache.getCompiledClassCount()).isEqualTo(compiledClassCount + 2);
+		assertThat(((Script)otherClass.newInstance()).run()).isEqualTo(4);
+		assertThat(temporaryFolder.getRoot().listFiles()).hasSize(2);
+	}
+}
@@ -0,0 +1,61 @@
+package org.freeplane.plugin.script;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.plugin.script.dependencies.EvaluationDependencies;
+import org.junit.Test;
+
+public class FormulaEvaluationOrderShould {
+	private final MapModel map = new MapModel(null, null, null);
+	private final NodeModel root = new NodeModel("root", map);
+	private final EvaluationDependencies dependencies = new EvaluationDependencies();
+
+	{
+		map.setRoot(root);
+	}
+
+	private NodeModel createChild(NodeModel parent, String text) {
+		final NodeModel child = new NodeModel(text, map);
+		parent.insert(child, -1);
+		return child;
+	}
+
+	@Test
+	public void keepTreeOrderWithoutKnownDependencies() {
+		final NodeModel first = createChild(root, "=1");
+		createChild(root, "text");
+		final NodeModel second = createChild(first, "=2");
+		assertThat(FormulaEvaluationOrder.of(map, null)).containsExactly(first, second);
+	}
+
+	@Test
+	public void evaluateAccessedFormulasFirst() {
+		final NodeModel first = createChild(root, "=node.children[0].value");
+		final NodeModel second = createChild(first, "=node.children[0].value");
+		final NodeModel third = createChild(second, "=1");
+		dependencies.accessNode(first, second);
+		dependencies.accessNode(second, third);
+		assertThat(FormulaEvaluationOrder.of(map, dependencies)).containsExactly(third, second, first);
+	}
+
+	@Test
+	public void evaluateFormulasInAccessedBranchesFirst() {
+		final NodeModel sum = createChild(root, "=children.sum(0){it.to.num0}");
+		final NodeModel branch = createChild(root, "branch");
+		final NodeModel firstSummand = createChild(branch, "=1");
+		final NodeModel secondSummand = createChild(createChild(branch, "2"), "=2");
+		dependencies.accessBranch(sum, branch);
+		assertThat(FormulaEvaluationOrder.of(map, dependencies)).containsExactly(firstSummand, secondSummand, sum);
+	}
+
+	@Test
+	public void evaluateEachFormulaOnceOnCycles() {
+		final NodeModel first = createChild(root, "=node.next.value");
+		final NodeModel second = createChild(root, "=node.previous.value");
+		dependencies.accessNode(first, second);
+		dependencies.accessNode(second, first);
+		assertThat(FormulaEvaluationOrder.of(map, dependencies)).containsExactlyInAnyOrder(first, second);
+	}
+}
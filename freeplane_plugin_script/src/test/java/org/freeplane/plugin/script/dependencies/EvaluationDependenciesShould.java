@@ -0,0 +1,67 @@
+package org.freeplane.plugin.script.dependencies;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.junit.Test;
+
+public class EvaluationDependenciesShould {
+	private final MapModel map = new MapModel(null, null, null);
+	private final EvaluationDependencies dependencies = new EvaluationDependencies();
+
+	private NodeModel createChild(NodeModel parent) {
+		final NodeModel child = new NodeModel(map);
+		if (parent != null)
+			parent.insert(child, -1);
+		return child;
+	}
+
+	private Set<NodeModel> changedDependencies(NodeModel accessedNode) {
+		final Set<NodeModel> accessingNodes = new HashSet<>();
+		dependencies.collectChangedDependencies(accessingNodes, accessedNode);
+		return accessingNodes;
+	}
+
+	@Test
+	public void collectFormulasAccessingBranchesOfChangedNodeAncestors() {
+		final NodeModel root = createChild(null);
+		final NodeModel branch = createChild(root);
+		final NodeModel changedNode = createChild(createChild(branch));
+		final NodeModel branchFormula = createChild(root);
+		final NodeModel siblingBranchFormula = createChild(root);
+		dependencies.accessBranch(branchFormula, branch);
+		dependencies.accessBranch(siblingBranchFormula, createChild(root));
+		assertThat(changedDependencies(changedNode)).containsExactly(branchFormula);
+	}
+
+	@Test
+	public void notCollectFormulasAccessingBranchOfChangedNodeItself() {
+		final NodeModel root = createChild(null);
+		final NodeModel changedNode = createChild(root);
+		dependencies.accessBranch(createChild(root), changedNode);
+		assertThat(changedDependencies(changedNode)).isEmpty();
+	}
+
+	@Test
+	public void collectFormulasDependingOnChangedSums() {
+		final NodeModel root = createChild(null);
+		NodeModel changedNode = null;
+		final Set<NodeModel> sums = new HashSet<>();
+		for (int i = 0; i < 1000; i++) {
+			final NodeModel branch = createChild(root);
+			final NodeModel sum = createChild(root);
+			dependencies.accessBranch(sum, branch);
+			dependencies.accessNode(root, sum);
+			if (i == 500) {
+				changedNode = createChild(branch);
+				sums.add(sum);
+			}
+		}
+		sums.add(root);
+		assertThat(changedDependencies(changedNode)).isEqualTo(sums);
+	}
+}